@@ -0,0 +1,215 @@
+package bt.console.output;
+
+import java.util.Arrays;
+
+/**
+ * Calculates how many terminal columns text occupies.
+ *
+ * <p>
+ * Wide characters of East Asian scripts and most emoji take two columns, combining marks, format characters and other
+ * zero width code points take none, everything else takes one. The width of every code point of the first four planes
+ * is looked up in a two level table: the upper bits of a code point select one of a few distinct blocks of 256 widths,
+ * the lower bits the width within the block. Blocks are built when a code point of them is first measured, so only
+ * the scripts that are actually displayed cost time and memory. Blocks without any code point of width 0 or 2 share a
+ * single block.
+ * </p>
+ *
+ * <p>
+ * Text that only consists of Latin-1 characters, which covers plain ASCII, is detected in a single pass without
+ * branching on individual characters and its width is its length.
+ * </p>
+ */
+public final class DisplayWidth
+{
+    private static final int BLOCK_BITS = 8;
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+    private static final int TABLE_LIMIT = 0x40000;
+
+    /**
+     * Start and end (inclusive) of the ranges of wide code points according to Unicode's East Asian Width property
+     * (W and F) and the emoji presentation ranges.
+     */
+    private static final int[] WIDE = {
+            0x1100, 0x115F, 0x231A, 0x231B, 0x2329, 0x232A, 0x23E9, 0x23EC, 0x23F0, 0x23F0, 0x23F3, 0x23F3,
+            0x25FD, 0x25FE, 0x2614, 0x2615, 0x2648, 0x2653, 0x267F, 0x267F, 0x2693, 0x2693, 0x26A1, 0x26A1,
+            0x26AA, 0x26AB, 0x26BD, 0x26BE, 0x26C4, 0x26C5, 0x26CE, 0x26CE, 0x26D4, 0x26D4, 0x26EA, 0x26EA,
+            0x26F2, 0x26F3, 0x26F5, 0x26F5, 0x26FA, 0x26FA, 0x26FD, 0x26FD, 0x2705, 0x2705, 0x270A, 0x270B,
+            0x2728, 0x2728, 0x274C, 0x274C, 0x274E, 0x274E, 0x2753, 0x2755, 0x2757, 0x2757, 0x2795, 0x2797,
+            0x27B0, 0x27B0, 0x27BF, 0x27BF, 0x2B1B, 0x2B1C, 0x2B50, 0x2B50, 0x2B55, 0x2B55, 0x2E80, 0x303E,
+            0x3041, 0x33FF, 0x3400, 0x4DBF, 0x4E00, 0x9FFF, 0xA000, 0xA4CF, 0xA960, 0xA97F, 0xAC00, 0xD7A3,
+            0xF900, 0xFAFF, 0xFE10, 0xFE19, 0xFE30, 0xFE6F, 0xFF00, 0xFF60, 0xFFE0, 0xFFE6, 0x16FE0, 0x16FE4,
+            0x17000, 0x18CFF, 0x1B000, 0x1B2FF, 0x1F004, 0x1F004, 0x1F0CF, 0x1F0CF, 0x1F18E, 0x1F18E,
+            0x1F191, 0x1F19A, 0x1F200, 0x1F251, 0x1F260, 0x1F265, 0x1F300, 0x1F320, 0x1F32D, 0x1F335,
+            0x1F337, 0x1F37C, 0x1F37E, 0x1F393, 0x1F3A0, 0x1F3CA, 0x1F3CF, 0x1F3D3, 0x1F3E0, 0x1F3F0,
+            0x1F3F4, 0x1F3F4, 0x1F3F8, 0x1F43E, 0x1F440, 0x1F440, 0x1F442, 0x1F4FC, 0x1F4FF, 0x1F53D,
+            0x1F54B, 0x1F54E, 0x1F550, 0x1F567, 0x1F57A, 0x1F57A, 0x1F595, 0x1F596, 0x1F5A4, 0x1F5A4,
+            0x1F5FB, 0x1F64F, 0x1F680, 0x1F6C5, 0x1F6CC, 0x1F6CC, 0x1F6D0, 0x1F6D2, 0x1F6D5, 0x1F6D7,
+            0x1F6EB, 0x1F6EC, 0x1F6F4, 0x1F6FC, 0x1F7E0, 0x1F7EB, 0x1F90C, 0x1F93A, 0x1F93C, 0x1F945,
+            0x1F947, 0x1F9FF, 0x1FA70, 0x1FAFF, 0x20000, 0x2FFFD, 0x30000, 0x3FFFD
+    };
+
+    /**
+     * Ranges of zero width code points that are not marks or format characters.
+     */
+    private static final int[] ZERO = {
+            0x1160, 0x11FF, 0x200B, 0x200F, 0x2028, 0x202E, 0x2060, 0x206F, 0xFE00, 0xFE0F, 0xFEFF, 0xFEFF
+    };
+
+    private static final Block SINGLE_WIDTH = new Block(singleWidths());
+
+    /**
+     * The blocks of the table, null until a code point of the block is measured. Two threads may build the same block,
+     * both results are equal.
+     */
+    private static final Block[] BLOCKS = new Block[TABLE_LIMIT >> BLOCK_BITS];
+
+    private DisplayWidth()
+    {
+    }
+
+    /**
+     * @param codePoint
+     * @return The number of columns the code point occupies, 0, 1 or 2.
+     */
+    public static int of(int codePoint)
+    {
+        if (codePoint < 0x100)
+        {
+            return 1;
+        }
+
+        if (codePoint < TABLE_LIMIT)
+        {
+            Block block = BLOCKS[codePoint >>> BLOCK_BITS];
+
+            if (block == null)
+            {
+                block = buildBlock(codePoint >>> BLOCK_BITS);
+                BLOCKS[codePoint >>> BLOCK_BITS] = block;
+            }
+
+            return block.widths[codePoint & (BLOCK_SIZE - 1)];
+        }
+
+        // tags and variation selectors supplement
+        return codePoint >= 0xE0000 && codePoint <= 0xE0FFF ? 0 : 1;
+    }
+
+    /**
+     * @param text Text without style tags.
+     * @return The number of columns the text occupies.
+     */
+    public static int of(CharSequence text)
+    {
+        return of(text, 0, text.length());
+    }
+
+    /**
+     * @param text  Text without style tags.
+     * @param start The index of the first char.
+     * @param end   The index after the last char.
+     * @return The number of columns the given part of the text occupies.
+     */
+    public static int of(CharSequence text, int start, int end)
+    {
+        int bits = 0;
+
+        for (int i = start; i < end; i++)
+        {
+            bits |= text.charAt(i);
+        }
+
+        if (bits < 0x100)
+        {
+            return end - start;
+        }
+
+        int width = 0;
+        int i = start;
+
+        while (i < end)
+        {
+            char c = text.charAt(i++);
+            int codePoint = c;
+
+            if (Character.isHighSurrogate(c) && i < end && Character.isLowSurrogate(text.charAt(i)))
+            {
+                codePoint = Character.toCodePoint(c, text.charAt(i++));
+            }
+
+            width += of(codePoint);
+        }
+
+        return width;
+    }
+
+    private static Block buildBlock(int index)
+    {
+        int first = index << BLOCK_BITS;
+        byte[] widths = singleWidths();
+        boolean single = true;
+
+        for (int i = 0; i < BLOCK_SIZE; i++)
+        {
+            int type = Character.getType(first + i);
+
+            if (first + i >= 0x100
+                    && (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK || type == Character.FORMAT))
+            {
+                widths[i] = 0;
+                single = false;
+            }
+        }
+
+        single &= !fill(widths, first, WIDE, (byte)2);
+        single &= !fill(widths, first, ZERO, (byte)0);
+
+        return single ? SINGLE_WIDTH : new Block(widths);
+    }
+
+    /**
+     * Sets the widths of the code points of the given ranges that fall into the block starting at the given code point.
+     *
+     * @return true if any range overlapped the block.
+     */
+    private static boolean fill(byte[] widths, int first, int[] ranges, byte width)
+    {
+        int last = first + BLOCK_SIZE - 1;
+        boolean filled = false;
+
+        for (int i = 0; i < ranges.length; i += 2)
+        {
+            int from = Math.max(ranges[i], first);
+            int to = Math.min(ranges[i + 1], last);
+
+            for (int cp = from; cp <= to; cp++)
+            {
+                widths[cp - first] = width;
+                filled = true;
+            }
+        }
+
+        return filled;
+    }
+
+    private static byte[] singleWidths()
+    {
+        byte[] widths = new byte[BLOCK_SIZE];
+        Arrays.fill(widths, (byte)1);
+        return widths;
+    }
+
+    /**
+     * The widths of the code points of one block. The final field makes a block that was built by one thread safely
+     * visible to all others without locking.
+     */
+    private static final class Block
+    {
+        private final byte[] widths;
+
+        private Block(byte[] widths)
+        {
+            this.widths = widths;
+        }
+    }
+}
\ No newline at end of file
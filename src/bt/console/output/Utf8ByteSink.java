@@ -0,0 +1,249 @@
+package bt.console.output;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * An {@link Appendable} that encodes text directly to UTF-8 bytes in a reused direct {@link ByteBuffer} and writes the
+ * buffer to a {@link WritableByteChannel}, for example a {@link java.nio.channels.FileChannel}, whenever it is full.
+ *
+ * <p>
+ * Tables can {@link bt.console.output.table.ConsoleTable#render(Appendable) render} into this sink and styled text
+ * can be appended as is, so no intermediate strings, char arrays or heap byte arrays are created per line. Runs of
+ * ASCII characters are copied with a single comparison per character and no encoder state. Surrogate pairs may be
+ * split across calls, unpaired surrogates are written as '?'.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread safe. Text is only guaranteed to reach the channel after {@link #flush()}. Allocating a
+ * direct buffer is expensive and its memory is only freed by the garbage collector, so a sink should be kept and
+ * {@link #reset(WritableByteChannel) reset} to write to further channels.
+ * </p>
+ */
+public class Utf8ByteSink implements Appendable, Flushable, Closeable
+{
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    protected WritableByteChannel channel;
+    protected ByteBuffer buffer;
+    protected byte[] chunk;
+    protected char highSurrogate;
+    protected long bytesWritten;
+
+    public Utf8ByteSink(WritableByteChannel channel)
+    {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param channel    The channel that receives the bytes.
+     * @param bufferSize The size of the direct buffer in bytes. At least 16.
+     */
+    public Utf8ByteSink(WritableByteChannel channel, int bufferSize)
+    {
+        if (bufferSize < 16)
+        {
+            throw new IllegalArgumentException("Buffer size must be at least 16 bytes.");
+        }
+
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.chunk = new byte[Math.min(bufferSize, 8192)];
+    }
+
+    /**
+     * Discards everything that was not written to the current channel yet and continues with the given channel,
+     * reusing the buffers of this sink.
+     *
+     * @param channel The channel that receives the bytes from now on.
+     */
+    public void reset(WritableByteChannel channel)
+    {
+        this.channel = channel;
+        this.buffer.clear();
+        this.highSurrogate = 0;
+    }
+
+    /**
+     * @return The number of bytes that were written to the channel so far.
+     */
+    public long getBytesWritten()
+    {
+        return this.bytesWritten;
+    }
+
+    @Override
+    public Utf8ByteSink append(CharSequence csq) throws IOException
+    {
+        if (csq == null)
+        {
+            csq = "null";
+        }
+
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Utf8ByteSink append(CharSequence csq, int start, int end) throws IOException
+    {
+        if (csq == null)
+        {
+            csq = "null";
+        }
+
+        byte[] chunk = this.chunk;
+        // leave room for the longest sequence a single code point can produce
+        int limit = chunk.length - 4;
+        int length = 0;
+        int i = start;
+
+        while (i < end)
+        {
+            if (length >= limit)
+            {
+                put(length);
+                length = 0;
+            }
+
+            char c = csq.charAt(i);
+
+            if (c < 0x80 && this.highSurrogate == 0)
+            {
+                // ASCII run, bounded by the free space in the chunk
+                int runEnd = Math.min(end, i + limit - length);
+
+                do
+                {
+                    chunk[length++] = (byte)c;
+                    i++;
+                }
+                while (i < runEnd && (c = csq.charAt(i)) < 0x80);
+
+                continue;
+            }
+
+            length = encode(c, chunk, length);
+            i++;
+        }
+
+        put(length);
+        return this;
+    }
+
+    @Override
+    public Utf8ByteSink append(char c) throws IOException
+    {
+        int length = encode(c, this.chunk, 0);
+        put(length);
+        return this;
+    }
+
+    /**
+     * Writes all buffered bytes to the channel.
+     *
+     * @throws IOException If the channel fails.
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        this.buffer.flip();
+
+        while (this.buffer.hasRemaining())
+        {
+            this.bytesWritten += this.channel.write(this.buffer);
+        }
+
+        this.buffer.clear();
+    }
+
+    /**
+     * Writes a pending unpaired surrogate and flushes the buffer. The channel is not closed.
+     *
+     * @throws IOException If the channel fails.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (this.highSurrogate != 0)
+        {
+            this.highSurrogate = 0;
+            this.chunk[0] = '?';
+            put(1);
+        }
+
+        flush();
+    }
+
+    /**
+     * Encodes a single non ASCII char or the second half of a surrogate pair.
+     *
+     * @return The new length of the chunk.
+     */
+    protected int encode(char c, byte[] chunk, int length)
+    {
+        if (this.highSurrogate != 0)
+        {
+            char high = this.highSurrogate;
+            this.highSurrogate = 0;
+
+            if (Character.isLowSurrogate(c))
+            {
+                int codePoint = Character.toCodePoint(high, c);
+                chunk[length++] = (byte)(0xF0 | (codePoint >> 18));
+                chunk[length++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+                chunk[length++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+                chunk[length++] = (byte)(0x80 | (codePoint & 0x3F));
+                return length;
+            }
+
+            chunk[length++] = '?';
+        }
+
+        if (c < 0x80)
+        {
+            chunk[length++] = (byte)c;
+        }
+        else if (c < 0x800)
+        {
+            chunk[length++] = (byte)(0xC0 | (c >> 6));
+            chunk[length++] = (byte)(0x80 | (c & 0x3F));
+        }
+        else if (Character.isHighSurrogate(c))
+        {
+            this.highSurrogate = c;
+        }
+        else if (Character.isLowSurrogate(c))
+        {
+            chunk[length++] = '?';
+        }
+        else
+        {
+            chunk[length++] = (byte)(0xE0 | (c >> 12));
+            chunk[length++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+            chunk[length++] = (byte)(0x80 | (c & 0x3F));
+        }
+
+        return length;
+    }
+
+    /**
+     * Moves the first bytes of the chunk into the direct buffer, flushing the buffer first if they do not fit.
+     */
+    protected void put(int length) throws IOException
+    {
+        if (length == 0)
+        {
+            return;
+        }
+
+        if (this.buffer.remaining() < length)
+        {
+            flush();
+        }
+
+        this.buffer.put(this.chunk, 0, length);
+    }
+}
\ No newline at end of file
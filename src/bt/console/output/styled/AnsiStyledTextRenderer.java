@@ -0,0 +1,357 @@
+package bt.console.output.styled;
+
+import bt.console.output.styled.exc.StyleParseException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders styled text for terminals that understand ANSI escape sequences instead of style tags.
+ *
+ * <p>
+ * Every style name is mapped to the parameters of an SGR (select graphic rendition) sequence, for example "bold" to
+ * "1" and "red" to "31". Styles without parameters, like {@link Style#DEFAULT_TEXT_STYLE} or hyperlinks, are ignored.
+ * The parameters of resolved {@link StyleSet}s are cached, and sets that map to the same parameters share one
+ * sequence, which also caches the transitions to other sequences. All caches are bounded and simply start over once
+ * they are full. A sequence is only written where the rendered attributes change: attributes that are added to the
+ * current ones are set on their own, all other changes reset the attributes and set the new ones. The output ends with
+ * a reset if any attribute was set. Text without tags is written unchanged.
+ * </p>
+ *
+ * <p>
+ * Text is rendered straight from the tokens of the {@link StyledTextLexer}, no tree or span list is built, and tags
+ * that were seen recently are resolved without copying them. Unlike the {@link StyledTextParser parser}, rendering
+ * never fails: end tags without a start tag are dropped, styles that are still open at the end of the text are closed
+ * and a start tag that is never terminated is written as text. Instances are thread safe once they are configured.
+ * </p>
+ */
+public class AnsiStyledTextRenderer
+{
+    public static final String ESC = "\u001B[";
+    public static final String RESET = ESC + "0m";
+
+    protected static final int MAX_CACHED_SETS = 4096;
+    protected static final int MAX_CACHED_SEQUENCES = 1024;
+
+    protected final StyledTextParser parser;
+    protected final ConcurrentHashMap<String, String> parameters = new ConcurrentHashMap<>();
+    protected final ConcurrentHashMap<StyleSet, Sgr> sequences = new ConcurrentHashMap<>();
+    protected final ConcurrentHashMap<String, Sgr> sequencesByCodes = new ConcurrentHashMap<>();
+    protected final Sgr plain = new Sgr(new String[0]);
+
+    public AnsiStyledTextRenderer()
+    {
+        this(new StyledTextParser());
+    }
+
+    public AnsiStyledTextRenderer(StyledTextParser parser)
+    {
+        this.parser = parser;
+        addDefaultStyles();
+    }
+
+    /**
+     * Maps a style name to SGR parameters.
+     *
+     * @param name       The name of the style.
+     * @param parameters The parameters separated by ';', for example "1;4" or "38;5;208", or null to ignore the style.
+     * @return This renderer.
+     */
+    public AnsiStyledTextRenderer setStyle(String name, String parameters)
+    {
+        if (parameters == null)
+        {
+            this.parameters.remove(name);
+        }
+        else
+        {
+            this.parameters.put(name, parameters);
+        }
+
+        this.sequences.clear();
+        this.sequencesByCodes.clear();
+        this.plain.transitions.clear();
+        return this;
+    }
+
+    /**
+     * @param name The name of a style.
+     * @return The SGR parameters of the style or null if it is ignored.
+     */
+    public String getStyle(String name)
+    {
+        return this.parameters.get(name);
+    }
+
+    /**
+     * @param styles Resolved styles.
+     * @return The sequence that resets all attributes and sets the given styles.
+     */
+    public String getSequence(StyleSet styles)
+    {
+        return getSgr(styles).sequence;
+    }
+
+    /**
+     * Renders the given styled text.
+     *
+     * @param text The styled text.
+     * @return The text with ANSI escape sequences instead of tags.
+     */
+    public String render(String text)
+    {
+        if (!hasTags(text))
+        {
+            return text;
+        }
+
+        StringBuilder out = new StringBuilder(text.length() + 32);
+
+        try
+        {
+            render(text, out);
+        }
+        catch (IOException e)
+        {
+            // a StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * Renders the given styled text to the given appendable.
+     *
+     * @param text The styled text.
+     * @param out  The appendable to write to.
+     * @throws IOException If the appendable fails.
+     */
+    public void render(CharSequence text, Appendable out) throws IOException
+    {
+        if (!hasTags(text))
+        {
+            out.append(text);
+            return;
+        }
+
+        var lexer = this.parser.lex(text);
+        StyleSet[] styles = new StyleSet[8];
+        styles[0] = StyleSet.EMPTY;
+        int depth = 0;
+        Sgr current = this.plain;
+        StyledTextLexer.Token token;
+
+        while (true)
+        {
+            try
+            {
+                token = lexer.next();
+            }
+            catch (StyleParseException e)
+            {
+                // only a start tag without any '>' after it fails, the rest of the text is written as it is
+                current = appendText(out, text, lexer.getTagStart(), text.length(), current, getSgr(styles[depth]));
+                break;
+            }
+
+            if (token == StyledTextLexer.Token.END)
+            {
+                break;
+            }
+
+            if (token == StyledTextLexer.Token.TEXT)
+            {
+                current = appendText(out, text, lexer.getStart(), lexer.getEnd(), current, getSgr(styles[depth]));
+            }
+            else if (token == StyledTextLexer.Token.STYLE_OPEN)
+            {
+                StyleSet resolved = StyleRegistry.resolve(styles[depth], text, lexer.getStart(), lexer.getEnd());
+
+                if (++depth == styles.length)
+                {
+                    styles = Arrays.copyOf(styles, depth * 2);
+                }
+
+                styles[depth] = resolved;
+            }
+            else if (depth > 0)
+            {
+                depth--;
+            }
+        }
+
+        if (current.codes.length > 0)
+        {
+            out.append(RESET);
+        }
+    }
+
+    /**
+     * Appends a range of text, preceded by the sequence that changes the current attributes to the target ones.
+     *
+     * @return The target sequence, which is the current one afterwards.
+     */
+    protected Sgr appendText(Appendable out, CharSequence text, int start, int end, Sgr current, Sgr target) throws IOException
+    {
+        if (target != current)
+        {
+            out.append(current.getTransition(target));
+        }
+
+        out.append(text, start, end);
+        return target;
+    }
+
+    protected void addDefaultStyles()
+    {
+        this.parameters.put("bold", "1");
+        this.parameters.put("dim", "2");
+        this.parameters.put("italic", "3");
+        this.parameters.put("underline", "4");
+        this.parameters.put("blink", "5");
+        this.parameters.put("reverse", "7");
+        this.parameters.put("strikethrough", "9");
+
+        String[] colors = { "black", "red", "green", "yellow", "blue", "magenta", "cyan", "white" };
+
+        for (int i = 0; i < colors.length; i++)
+        {
+            this.parameters.put(colors[i], String.valueOf(30 + i));
+            this.parameters.put("bright_" + colors[i], String.valueOf(90 + i));
+            this.parameters.put("bg_" + colors[i], String.valueOf(40 + i));
+            this.parameters.put("bg_bright_" + colors[i], String.valueOf(100 + i));
+        }
+
+        this.parameters.put("gray", "90");
+        this.parameters.put("grey", "90");
+    }
+
+    protected Sgr getSgr(StyleSet styles)
+    {
+        Sgr sgr = this.sequences.get(styles);
+
+        if (sgr == null)
+        {
+            sgr = createSgr(styles);
+
+            if (this.sequences.size() >= MAX_CACHED_SETS)
+            {
+                this.sequences.clear();
+            }
+
+            this.sequences.put(styles, sgr);
+        }
+
+        return sgr;
+    }
+
+    protected Sgr createSgr(StyleSet styles)
+    {
+        List<String> codes = new ArrayList<>(styles.size());
+
+        for (String style : styles)
+        {
+            String code = this.parameters.get(style);
+
+            if (code != null && !codes.contains(code))
+            {
+                codes.add(code);
+            }
+        }
+
+        if (codes.isEmpty())
+        {
+            return this.plain;
+        }
+
+        // sets with the same codes share one sequence and its transitions
+        String key = String.join(";", codes);
+        Sgr sgr = this.sequencesByCodes.get(key);
+
+        if (sgr == null)
+        {
+            if (this.sequencesByCodes.size() >= MAX_CACHED_SEQUENCES)
+            {
+                this.sequencesByCodes.clear();
+            }
+
+            sgr = this.sequencesByCodes.computeIfAbsent(key, k -> new Sgr(codes.toArray(new String[0])));
+        }
+
+        return sgr;
+    }
+
+    protected static boolean hasTags(CharSequence text)
+    {
+        for (int i = 0; i < text.length(); i++)
+        {
+            if (text.charAt(i) == '<')
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The SGR parameters of a style set and the cached transitions to other sets.
+     */
+    protected static class Sgr
+    {
+        protected final String[] codes;
+        protected final String sequence;
+        protected final ConcurrentHashMap<Sgr, String> transitions = new ConcurrentHashMap<>();
+
+        protected Sgr(String[] codes)
+        {
+            this.codes = codes;
+            this.sequence = codes.length == 0 ? RESET : ESC + "0;" + String.join(";", codes) + "m";
+        }
+
+        protected String getTransition(Sgr target)
+        {
+            String transition = this.transitions.get(target);
+
+            if (transition == null)
+            {
+                transition = createTransition(target);
+
+                if (this.transitions.size() >= MAX_CACHED_SEQUENCES)
+                {
+                    this.transitions.clear();
+                }
+
+                this.transitions.putIfAbsent(target, transition);
+            }
+
+            return transition;
+        }
+
+        protected String createTransition(Sgr target)
+        {
+            var current = Arrays.asList(this.codes);
+            var next = Arrays.asList(target.codes);
+
+            if (current.containsAll(next) && next.containsAll(current))
+            {
+                return "";
+            }
+
+            if (next.isEmpty() || !next.containsAll(current))
+            {
+                return target.sequence;
+            }
+
+            List<String> added = new ArrayList<>(next);
+            added.removeAll(current);
+
+            return ESC + String.join(";", added) + "m";
+        }
+    }
+}
\ No newline at end of file
@@ -3,7 +3,6 @@ package bt.console.output.styled;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Arrays;
-import java.util.stream.Collectors;
 
 public class Style
 {
@@ -21,12 +20,43 @@ public class Style
 
         if (enabled)
         {
-            result = START_TAG + " " + Arrays.stream(styles).collect(Collectors.joining(" ")) + START_TAG_CLOSE + text + END_TAG;
+            StringBuilder builder = new StringBuilder(String.valueOf(text).length() + 32);
+            result = appendStartTag(builder, styles).append(text).append(END_TAG).toString();
         }
 
         return result;
     }
 
+    /**
+     * Appends the tag that {@link #apply(String, String...)} starts styled text with, so styled text can be built
+     * without creating a string per part.
+     *
+     * @param builder
+     * @param styles
+     * @return The given builder.
+     */
+    public static StringBuilder appendStartTag(StringBuilder builder, String... styles)
+    {
+        builder.append(START_TAG).append(' ');
+
+        for (int i = 0; i < styles.length; i++)
+        {
+            if (i > 0)
+            {
+                builder.append(' ');
+            }
+
+            builder.append(styles[i]);
+        }
+
+        return builder.append(START_TAG_CLOSE);
+    }
+
+    public static String apply(String text, StyleSet styles)
+    {
+        return apply(text, styles.toArray(new String[0]));
+    }
+
     public static String apply(Throwable e, String... styles)
     {
         if (enabled)
@@ -62,9 +92,19 @@ public class Style
         return apply(displayText, completeStyles);
     }
 
+    /**
+     * @param text
+     * @return The text without style tags.
+     * @see StyledText#destyle(String)
+     */
     public static String destyle(String text)
     {
-        return text.replaceAll("<\\+bt.*?>", "").replaceAll("<-bt>", "");
+        return StyledText.destyle(text);
+    }
+
+    public static boolean isEnabled()
+    {
+        return enabled;
     }
 
     public static void setEnabled(boolean enabled)
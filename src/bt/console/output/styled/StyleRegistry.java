@@ -0,0 +1,256 @@
+package bt.console.output.styled;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns style names to small int ids and resolves the styles of tags to {@link StyleSet}s.
+ *
+ * <p>
+ * Every distinct name gets the next free id the first time it is seen and keeps it for the lifetime of the JVM.
+ * Parameterized styles like {@link Style#hyperlink(String) hyperlink(...)} are not registered when tags are resolved,
+ * they are kept by name in the {@link StyleSet} that contains them, so texts with any number of different links or
+ * commands do not grow the registry.
+ * </p>
+ *
+ * <p>
+ * Resolving a tag combines the styles inherited from the enclosing tags with the styles of the tag as bit operations.
+ * Styles that start with "-" remove themselves and the style without the "-", "-*" stops the inheritance. The parsed
+ * forms of recently seen tags are cached in a fixed size table that is looked up by the characters of the tag, so tags
+ * that occur again are resolved without copying, splitting or looking up their names. All methods are thread safe.
+ * </p>
+ */
+public final class StyleRegistry
+{
+    private static final int CACHED_TAGS = 4096;
+    private static final String NO_INHERITANCE = "-*";
+
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    // a tag replaces the cached tag with the same slot, the final fields of a tag make it safe to publish without locks
+    private static final Tag[] TAGS = new Tag[CACHED_TAGS];
+    private static volatile String[] names = new String[64];
+    private static int size;
+
+    private StyleRegistry()
+    {
+    }
+
+    /**
+     * @param name The name of a style.
+     * @return The id of the style, which is assigned on the first call for a name.
+     */
+    public static int getId(String name)
+    {
+        Integer id = IDS.get(name);
+        return id != null ? id : register(name);
+    }
+
+    /**
+     * @param name The name of a style.
+     * @return The id of the style or -1 if the name was never registered.
+     */
+    public static int findId(String name)
+    {
+        Integer id = IDS.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * @param id The id of a registered style.
+     * @return The name of the style.
+     */
+    public static String getName(int id)
+    {
+        return names[id];
+    }
+
+    /**
+     * @return The number of registered names.
+     */
+    public static synchronized int size()
+    {
+        return size;
+    }
+
+    /**
+     * Resolves the styles of a start tag.
+     *
+     * @param inherited The resolved styles of the enclosing tag.
+     * @param styleList The styles of the tag, separated by spaces, as written between {@link Style#START_TAG} and
+     *                  {@link Style#START_TAG_CLOSE}.
+     * @return The resolved styles.
+     */
+    public static StyleSet resolve(StyleSet inherited, String styleList)
+    {
+        return resolve(inherited, styleList, 0, styleList.length());
+    }
+
+    /**
+     * Resolves the styles of a start tag that are part of a larger text, without copying them if the tag was seen
+     * recently.
+     *
+     * @param inherited The resolved styles of the enclosing tag.
+     * @param text      The text that contains the tag.
+     * @param start     The index of the first char of the styles, as returned by {@link StyledTextLexer#getStart()}.
+     * @param end       The index after the last char of the styles.
+     * @return The resolved styles.
+     */
+    public static StyleSet resolve(StyleSet inherited, CharSequence text, int start, int end)
+    {
+        int hash = 0;
+
+        for (int i = start; i < end; i++)
+        {
+            hash = 31 * hash + text.charAt(i);
+        }
+
+        int slot = (hash ^ (hash >>> 16)) & (CACHED_TAGS - 1);
+        Tag tag = TAGS[slot];
+
+        if (tag == null || !tag.matches(text, start, end))
+        {
+            String styleList = text.subSequence(start, end).toString();
+            tag = new Tag(styleList, Arrays.asList(styleList.trim().split(" ")));
+            TAGS[slot] = tag;
+        }
+
+        return tag.resolve(inherited);
+    }
+
+    /**
+     * Resolves the given styles of a tag without caching them.
+     *
+     * @param inherited The resolved styles of the enclosing tag.
+     * @param styles    The styles of the tag.
+     * @return The resolved styles.
+     */
+    public static StyleSet resolve(StyleSet inherited, Collection<String> styles)
+    {
+        return new Tag(null, styles).resolve(inherited);
+    }
+
+    private static synchronized int register(String name)
+    {
+        Integer id = IDS.get(name);
+
+        if (id != null)
+        {
+            return id;
+        }
+
+        if (size == names.length)
+        {
+            names = Arrays.copyOf(names, size * 2);
+        }
+
+        // publish the name before the id, readers of an id must be able to see its name
+        String[] current = names;
+        current[size] = name;
+        names = current;
+        IDS.put(name, size);
+
+        return size++;
+    }
+
+    /**
+     * The parsed styles of a tag.
+     */
+    private static final class Tag
+    {
+        private final String styleList;
+        private final long[] added;
+        private final long[] removed;
+        private final String[] addedParameterized;
+        private final String[] removedParameterized;
+        private final boolean inherit;
+
+        // the last inherited set and its result, most tags are always resolved within the same enclosing styles
+        private volatile StyleSet[] last = new StyleSet[2];
+
+        private Tag(String styleList, Collection<String> styles)
+        {
+            this.styleList = styleList;
+            long[] added = new long[1];
+            long[] removed = new long[1];
+            String[] addedParameterized = StyleSet.NO_PARAMETERIZED;
+            String[] removedParameterized = StyleSet.NO_PARAMETERIZED;
+            boolean inherit = true;
+
+            for (String style : styles)
+            {
+                if (StyleSet.isParameterized(style))
+                {
+                    addedParameterized = StyleSet.add(addedParameterized, style);
+
+                    if (style.startsWith("-"))
+                    {
+                        removedParameterized = StyleSet.add(removedParameterized, style);
+                        removedParameterized = StyleSet.add(removedParameterized, style.substring(1));
+                    }
+
+                    continue;
+                }
+
+                added = StyleSet.set(added, getId(style));
+
+                if (style.startsWith("-"))
+                {
+                    removed = StyleSet.set(removed, getId(style));
+                    removed = StyleSet.set(removed, getId(style.substring(1)));
+                    inherit &= !NO_INHERITANCE.equals(style);
+                }
+            }
+
+            this.added = added;
+            this.removed = removed;
+            this.addedParameterized = addedParameterized;
+            this.removedParameterized = removedParameterized;
+            this.inherit = inherit;
+        }
+
+        private boolean matches(CharSequence text, int start, int end)
+        {
+            if (this.styleList.length() != end - start)
+            {
+                return false;
+            }
+
+            for (int i = start; i < end; i++)
+            {
+                if (this.styleList.charAt(i - start) != text.charAt(i))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private StyleSet resolve(StyleSet inherited)
+        {
+            StyleSet[] last = this.last;
+
+            if (last[0] == inherited)
+            {
+                return last[1];
+            }
+
+            StyleSet base = this.inherit ? inherited : StyleSet.EMPTY;
+            long[] inheritedWords = base.words;
+            long[] words = new long[Math.max(inheritedWords.length, this.added.length)];
+
+            for (int i = 0; i < words.length; i++)
+            {
+                long word = (i < inheritedWords.length ? inheritedWords[i] : 0) | (i < this.added.length ? this.added[i] : 0);
+                words[i] = word & ~(i < this.removed.length ? this.removed[i] : 0);
+            }
+
+            String[] parameterized = StyleSet.merge(base.parameterized, this.addedParameterized, this.removedParameterized);
+            StyleSet resolved = StyleSet.of(words, parameterized);
+            this.last = new StyleSet[]{ inherited, resolved };
+
+            return resolved;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,362 @@
+package bt.console.output.styled;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable set of styles, stored as a bitset of the ids of the {@link StyleRegistry}.
+ *
+ * <p>
+ * Styles with a parameter, like {@link Style#hyperlink(String) hyperlink(...)}, are not registered. They are kept
+ * by name in a sorted array of the set, so texts with any number of different links do not grow the registry or the
+ * bitsets.
+ * </p>
+ *
+ * <p>
+ * Sets without parameterized styles are interned: all of these sets with the same styles are the same instance, so
+ * they can be compared by identity and are shared by all nodes and spans that resolve to them. Sets with
+ * parameterized styles are created per resolved tag and compared by their styles. The set view of the style names is
+ * read only.
+ * </p>
+ */
+public final class StyleSet extends AbstractSet<String>
+{
+    private static final ConcurrentHashMap<StyleSet, StyleSet> INTERNED = new ConcurrentHashMap<>();
+    static final String[] NO_PARAMETERIZED = new String[0];
+
+    public static final StyleSet EMPTY = of(new long[0]);
+
+    final long[] words;
+    final String[] parameterized;
+    private final int size;
+    private final int hash;
+
+    private StyleSet(long[] words, String[] parameterized)
+    {
+        int size = parameterized.length;
+        int hash = 0;
+
+        for (int id = nextId(words, 0); id >= 0; id = nextId(words, id + 1))
+        {
+            size++;
+            hash += StyleRegistry.getName(id).hashCode();
+        }
+
+        for (String style : parameterized)
+        {
+            hash += style.hashCode();
+        }
+
+        this.words = words;
+        this.parameterized = parameterized;
+        this.size = size;
+        this.hash = hash;
+    }
+
+    /**
+     * @param styles The names of the styles.
+     * @return The set that contains the given styles, interned if none of them has a parameter.
+     */
+    public static StyleSet of(String... styles)
+    {
+        long[] words = new long[1];
+        String[] parameterized = NO_PARAMETERIZED;
+
+        for (String style : styles)
+        {
+            if (isParameterized(style))
+            {
+                parameterized = add(parameterized, style);
+            }
+            else
+            {
+                words = set(words, StyleRegistry.getId(style));
+            }
+        }
+
+        return of(words, parameterized);
+    }
+
+    /**
+     * @param words The bits of the style ids, the array is not copied and must not be modified afterwards.
+     * @return The interned set with the given bits.
+     */
+    static StyleSet of(long[] words)
+    {
+        return of(words, NO_PARAMETERIZED);
+    }
+
+    /**
+     * @param words         The bits of the style ids, the array is not copied and must not be modified afterwards.
+     * @param parameterized The sorted, distinct parameterized styles, not copied either.
+     * @return The set with the given styles, interned if there are no parameterized styles.
+     */
+    static StyleSet of(long[] words, String[] parameterized)
+    {
+        int length = words.length;
+
+        while (length > 0 && words[length - 1] == 0)
+        {
+            length--;
+        }
+
+        var set = new StyleSet(length == words.length ? words : Arrays.copyOf(words, length), parameterized);
+
+        if (parameterized.length > 0)
+        {
+            return set;
+        }
+
+        var interned = INTERNED.putIfAbsent(set, set);
+
+        return interned != null ? interned : set;
+    }
+
+    /**
+     * @param style The name of a style.
+     * @return true if the style has a parameter in parentheses, like "hyperlink(https://example.org)".
+     */
+    public static boolean isParameterized(String style)
+    {
+        return style.endsWith(")") && style.indexOf('(') > 0;
+    }
+
+    /**
+     * @return The given sorted styles with the given style inserted, the given array if it already contains it.
+     */
+    static String[] add(String[] styles, String style)
+    {
+        int index = Arrays.binarySearch(styles, style);
+
+        if (index >= 0)
+        {
+            return styles;
+        }
+
+        index = -index - 1;
+        String[] result = new String[styles.length + 1];
+        System.arraycopy(styles, 0, result, 0, index);
+        result[index] = style;
+        System.arraycopy(styles, index, result, index + 1, styles.length - index);
+
+        return result;
+    }
+
+    /**
+     * @return The sorted styles that are part of the first array, the second one or both, minus the removed ones.
+     */
+    static String[] merge(String[] first, String[] second, String[] removed)
+    {
+        if (removed.length == 0 && (second.length == 0 || first == second))
+        {
+            return first;
+        }
+
+        String[] result = first;
+
+        for (String style : second)
+        {
+            result = add(result, style);
+        }
+
+        for (String style : removed)
+        {
+            int index = Arrays.binarySearch(result, style);
+
+            if (index >= 0)
+            {
+                String[] shorter = new String[result.length - 1];
+                System.arraycopy(result, 0, shorter, 0, index);
+                System.arraycopy(result, index + 1, shorter, index, shorter.length - index);
+                result = shorter;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return The given words with the bit of the given id set, grown if necessary.
+     */
+    static long[] set(long[] words, int id)
+    {
+        int word = id >>> 6;
+
+        if (word >= words.length)
+        {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+
+        words[word] |= 1L << id;
+        return words;
+    }
+
+    /**
+     * @param id The id of a style.
+     * @return true if the style with the given id is part of this set.
+     */
+    public boolean contains(int id)
+    {
+        int word = id >>> 6;
+        return word < this.words.length && (this.words[word] & (1L << id)) != 0;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if (!(o instanceof String))
+        {
+            return false;
+        }
+
+        if (isParameterized((String)o))
+        {
+            return Arrays.binarySearch(this.parameterized, o) >= 0;
+        }
+
+        int id = StyleRegistry.findId((String)o);
+        return id >= 0 && contains(id);
+    }
+
+    /**
+     * @param fromId The first id to check.
+     * @return The smallest id of this set that is at least the given id or -1 if there is none. Parameterized styles
+     * have no id.
+     */
+    public int nextId(int fromId)
+    {
+        return nextId(this.words, fromId);
+    }
+
+    /**
+     * @param other
+     * @return The interned set of the styles of both sets.
+     */
+    public StyleSet union(StyleSet other)
+    {
+        long[] longer = this.words.length >= other.words.length ? this.words : other.words;
+        long[] shorter = longer == this.words ? other.words : this.words;
+        long[] words = longer.clone();
+
+        for (int i = 0; i < shorter.length; i++)
+        {
+            words[i] |= shorter[i];
+        }
+
+        return of(words, merge(this.parameterized, other.parameterized, NO_PARAMETERIZED));
+    }
+
+    /**
+     * @param other
+     * @return The interned set of the styles of this set that are not part of the given set.
+     */
+    public StyleSet minus(StyleSet other)
+    {
+        long[] words = this.words.clone();
+
+        for (int i = 0; i < Math.min(words.length, other.words.length); i++)
+        {
+            words[i] &= ~other.words[i];
+        }
+
+        return of(words, merge(this.parameterized, NO_PARAMETERIZED, other.parameterized));
+    }
+
+    /**
+     * @return The parameterized styles of this set, sorted by name.
+     */
+    public List<String> getParameterized()
+    {
+        return Collections.unmodifiableList(Arrays.asList(this.parameterized));
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<String> iterator()
+    {
+        return new Iterator<>()
+        {
+            private int next = nextId(0);
+            private int nextParameterized;
+
+            @Override
+            public boolean hasNext()
+            {
+                return this.next >= 0 || this.nextParameterized < StyleSet.this.parameterized.length;
+            }
+
+            @Override
+            public String next()
+            {
+                if (this.next >= 0)
+                {
+                    String name = StyleRegistry.getName(this.next);
+                    this.next = nextId(this.next + 1);
+                    return name;
+                }
+
+                if (this.nextParameterized < StyleSet.this.parameterized.length)
+                {
+                    return StyleSet.this.parameterized[this.nextParameterized++];
+                }
+
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o instanceof StyleSet)
+        {
+            return this == o || (Arrays.equals(this.words, ((StyleSet)o).words)
+                    && Arrays.equals(this.parameterized, ((StyleSet)o).parameterized));
+        }
+
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.hash;
+    }
+
+    private static int nextId(long[] words, int fromId)
+    {
+        int word = fromId >>> 6;
+
+        if (word >= words.length)
+        {
+            return -1;
+        }
+
+        long bits = words[word] & (-1L << fromId);
+
+        while (true)
+        {
+            if (bits != 0)
+            {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+
+            if (++word == words.length)
+            {
+                return -1;
+            }
+
+            bits = words[word];
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+package bt.console.output.styled;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The text ranges of a styled text together with the styles that apply to each of them, as created by
+ * {@link StyledTextParser#parseSpans(CharSequence)}.
+ *
+ * <p>
+ * A span is a range of the source text without tags. Spans are stored in parallel arrays in the order of the text,
+ * each refers to the local id of its resolved style set. Spans with the same styles share the same id and the same
+ * {@link StyleSet}, so renderers can iterate the spans and only need to react when the id changes. The styles are resolved exactly like
+ * {@link StyledTextNode#getStyles()} resolves the styles of the text nodes of the equivalent tree.
+ * </p>
+ */
+public class StyledSpans
+{
+    protected final CharSequence source;
+    protected int[] starts = new int[8];
+    protected int[] ends = new int[8];
+    protected int[] styleIds = new int[8];
+    protected int size;
+    protected final List<StyleSet> styleSets = new ArrayList<>();
+    protected final Map<StyleSet, Integer> styleSetIds = new HashMap<>();
+
+    public StyledSpans(CharSequence source)
+    {
+        this.source = source;
+        addStyleSet(StyleSet.EMPTY);
+    }
+
+    /**
+     * Appends a span.
+     *
+     * @param start   The index of the first char of the span in the source.
+     * @param end     The index after the last char of the span in the source.
+     * @param styleId The id of the style set of the span, see {@link #addStyleSet(StyleSet)}.
+     */
+    public void add(int start, int end, int styleId)
+    {
+        if (this.size == this.starts.length)
+        {
+            int capacity = this.size * 2;
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.ends = Arrays.copyOf(this.ends, capacity);
+            this.styleIds = Arrays.copyOf(this.styleIds, capacity);
+        }
+
+        this.starts[this.size] = start;
+        this.ends[this.size] = end;
+        this.styleIds[this.size] = styleId;
+        this.size++;
+    }
+
+    /**
+     * Returns the id of the given style set, adding it if no equal set was added before. The empty set has the id 0.
+     *
+     * @param styles The resolved styles.
+     * @return The id.
+     */
+    public int addStyleSet(StyleSet styles)
+    {
+        Integer id = this.styleSetIds.get(styles);
+
+        if (id == null)
+        {
+            id = this.styleSets.size();
+            this.styleSets.add(styles);
+            this.styleSetIds.put(styles, id);
+        }
+
+        return id;
+    }
+
+    public CharSequence getSource()
+    {
+        return this.source;
+    }
+
+    /**
+     * @return The number of spans.
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    public int getStart(int span)
+    {
+        return this.starts[span];
+    }
+
+    public int getEnd(int span)
+    {
+        return this.ends[span];
+    }
+
+    public int getStyleId(int span)
+    {
+        return this.styleIds[span];
+    }
+
+    /**
+     * @param span The index of the span.
+     * @return The resolved styles of the span.
+     */
+    public StyleSet getStyles(int span)
+    {
+        return this.styleSets.get(this.styleIds[span]);
+    }
+
+    /**
+     * @param styleId The id of a style set.
+     * @return The resolved styles.
+     */
+    public StyleSet getStyleSet(int styleId)
+    {
+        return this.styleSets.get(styleId);
+    }
+
+    /**
+     * @return The number of distinct style sets, including the empty set.
+     */
+    public int getStyleSetCount()
+    {
+        return this.styleSets.size();
+    }
+
+    /**
+     * @param span The index of the span.
+     * @return A copy of the text of the span.
+     */
+    public String getText(int span)
+    {
+        return this.source.subSequence(this.starts[span], this.ends[span]).toString();
+    }
+
+    /**
+     * Appends the text of all spans, which is the source without its tags.
+     *
+     * @param out
+     * @return The given builder.
+     */
+    public StringBuilder appendText(StringBuilder out)
+    {
+        for (int i = 0; i < this.size; i++)
+        {
+            out.append(this.source, this.starts[i], this.ends[i]);
+        }
+
+        return out;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder s = new StringBuilder();
+
+        for (int i = 0; i < this.size; i++)
+        {
+            s.append(getStyles(i)).append(this.source, this.starts[i], this.ends[i]).append(System.lineSeparator());
+        }
+
+        return s.toString();
+    }
+}
\ No newline at end of file
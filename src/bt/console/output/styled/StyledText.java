@@ -0,0 +1,205 @@
+package bt.console.output.styled;
+
+import bt.console.output.DisplayWidth;
+
+/**
+ * Removes, measures and cuts the style tags of styled text by scanning its chars once, without regular expressions.
+ *
+ * <p>
+ * A start tag is {@link Style#START_TAG} up to the next {@link Style#START_TAG_CLOSE}, an end tag is
+ * {@link Style#END_TAG}. A start tag that is never closed by a '>' is text. Text without tags is returned as it is.
+ * </p>
+ */
+public final class StyledText
+{
+    private StyledText()
+    {
+    }
+
+    /**
+     * @param text Styled text.
+     * @return The text without its style tags, the given instance if it has no tags.
+     */
+    public static String destyle(String text)
+    {
+        int tag = nextTag(text, 0);
+
+        if (tag < 0)
+        {
+            return text;
+        }
+
+        StringBuilder result = new StringBuilder(text.length());
+        int copied = 0;
+
+        while (tag >= 0)
+        {
+            result.append(text, copied, tag);
+            copied = tagEnd(text, tag);
+            tag = nextTag(text, copied);
+        }
+
+        return result.append(text, copied, text.length()).toString();
+    }
+
+    /**
+     * @param text Styled text.
+     * @return The number of terminal columns the text occupies without its style tags.
+     * @see DisplayWidth
+     */
+    public static int visibleLength(CharSequence text)
+    {
+        int width = 0;
+        int i = 0;
+        int length = text.length();
+
+        while (i < length)
+        {
+            char c = text.charAt(i);
+
+            if (c == '<')
+            {
+                int tagEnd = tagEnd(text, i);
+
+                if (tagEnd > i)
+                {
+                    i = tagEnd;
+                    continue;
+                }
+            }
+
+            if (c < 0x100)
+            {
+                width++;
+                i++;
+            }
+            else
+            {
+                int codePoint = Character.codePointAt(text, i);
+                width += DisplayWidth.of(codePoint);
+                i += Character.charCount(codePoint);
+            }
+        }
+
+        return width;
+    }
+
+    /**
+     * Cuts the given styled text after as many characters as fit into the given width. Styles that are open at the
+     * cut are closed, so the result is balanced if the text was.
+     *
+     * @param text     Styled text.
+     * @param maxWidth The maximum number of terminal columns of the result.
+     * @return The cut text, the given instance if it fits and all of its styles are closed.
+     */
+    public static String truncateVisible(String text, int maxWidth)
+    {
+        int visible = 0;
+        int open = 0;
+        int i = 0;
+
+        while (i < text.length())
+        {
+            int tagEnd = tagEnd(text, i);
+
+            if (tagEnd > i)
+            {
+                open += text.startsWith(Style.END_TAG, i) ? -1 : 1;
+                i = tagEnd;
+                continue;
+            }
+
+            int codePoint = text.codePointAt(i);
+            int width = DisplayWidth.of(codePoint);
+
+            if (visible + width > maxWidth)
+            {
+                break;
+            }
+
+            visible += width;
+            i += Character.charCount(codePoint);
+        }
+
+        if (i == text.length() && open <= 0)
+        {
+            return text;
+        }
+
+        StringBuilder result = new StringBuilder(i + Math.max(open, 0) * Style.END_TAG.length());
+        result.append(text, 0, i);
+
+        for (int j = 0; j < open; j++)
+        {
+            result.append(Style.END_TAG);
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * @param text  Styled text.
+     * @param index An index of the text.
+     * @return The index after the style tag that starts at the given index or the index itself if no tag starts there.
+     */
+    public static int tagEnd(CharSequence text, int index)
+    {
+        if (text.charAt(index) != '<')
+        {
+            return index;
+        }
+
+        if (startsWith(text, Style.END_TAG, index))
+        {
+            return index + Style.END_TAG.length();
+        }
+
+        if (startsWith(text, Style.START_TAG, index))
+        {
+            char close = Style.START_TAG_CLOSE.charAt(0);
+
+            for (int i = index + Style.START_TAG.length(); i < text.length(); i++)
+            {
+                if (text.charAt(i) == close)
+                {
+                    return i + 1;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * @return The index of the first style tag at or after the given index or -1 if there is none.
+     */
+    private static int nextTag(String text, int from)
+    {
+        int i = text.indexOf('<', from);
+
+        while (i >= 0 && tagEnd(text, i) == i)
+        {
+            i = text.indexOf('<', i + 1);
+        }
+
+        return i;
+    }
+
+    private static boolean startsWith(CharSequence text, String prefix, int index)
+    {
+        if (index + prefix.length() > text.length())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++)
+        {
+            if (text.charAt(index + i) != prefix.charAt(i))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,271 @@
+package bt.console.output.styled;
+
+import bt.console.output.styled.exc.StyleParseException;
+
+/**
+ * Splits styled text into a flat stream of tokens in a single pass over the text.
+ *
+ * <p>
+ * Every call to {@link #next()} returns the type of the next token, its position is available through
+ * {@link #getStart()} and {@link #getEnd()} until the following call. Tokens are ranges of the original text, nothing
+ * is copied unless a caller asks for the {@link #getText() text} or the {@link #getStyles() styles} of a token:
+ * </p>
+ *
+ * <pre>
+ * var lexer = new StyledTextLexer(text);
+ *
+ * while (lexer.next() != StyledTextLexer.Token.END)
+ * {
+ *     ...
+ * }
+ * </pre>
+ *
+ * <p>
+ * A start tag that is not at the beginning of the text and that is not followed by any end tag is read as text, like
+ * the parser always did. The lexer does not check whether start and end tags match, see {@link #getDepth()}.
+ * Instances can be {@link #reset(CharSequence) reused} for further texts but must not be shared between threads.
+ * </p>
+ */
+public class StyledTextLexer
+{
+    public enum Token
+    {
+        /**
+         * Text without tags.
+         */
+        TEXT,
+
+        /**
+         * A start tag, the range of the token covers the style names between {@link Style#START_TAG} and
+         * {@link Style#START_TAG_CLOSE}.
+         */
+        STYLE_OPEN,
+
+        /**
+         * An end tag, the range of the token is empty.
+         */
+        STYLE_CLOSE,
+
+        /**
+         * The end of the text.
+         */
+        END
+    }
+
+    protected CharSequence text;
+    protected int position;
+    protected int start;
+    protected int end;
+    protected int tagStart;
+    protected int tagEnd;
+    protected int depth;
+    protected int lastEndTag;
+    protected Token token;
+
+    public StyledTextLexer(CharSequence text)
+    {
+        reset(text);
+    }
+
+    /**
+     * Starts to read the given text from its beginning.
+     *
+     * @param text
+     */
+    public void reset(CharSequence text)
+    {
+        this.text = text;
+        this.position = 0;
+        this.start = 0;
+        this.end = 0;
+        this.tagStart = 0;
+        this.tagEnd = 0;
+        this.depth = 0;
+        this.lastEndTag = lastIndexOf(Style.END_TAG);
+        this.token = null;
+    }
+
+    /**
+     * Reads the next token.
+     *
+     * @return The type of the token, {@link Token#END} once the whole text was read.
+     * @throws StyleParseException If a start tag is not terminated.
+     */
+    public Token next()
+    {
+        int length = this.text.length();
+        int i = this.position;
+        this.tagStart = i;
+
+        if (i >= length)
+        {
+            this.start = length;
+            this.end = length;
+            this.tagEnd = length;
+            return this.token = Token.END;
+        }
+
+        if (this.text.charAt(i) == '<')
+        {
+            if (isStartTag(i))
+            {
+                int close = indexOf(Style.START_TAG_CLOSE.charAt(0), i + Style.START_TAG.length());
+
+                if (close < 0)
+                {
+                    throw new StyleParseException("Start tag at index " + i + " is not terminated: " + this.text);
+                }
+
+                this.start = i + Style.START_TAG.length();
+                this.end = close;
+                this.tagEnd = close + 1;
+                this.position = this.tagEnd;
+                this.depth++;
+                return this.token = Token.STYLE_OPEN;
+            }
+
+            if (startsWith(Style.END_TAG, i))
+            {
+                this.tagEnd = i + Style.END_TAG.length();
+                this.start = this.tagEnd;
+                this.end = this.tagEnd;
+                this.position = this.tagEnd;
+                this.depth--;
+                return this.token = Token.STYLE_CLOSE;
+            }
+        }
+
+        // a '<' that does not start a tag is text
+        int j = i + 1;
+
+        while (j < length && !(this.text.charAt(j) == '<' && (isStartTag(j) || startsWith(Style.END_TAG, j))))
+        {
+            j++;
+        }
+
+        this.start = i;
+        this.end = j;
+        this.tagEnd = j;
+        this.position = j;
+        return this.token = Token.TEXT;
+    }
+
+    /**
+     * @return The type of the current token or null if {@link #next()} was not called yet.
+     */
+    public Token getToken()
+    {
+        return this.token;
+    }
+
+    /**
+     * @return The index of the first char of the current text or of the style names of the current start tag.
+     */
+    public int getStart()
+    {
+        return this.start;
+    }
+
+    /**
+     * @return The index after the last char of the current text or of the style names of the current start tag.
+     */
+    public int getEnd()
+    {
+        return this.end;
+    }
+
+    /**
+     * @return The index of the first char of the current token including its tag characters.
+     */
+    public int getTagStart()
+    {
+        return this.tagStart;
+    }
+
+    /**
+     * @return The index after the last char of the current token including its tag characters.
+     */
+    public int getTagEnd()
+    {
+        return this.tagEnd;
+    }
+
+    /**
+     * @return The number of start tags minus the number of end tags that were read so far. Negative if there were
+     * more end tags than start tags.
+     */
+    public int getDepth()
+    {
+        return this.depth;
+    }
+
+    public CharSequence getSource()
+    {
+        return this.text;
+    }
+
+    /**
+     * @return A copy of the range of the current token.
+     */
+    public String getText()
+    {
+        return this.text.subSequence(this.start, this.end).toString();
+    }
+
+    /**
+     * @return The style names of the current start tag.
+     */
+    public String[] getStyles()
+    {
+        return getText().trim().split(" ");
+    }
+
+    protected boolean isStartTag(int index)
+    {
+        return (index == 0 || index < this.lastEndTag) && startsWith(Style.START_TAG, index);
+    }
+
+    protected boolean startsWith(String prefix, int index)
+    {
+        if (index + prefix.length() > this.text.length())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length(); i++)
+        {
+            if (this.text.charAt(index + i) != prefix.charAt(i))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    protected int lastIndexOf(String s)
+    {
+        for (int i = this.text.length() - s.length(); i >= 0; i--)
+        {
+            if (startsWith(s, i))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    protected int indexOf(char c, int from)
+    {
+        for (int i = from; i < this.text.length(); i++)
+        {
+            if (this.text.charAt(i) == c)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
\ No newline at end of file
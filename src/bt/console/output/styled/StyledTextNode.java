@@ -115,39 +115,25 @@ public class StyledTextNode
         return isClosed;
     }
 
+    /**
+     * @return A modifiable copy of the resolved styles of this node, see {@link #getStyleSet()}.
+     */
     public Set<String> getStyles()
     {
-        Set<String> fullList = new HashSet();
-        boolean inheritStyles = true;
-
-        for (String style : this.styles)
-        {
-            if (style.equals("-*"))
-            {
-                inheritStyles = false;
-            }
-        }
-
-        if (inheritStyles)
-        {
-            if (this.parent != null && !this.isHyperlink)
-            {
-                fullList.addAll(this.parent.getStyles());
-            }
-        }
-
-        fullList.addAll(this.styles);
+        return new HashSet<>(getStyleSet());
+    }
 
-        for (String style : this.styles)
-        {
-            if (style.startsWith("-"))
-            {
-                fullList.remove(style);
-                fullList.remove(style.substring(1));
-            }
-        }
+    /**
+     * Resolves the styles of this node from its own styles and the styles of its parents. Nodes that resolve to the
+     * same styles without parameters share the same set.
+     *
+     * @return The resolved, immutable styles.
+     */
+    public StyleSet getStyleSet()
+    {
+        boolean inheritStyles = this.parent != null && !this.isHyperlink;
 
-        return fullList;
+        return StyleRegistry.resolve(inheritStyles ? this.parent.getStyleSet() : StyleSet.EMPTY, this.styles);
     }
 
     public boolean isHyperlink()
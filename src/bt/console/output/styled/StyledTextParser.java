@@ -3,6 +3,7 @@ package bt.console.output.styled;
 import bt.console.output.styled.exc.StyleParseException;
 import bt.log.Log;
 
+import java.util.Arrays;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -17,12 +18,7 @@ public class StyledTextParser
 
         if (autoResolveHyperlinks)
         {
-            Matcher matcher = this.hyperLinkPattern.matcher(text);
-
-            while (matcher.find())
-            {
-                text = matcher.replaceAll(Style.hyperlink("$1"));
-            }
+            text = resolveHyperlinks(text);
         }
 
         var node = parseNode(text);
@@ -32,6 +28,94 @@ public class StyledTextParser
         return node;
     }
 
+    protected String resolveHyperlinks(String text)
+    {
+        Matcher matcher = this.hyperLinkPattern.matcher(text);
+
+        while (matcher.find())
+        {
+            text = matcher.replaceAll(Style.hyperlink("$1"));
+        }
+
+        return text;
+    }
+
+    /**
+     * Creates a lexer that reads the tokens of the given text without building a tree of nodes.
+     *
+     * @param text
+     * @return The lexer, positioned before the first token.
+     */
+    public StyledTextLexer lex(CharSequence text)
+    {
+        return new StyledTextLexer(text);
+    }
+
+    public StyledSpans parseSpans(String text, boolean autoResolveHyperlinks)
+    {
+        return parseSpans(autoResolveHyperlinks ? resolveHyperlinks(text) : text);
+    }
+
+    /**
+     * Parses the given text into a flat list of spans instead of a tree of nodes. Every span refers to a style set
+     * that is resolved once per start tag, so the spans can be rendered in a single linear pass.
+     *
+     * @param text
+     * @return The spans.
+     * @throws StyleParseException If the tags of the text do not match.
+     * @see #parseNode(String)
+     */
+    public StyledSpans parseSpans(CharSequence text)
+    {
+        var spans = new StyledSpans(text);
+
+        try
+        {
+            var lexer = lex(text);
+            int[] styleIds = new int[8];
+            int depth = 0;
+            StyledTextLexer.Token token;
+
+            while ((token = lexer.next()) != StyledTextLexer.Token.END)
+            {
+                if (token == StyledTextLexer.Token.TEXT)
+                {
+                    spans.add(lexer.getStart(), lexer.getEnd(), styleIds[depth]);
+                }
+                else if (token == StyledTextLexer.Token.STYLE_OPEN)
+                {
+                    var styles = StyleRegistry.resolve(spans.getStyleSet(styleIds[depth]), lexer.getText());
+
+                    if (++depth == styleIds.length)
+                    {
+                        styleIds = Arrays.copyOf(styleIds, depth * 2);
+                    }
+
+                    styleIds[depth] = spans.addStyleSet(styles);
+                }
+                else if (depth == 0)
+                {
+                    throw new StyleParseException("Invalid closing tag found: " + text.subSequence(0, lexer.getTagEnd()));
+                }
+                else
+                {
+                    depth--;
+                }
+            }
+
+            if (depth != 0)
+            {
+                throw new StyleParseException("One or multiple closing tags missing: " + text);
+            }
+        }
+        catch (Exception e)
+        {
+            throw new StyleParseException("Failed to parse text: " + text, e);
+        }
+
+        return spans;
+    }
+
     public StyledTextNode parseNode(String text)
     {
         Log.entry(text);
@@ -43,62 +127,37 @@ public class StyledTextParser
             StyledTextNode currentNode = parent;
             currentNode.close();
 
-            int textIndex = 0;
-
-            int startTagIndex = 0;
-            int endTagIndex = 0;
-            int startTagEndIndex = 0;
+            // styles of the current node, computed once for all text nodes within it
+            String[] currentStyles = null;
+            var lexer = lex(text);
+            StyledTextLexer.Token token;
 
-            while (textIndex < text.length())
+            while ((token = lexer.next()) != StyledTextLexer.Token.END)
             {
-                startTagIndex = text.indexOf(Style.START_TAG, textIndex);
-                endTagIndex = text.indexOf(Style.END_TAG, textIndex);
-
-                if (startTagIndex != -1 && startTagIndex <= Math.max(0, endTagIndex))
+                if (token == StyledTextLexer.Token.TEXT)
                 {
-                    // parse starting tag
-
-                    // check if there is more text before the start tag
-                    if (textIndex < startTagIndex)
+                    if (currentStyles == null)
                     {
-                        // create new node for remaining text
-                        StyledTextNode newNode = new StyledTextNode();
-                        newNode.setText(text.substring(textIndex, startTagIndex));
-                        newNode.addStyles(currentNode.getStyles().toArray(new String[0]));
-                        newNode.close();
-                        currentNode.addChild(newNode);
+                        currentStyles = currentNode.getStyles().toArray(new String[0]);
                     }
 
-                    // create new node and set as child
                     StyledTextNode newNode = new StyledTextNode();
+                    newNode.setText(lexer.getText());
+                    newNode.addStyles(currentStyles);
+                    newNode.close();
                     currentNode.addChild(newNode);
-
-                    // parse styles
-                    textIndex = text.indexOf(Style.START_TAG_CLOSE, textIndex);
-                    String[] tags = text.substring(startTagIndex + Style.START_TAG.length(), textIndex).trim().split(" ");
-                    newNode.addStyles(tags);
-
-                    // moving past starting tag end
-                    textIndex += 1;
-
-                    // make new node current node for further processing
+                }
+                else if (token == StyledTextLexer.Token.STYLE_OPEN)
+                {
+                    // create new node and make it the current node for further processing
+                    StyledTextNode newNode = new StyledTextNode();
+                    currentNode.addChild(newNode);
+                    newNode.addStyles(lexer.getStyles());
                     currentNode = newNode;
+                    currentStyles = null;
                 }
-                else if (endTagIndex != -1)
+                else
                 {
-                    // parse closing tag
-
-                    // check if there is more text before the end tag
-                    if (textIndex < endTagIndex)
-                    {
-                        // create new node for remaining text until end tag
-                        StyledTextNode newNode = new StyledTextNode();
-                        newNode.setText(text.substring(textIndex, endTagIndex));
-                        newNode.addStyles(currentNode.getStyles().toArray(new String[0]));
-                        newNode.close();
-                        currentNode.addChild(newNode);
-                    }
-
                     // attempt to close current node
                     try
                     {
@@ -106,21 +165,12 @@ public class StyledTextParser
                     }
                     catch (StyleParseException e)
                     {
-                        throw new StyleParseException("Invalid closing tag found: " + text.substring(0, endTagIndex + Style.END_TAG.length()), e);
+                        throw new StyleParseException("Invalid closing tag found: " + text.substring(0, lexer.getTagEnd()), e);
                     }
 
-                    // move up to parrent after closing node
+                    // move up to parent after closing node
                     currentNode = currentNode.getParent();
-                    textIndex = endTagIndex + Style.END_TAG.length();
-                }
-                else
-                {
-                    // add remaining text as new node
-                    StyledTextNode newNode = new StyledTextNode();
-                    newNode.setText(text.substring(textIndex));
-                    newNode.close();
-                    currentNode.addChild(newNode);
-                    textIndex = text.length();
+                    currentStyles = null;
                 }
             }
 
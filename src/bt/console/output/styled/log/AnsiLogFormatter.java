@@ -0,0 +1,52 @@
+package bt.console.output.styled.log;
+
+import bt.console.output.styled.AnsiStyledTextRenderer;
+import bt.console.output.styled.Style;
+import bt.log.LoggerConfiguration;
+
+import java.util.logging.LogRecord;
+
+/**
+ * A {@link StyledLogFormatter} for plain terminals that writes ANSI escape sequences instead of style tags. Styles are
+ * only applied while {@link Style#setEnabled(boolean) styling is enabled}.
+ */
+public class AnsiLogFormatter extends StyledLogFormatter
+{
+    protected AnsiStyledTextRenderer renderer;
+
+    /**
+     * Creates a new instance with the given configuration.
+     *
+     * @param config
+     */
+    public AnsiLogFormatter(LoggerConfiguration config)
+    {
+        super(config);
+        this.renderer = new AnsiStyledTextRenderer();
+    }
+
+    /**
+     * Creates a new instance with a default configuration.
+     */
+    public AnsiLogFormatter()
+    {
+        this(new LoggerConfiguration());
+    }
+
+    @Override
+    public String format(LogRecord record)
+    {
+        return this.renderer.render(super.format(record));
+    }
+
+    public AnsiStyledTextRenderer getRenderer()
+    {
+        return this.renderer;
+    }
+
+    public AnsiLogFormatter setRenderer(AnsiStyledTextRenderer renderer)
+    {
+        this.renderer = renderer;
+        return this;
+    }
+}
\ No newline at end of file
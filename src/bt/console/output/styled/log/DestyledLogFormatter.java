@@ -1,6 +1,6 @@
 package bt.console.output.styled.log;
 
-import bt.console.output.styled.Style;
+import bt.console.output.styled.StyledText;
 import bt.log.DefaultLogFormatter;
 import bt.log.LoggerConfiguration;
 
@@ -33,6 +33,6 @@ public class DestyledLogFormatter extends DefaultLogFormatter
     @Override
     protected String getMessageText(LogRecord record)
     {
-        return Style.destyle(super.getMessageText(record));
+        return StyledText.destyle(super.getMessageText(record));
     }
 }
\ No newline at end of file
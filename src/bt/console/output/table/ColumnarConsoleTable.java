@@ -0,0 +1,427 @@
+package bt.console.output.table;
+
+import bt.console.output.table.columnar.ColumnStore;
+import bt.console.output.table.columnar.ColumnType;
+import bt.console.output.table.columnar.DoubleColumnStore;
+import bt.console.output.table.columnar.IntColumnStore;
+import bt.console.output.table.columnar.LongColumnStore;
+import bt.console.output.table.columnar.ObjectColumnStore;
+import bt.console.output.table.render.Alignment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link ConsoleTable} that stores its values column by column in typed, growable arrays instead of one
+ * {@link ConsoleTableRow} per row.
+ *
+ * <p>
+ * Values can be appended cell by cell through {@link #add(int)}, {@link #add(long)}, {@link #add(double)} and
+ * {@link #add(Object)}. Each call fills the next column of the current row, the row is complete once its last column
+ * was filled. Appending primitive values does neither box nor allocate apart from the amortized growth of the backing
+ * arrays:
+ * </p>
+ *
+ * <pre>
+ * table.add(id).add(duration).add(name);
+ * </pre>
+ *
+ * <p>
+ * Primitive columns accept null and empty cells, which are rendered like in a {@link ConsoleTable}. A column of type
+ * {@link ColumnType#INT} is widened to {@link ColumnType#LONG} once a long value does not fit into an int. Values of
+ * other types than the column type are rejected with an {@link IllegalArgumentException}.
+ * </p>
+ *
+ * <p>
+ * During rendering a single reused row is filled from the stores, so the formatted text of a row only exists while
+ * the row is measured or written. Values are boxed at that point to hand them to the column renderers. With the
+ * default {@link ConsoleTableWidthStrategy#full() width strategy} every row is formatted twice, once to measure and
+ * once to write it.
+ * </p>
+ */
+public class ColumnarConsoleTable extends ConsoleTable
+{
+    protected List<ColumnStore> stores;
+    protected ConsoleTableRow cursorRow;
+    protected int size;
+    protected int appendColumn;
+
+    public ColumnarConsoleTable()
+    {
+        super();
+        this.stores = new ArrayList<>();
+        this.cursorRow = new ConsoleTableRow();
+    }
+
+    /**
+     * Adds a column that stores values of the given type.
+     *
+     * @param header The header of the column.
+     * @param width  The maximum width of the column or -1 for no limit.
+     * @param type   The type of the stored values.
+     * @return The created column.
+     */
+    public ConsoleTableColumn addColumn(String header, int width, ColumnType type)
+    {
+        if (this.appendColumn > 0)
+        {
+            throw new IllegalStateException("Columns can not be added while a row is being appended.");
+        }
+
+        var store = ColumnStore.of(type);
+        store.ensureCapacity(this.size);
+
+        for (int i = 0; i < this.size; i++)
+        {
+            store.setEmpty(i);
+        }
+
+        var column = super.addColumn(header, width);
+        this.stores.add(store);
+
+        if (type != ColumnType.STRING && type != ColumnType.OBJECT)
+        {
+            column.setValueAlignment(Alignment.RIGHT);
+        }
+
+        return column;
+    }
+
+    @Override
+    public ConsoleTableColumn addColumn(String header, int width)
+    {
+        return addColumn(header, width, ColumnType.OBJECT);
+    }
+
+    public ConsoleTableColumn addIntColumn(String header)
+    {
+        return addColumn(header, -1, ColumnType.INT);
+    }
+
+    public ConsoleTableColumn addLongColumn(String header)
+    {
+        return addColumn(header, -1, ColumnType.LONG);
+    }
+
+    public ConsoleTableColumn addDoubleColumn(String header)
+    {
+        return addColumn(header, -1, ColumnType.DOUBLE);
+    }
+
+    public ConsoleTableColumn addStringColumn(String header)
+    {
+        return addColumn(header, -1, ColumnType.STRING);
+    }
+
+    public ColumnarConsoleTable add(int value)
+    {
+        nextStore().setInt(this.size, value);
+        return completeCell();
+    }
+
+    public ColumnarConsoleTable add(long value)
+    {
+        nextStore();
+        widenFor(this.appendColumn, value).setLong(this.size, value);
+        return completeCell();
+    }
+
+    public ColumnarConsoleTable add(double value)
+    {
+        nextStore().setDouble(this.size, value);
+        return completeCell();
+    }
+
+    public ColumnarConsoleTable add(Object value)
+    {
+        nextStore();
+        widenFor(this.appendColumn, value).setObject(this.size, value);
+        return completeCell();
+    }
+
+    /**
+     * Completes the current row. Columns that were not filled yet are set to their empty value.
+     *
+     * @return This instance for chaining.
+     */
+    public ColumnarConsoleTable endRow()
+    {
+        while (this.appendColumn > 0)
+        {
+            this.stores.get(this.appendColumn).setEmpty(this.size);
+            completeCell();
+        }
+
+        return this;
+    }
+
+    @Override
+    public void addRow(Object... values)
+    {
+        if (this.appendColumn > 0)
+        {
+            throw new IllegalStateException("A row is currently being appended cell by cell.");
+        }
+
+        nextStore();
+        checkValues(values);
+        setValues(this.size, values);
+
+        for (int i = 0; i < this.stores.size(); i++)
+        {
+            addToAggregate(i, this.size);
+        }
+
+        this.size++;
+        this.modificationCount++;
+    }
+
+    @Override
+    public void replaceRow(int index, Object... values)
+    {
+        if (index < 0 || index >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + this.size + " rows.");
+        }
+
+        checkValues(values);
+
+        for (int i = 0; i < this.stores.size(); i++)
+        {
+            removeFromAggregate(i, index);
+        }
+
+        setValues(index, values);
+
+        for (int i = 0; i < this.stores.size(); i++)
+        {
+            addToAggregate(i, index);
+        }
+
+        this.modificationCount++;
+    }
+
+    /**
+     * @param column The index of the column.
+     * @return The store that holds the values of the given column.
+     */
+    public ColumnStore getStore(int column)
+    {
+        return this.stores.get(column);
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    protected int getRowCount()
+    {
+        return this.size;
+    }
+
+    @Override
+    protected Object getCellValue(int row, int column)
+    {
+        return this.stores.get(column).getCellValue(row);
+    }
+
+    @Override
+    protected ConsoleTableRow getFormattedRow(int index)
+    {
+        return formatRow(index);
+    }
+
+    @Override
+    protected ConsoleTableRow formatRow(int index)
+    {
+        for (int i = 0; i < this.stores.size(); i++)
+        {
+            this.cursorRow.setValue(i, this.stores.get(i).get(index));
+        }
+
+        if (!this.cacheFormattedValues)
+        {
+            this.cursorRow.invalidate();
+        }
+
+        this.cursorRow.applyFormat(this.multiline, this.columns);
+
+        return this.cursorRow;
+    }
+
+    /**
+     * Rows are formatted in a single reused row, so they can not be formatted in parallel.
+     */
+    @Override
+    protected boolean canFormatInParallel()
+    {
+        return false;
+    }
+
+    protected ColumnStore nextStore()
+    {
+        if (this.stores.isEmpty())
+        {
+            throw new IllegalStateException("The table has no columns.");
+        }
+
+        if (this.appendColumn == 0)
+        {
+            for (var store : this.stores)
+            {
+                store.ensureCapacity(this.size + 1);
+            }
+        }
+
+        return this.stores.get(this.appendColumn);
+    }
+
+    /**
+     * Checks all values before any of them is stored, so a row is either stored completely or not at all.
+     *
+     * @throws IllegalArgumentException If a value can not be stored in its column.
+     */
+    protected void checkValues(Object[] values)
+    {
+        for (int i = 0; i < Math.min(values.length, this.stores.size()); i++)
+        {
+            this.stores.get(i).checkValue(values[i]);
+        }
+    }
+
+    protected void setValues(int row, Object[] values)
+    {
+        for (int i = 0; i < this.stores.size(); i++)
+        {
+            if (i < values.length)
+            {
+                widenFor(i, values[i]).setObject(row, values[i]);
+            }
+            else
+            {
+                this.stores.get(i).setEmpty(row);
+            }
+        }
+    }
+
+    /**
+     * Replaces the store of the given column by a store of type {@link ColumnType#LONG} if it is of type
+     * {@link ColumnType#INT} and the given value does not fit into an int.
+     *
+     * @return The store of the column.
+     */
+    protected ColumnStore widenFor(int column, long value)
+    {
+        var store = this.stores.get(column);
+
+        if (store instanceof IntColumnStore && !IntColumnStore.fits(value))
+        {
+            store = ((IntColumnStore)store).toLongStore();
+            this.stores.set(column, store);
+        }
+
+        return store;
+    }
+
+    protected ColumnStore widenFor(int column, Object value)
+    {
+        return value instanceof Long ? widenFor(column, (long)value) : this.stores.get(column);
+    }
+
+    /**
+     * Adds the stored value of the given cell to the aggregate of its column. Values of primitive columns are read
+     * without boxing. The aggregate always sees the value as it is stored, so it matches a recalculation from all rows
+     * no matter how the value was added. Null and empty cells are ignored, like they are in a {@link ConsoleTable}.
+     */
+    protected void addToAggregate(int column, int row)
+    {
+        var aggregator = this.columns.get(column).getAggregator();
+
+        if (aggregator == null)
+        {
+            return;
+        }
+
+        var store = this.stores.get(column);
+
+        if (store instanceof ObjectColumnStore)
+        {
+            aggregator.add(store.getCellValue(row));
+        }
+        else if (!store.hasValue(row))
+        {
+            return;
+        }
+        else if (store instanceof IntColumnStore)
+        {
+            aggregator.add((long)((IntColumnStore)store).getInt(row));
+        }
+        else if (store instanceof LongColumnStore)
+        {
+            aggregator.add(((LongColumnStore)store).getLong(row));
+        }
+        else
+        {
+            aggregator.add(((DoubleColumnStore)store).getDouble(row));
+        }
+    }
+
+    /**
+     * Removes the stored value of the given cell from the aggregate of its column, the counterpart of
+     * {@link #addToAggregate(int, int)}.
+     */
+    protected void removeFromAggregate(int column, int row)
+    {
+        var aggregator = this.columns.get(column).getAggregator();
+
+        if (aggregator == null)
+        {
+            return;
+        }
+
+        var store = this.stores.get(column);
+
+        if (store instanceof ObjectColumnStore)
+        {
+            aggregator.remove(store.getCellValue(row));
+        }
+        else if (!store.hasValue(row))
+        {
+            return;
+        }
+        else if (store instanceof IntColumnStore)
+        {
+            aggregator.remove((long)((IntColumnStore)store).getInt(row));
+        }
+        else if (store instanceof LongColumnStore)
+        {
+            aggregator.remove(((LongColumnStore)store).getLong(row));
+        }
+        else
+        {
+            aggregator.remove(((DoubleColumnStore)store).getDouble(row));
+        }
+    }
+
+    protected ColumnarConsoleTable completeCell()
+    {
+        this.appendColumn++;
+
+        if (this.appendColumn == this.stores.size())
+        {
+            // aggregates only cover complete rows
+            for (int i = 0; i < this.stores.size(); i++)
+            {
+                addToAggregate(i, this.size);
+            }
+
+            this.appendColumn = 0;
+            this.size++;
+            this.modificationCount++;
+        }
+
+        return this;
+    }
+}
\ No newline at end of file
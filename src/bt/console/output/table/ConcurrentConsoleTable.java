@@ -0,0 +1,237 @@
+package bt.console.output.table;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ConsoleTable} that accepts rows from many threads at the same time.
+ *
+ * <p>
+ * Rows are appended to one of several stripes that are selected by the calling thread, so producers only contend when
+ * they happen to share a stripe. Every render takes a snapshot by draining all stripes, rows that are added while the
+ * table is rendered show up in the next render. Columns and settings have to be configured before producers start
+ * and renders must not run concurrently with each other.
+ * </p>
+ *
+ * <p>
+ * If the table is ordered, every row carries a sequence number, either taken from a shared counter or passed by the
+ * producer through {@link #addOrderedRow(long, Object...)}, for example the index of the task that produced it. Rows
+ * are then rendered in ascending sequence order regardless of which thread added them when.
+ * </p>
+ */
+public class ConcurrentConsoleTable extends ConsoleTable
+{
+    protected static final Comparator<Entry> SEQUENCE_ORDER = Comparator.comparingLong(e -> e.sequence);
+
+    protected final Stripe[] stripes;
+    protected final boolean ordered;
+    protected final AtomicLong sequence;
+    protected List<Entry> published;
+    protected List<Entry> drained;
+
+    /**
+     * Creates a new table with one stripe per available processor.
+     *
+     * @param ordered       true to render rows in the order of their sequence numbers.
+     * @param columnHeaders
+     */
+    public ConcurrentConsoleTable(boolean ordered, String... columnHeaders)
+    {
+        this(ordered, Runtime.getRuntime().availableProcessors(), columnHeaders);
+    }
+
+    /**
+     * @param ordered       true to render rows in the order of their sequence numbers.
+     * @param stripes       The number of stripes, rounded up to the next power of two.
+     * @param columnHeaders
+     */
+    public ConcurrentConsoleTable(boolean ordered, int stripes, String... columnHeaders)
+    {
+        super(columnHeaders);
+        this.ordered = ordered;
+        this.sequence = new AtomicLong();
+        this.published = new ArrayList<>();
+        this.drained = new ArrayList<>();
+
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[count];
+
+        for (int i = 0; i < count; i++)
+        {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Adds a row from any thread. If the table is ordered the row gets the next number of the shared sequence.
+     */
+    @Override
+    public void addRow(Object... values)
+    {
+        addOrderedRow(this.ordered ? this.sequence.getAndIncrement() : 0, values);
+    }
+
+    /**
+     * Adds a row with the given sequence number from any thread.
+     *
+     * @param sequence The position of the row in an ordered table. Ignored if the table is not ordered.
+     * @param values
+     */
+    public void addOrderedRow(long sequence, Object... values)
+    {
+        // the row is created outside of the lock
+        var entry = new Entry(sequence, new ConsoleTableRow(values));
+        var stripe = stripe();
+
+        synchronized (stripe)
+        {
+            stripe.entries.add(entry);
+        }
+    }
+
+    /**
+     * Rows of a concurrent table can not be replaced, since their index is not stable until they were rendered.
+     */
+    @Override
+    public void replaceRow(int index, Object... values)
+    {
+        throw new UnsupportedOperationException("Rows of a concurrent table can not be replaced.");
+    }
+
+    public boolean isOrdered()
+    {
+        return this.ordered;
+    }
+
+    /**
+     * Moves all rows that were added since the last render into the rendered rows.
+     */
+    @Override
+    protected void prepareRows()
+    {
+        this.drained.clear();
+
+        for (var stripe : this.stripes)
+        {
+            List<Entry> entries;
+
+            synchronized (stripe)
+            {
+                if (stripe.entries.isEmpty())
+                {
+                    continue;
+                }
+
+                entries = stripe.entries;
+                stripe.entries = stripe.spare;
+                stripe.spare = null;
+            }
+
+            this.drained.addAll(entries);
+            entries.clear();
+
+            synchronized (stripe)
+            {
+                stripe.spare = entries;
+            }
+        }
+
+        if (this.drained.isEmpty())
+        {
+            return;
+        }
+
+        // aggregates are only touched by the rendering thread
+        for (int i = 0; i < this.columns.size(); i++)
+        {
+            var aggregator = this.columns.get(i).getAggregator();
+
+            if (aggregator != null)
+            {
+                for (var entry : this.drained)
+                {
+                    aggregator.add(entry.row.getCellValue(i));
+                }
+            }
+        }
+
+        if (this.ordered)
+        {
+            this.drained.sort(SEQUENCE_ORDER);
+            this.published = merge(this.published, this.drained);
+        }
+        else
+        {
+            this.published.addAll(this.drained);
+        }
+
+        this.rows.clear();
+
+        for (var entry : this.published)
+        {
+            this.rows.add(entry.row);
+        }
+
+        this.modificationCount++;
+    }
+
+    /**
+     * Merges two lists that are sorted by sequence number.
+     */
+    protected List<Entry> merge(List<Entry> first, List<Entry> second)
+    {
+        if (first.isEmpty() || first.get(first.size() - 1).sequence <= second.get(0).sequence)
+        {
+            first.addAll(second);
+            return first;
+        }
+
+        List<Entry> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+
+        while (i < first.size() && j < second.size())
+        {
+            if (first.get(i).sequence <= second.get(j).sequence)
+            {
+                merged.add(first.get(i++));
+            }
+            else
+            {
+                merged.add(second.get(j++));
+            }
+        }
+
+        merged.addAll(first.subList(i, first.size()));
+        merged.addAll(second.subList(j, second.size()));
+
+        return merged;
+    }
+
+    protected Stripe stripe()
+    {
+        long id = Thread.currentThread().getId();
+        int hash = (int)(id ^ (id >>> 32)) * 0x9E3779B9;
+        return this.stripes[(hash ^ (hash >>> 16)) & (this.stripes.length - 1)];
+    }
+
+    protected static class Stripe
+    {
+        protected List<Entry> entries = new ArrayList<>();
+        protected List<Entry> spare = new ArrayList<>();
+    }
+
+    protected static class Entry
+    {
+        protected final long sequence;
+        protected final ConsoleTableRow row;
+
+        protected Entry(long sequence, ConsoleTableRow row)
+        {
+            this.sequence = sequence;
+            this.row = row;
+        }
+    }
+}
\ No newline at end of file
@@ -1,12 +1,21 @@
 package bt.console.output.table;
 
+import bt.console.output.DisplayWidth;
+import bt.console.output.Utf8ByteSink;
 import bt.console.output.styled.Style;
+import bt.console.output.styled.StyledText;
 import bt.console.output.table.render.Alignment;
 import bt.console.output.table.render.ConsoleTableValueRenderer;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 public class ConsoleTable
 {
@@ -18,7 +27,19 @@ public class ConsoleTable
     protected String[] defaultValueStyles = new String[]{ Style.DEFAULT_TEXT_STYLE };
     protected String[] defaultHeaderStyles = new String[]{ Style.DEFAULT_TEXT_STYLE, "bold" };
     protected String[] separatorStyles = new String[]{ Style.DEFAULT_TEXT_STYLE };
+    protected String[] footerStyles = new String[]{ Style.DEFAULT_TEXT_STYLE, "bold" };
     protected boolean multiline;
+    protected ConsoleTableWidthStrategy widthStrategy = ConsoleTableWidthStrategy.full();
+    protected ForkJoinPool formatPool;
+    protected boolean cacheFormattedValues;
+    protected boolean compactStorage;
+    protected int maxWidth;
+    protected int[] fittedWidths;
+    protected int[] fittedPreferredWidths;
+    protected int[] fittedVersions;
+    protected int fittedMaxWidth;
+    protected long modificationCount;
+    protected Utf8ByteSink byteSink;
 
     public static ConsoleTable of(Map map)
     {
@@ -82,6 +103,52 @@ public class ConsoleTable
         return table;
     }
 
+    /**
+     * Creates a table with one column per property of the given type and one row per element.
+     *
+     * <p>
+     * Bean getters are used as columns if the type has any, otherwise accessor methods named like its fields, as
+     * generated for records. The accessors of a type are bound once and reused for all elements and later calls.
+     * Numeric columns are aligned to the right.
+     * </p>
+     *
+     * @param iterable The elements to show.
+     * @param type     The type whose properties are shown.
+     * @return The new table.
+     */
+    public static <T> ConsoleTable ofBeans(Iterable<? extends T> iterable, Class<T> type)
+    {
+        var table = new ConsoleTable();
+        table.setMultiline(true);
+
+        var properties = ConsoleTableProperty.of(type);
+
+        for (var property : properties)
+        {
+            var col = table.addColumn(property.getName());
+            Class<?> propertyType = property.getType();
+
+            if (Number.class.isAssignableFrom(propertyType) || (propertyType.isPrimitive() && propertyType != boolean.class && propertyType != char.class))
+            {
+                col.setValueAlignment(Alignment.RIGHT);
+            }
+        }
+
+        Object[] values = new Object[properties.length];
+
+        for (T element : iterable)
+        {
+            for (int i = 0; i < properties.length; i++)
+            {
+                values[i] = element == null ? null : properties[i].get(element);
+            }
+
+            table.addRow(values);
+        }
+
+        return table;
+    }
+
     public ConsoleTable(String... columnHeaders)
     {
         this.columns = new ArrayList<>();
@@ -100,6 +167,7 @@ public class ConsoleTable
         column.setHeaderStyles(this.defaultHeaderStyles);
         column.setDefaultValueStyles(this.defaultValueStyles);
         column.setHeaderAlignment(Alignment.CENTER);
+        column.setCompactStorage(this.compactStorage);
         this.columns.add(column);
 
         return column;
@@ -113,12 +181,41 @@ public class ConsoleTable
     public void addRow(Object... values)
     {
         this.rows.add(new ConsoleTableRow(values));
+        addToAggregates(values);
+        this.modificationCount++;
     }
 
     public void replaceRow(int index, Object... values)
     {
-        this.rows.remove(index);
-        this.rows.add(index, new ConsoleTableRow(values));
+        removeFromAggregates(index);
+        this.rows.get(index).setValues(values);
+        addToAggregates(values);
+        this.modificationCount++;
+    }
+
+    /**
+     * Creates a view that renders the rows of this table through its columns. The view can be sorted and filtered
+     * without copying any rows.
+     *
+     * @return The new view.
+     */
+    public ConsoleTableView view()
+    {
+        requireCellValues();
+        return new ConsoleTableView(this);
+    }
+
+    /**
+     * Creates a view that shows one row per distinct value of the given column together with the number of rows that
+     * have this value.
+     *
+     * @param column The index of the column to group by.
+     * @return The new view.
+     */
+    public ConsoleTableGroupView groupBy(int column)
+    {
+        requireCellValues();
+        return new ConsoleTableGroupView(this, column);
     }
 
     public void setDefaultValueStyles(String... defaultValueStyles)
@@ -136,6 +233,11 @@ public class ConsoleTable
         this.separatorStyles = separatorStyles;
     }
 
+    public void setFooterStyles(String... footerStyles)
+    {
+        this.footerStyles = footerStyles;
+    }
+
     public boolean isMultiline()
     {
         return multiline;
@@ -176,116 +278,953 @@ public class ConsoleTable
         this.titleSeparator = titleSeparator;
     }
 
+    /**
+     * Renders this table and writes it to the given writer. The writer is flushed after the last row was written.
+     *
+     * @param writer The writer to write the table to.
+     * @throws IOException If the writer fails.
+     */
+    public void writeTo(Writer writer) throws IOException
+    {
+        render(writer);
+        writer.flush();
+    }
+
+    /**
+     * Renders this table as UTF-8 and writes it to the given channel, for example a
+     * {@link java.nio.channels.FileChannel}. The text is encoded directly into a direct buffer, see
+     * {@link Utf8ByteSink}. The sink and its buffer are created on the first call and reused by later calls on this
+     * table. The channel is not closed.
+     *
+     * @param channel The channel to write the table to.
+     * @throws IOException If the channel fails.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException
+    {
+        if (this.byteSink == null)
+        {
+            this.byteSink = new Utf8ByteSink(channel);
+        }
+        else
+        {
+            this.byteSink.reset(channel);
+        }
+
+        writeTo(this.byteSink);
+    }
+
+    /**
+     * Renders this table into the given sink and flushes it, so callers can share one sink and its direct buffer
+     * between several tables. The channel of the sink is not closed.
+     *
+     * @param sink The sink to write the table to.
+     * @throws IOException If the channel of the sink fails.
+     */
+    public void writeTo(Utf8ByteSink sink) throws IOException
+    {
+        render(sink);
+        sink.close();
+    }
+
+    /**
+     * Renders this table into the given appendable.
+     *
+     * <p>
+     * Column widths are determined according to the {@link #setWidthStrategy(ConsoleTableWidthStrategy) width
+     * strategy}. Every line is built in a reused buffer and handed to the appendable as soon as it is complete. The
+     * rendered table is never held in memory as a whole.
+     * </p>
+     *
+     * @param out The appendable to write the table to.
+     * @throws IOException If the appendable fails.
+     */
+    public void render(Appendable out) throws IOException
+    {
+        prepareRows();
+        updateAggregates();
+        reclaimTextArenas();
+
+        int rowCount = getRowCount();
+        boolean fit = this.maxWidth > 0 && canFitColumns();
+
+        if (fit)
+        {
+            applyFittedWidths();
+        }
+
+        int measuredRows = measureColumns(rowCount);
+        boolean footer = hasFooter();
+
+        if (fit)
+        {
+            measuredRows = fitColumns(measuredRows);
+        }
+
+        try
+        {
+            String columnSeparator = Style.apply(this.columnSeparator, this.separatorStyles);
+            StringBuilder line = new StringBuilder();
+            int[] widths = new int[this.columns.size()];
+            boolean adaptive = this.widthStrategy.getType() == ConsoleTableWidthStrategy.Type.ADAPTIVE;
+
+            updateWidths(widths);
+            String rowSeparator = appendHeader(out, line, columnSeparator);
+
+            for (int i = 0; i < rowCount; i++)
+            {
+                var row = i < measuredRows ? getFormattedRow(i) : formatRow(i);
+
+                if (adaptive && updateWidths(widths))
+                {
+                    rowSeparator = appendHeader(out, line, columnSeparator);
+                }
+
+                appendRow(out, line, row, columnSeparator);
+
+                if (footer && i == rowCount - 1)
+                {
+                    out.append(createSeparator(this.titleSeparator)).append(System.lineSeparator());
+                }
+                else
+                {
+                    out.append(rowSeparator).append(System.lineSeparator());
+                }
+            }
+
+            if (footer)
+            {
+                appendFooter(out, line, columnSeparator);
+                out.append(rowSeparator).append(System.lineSeparator());
+            }
+        }
+        finally
+        {
+            for (var col : this.columns)
+            {
+                col.setCalculatedWidthFixed(false);
+            }
+        }
+    }
+
+    public int getMaxWidth()
+    {
+        return this.maxWidth;
+    }
+
+    /**
+     * Limits the width of the whole table, for example to the width of the terminal.
+     *
+     * <p>
+     * If the columns need more space, the space that is left after every column got its
+     * {@link ConsoleTableColumn#setMinWidth(int) minimum width} is split by their
+     * {@link ConsoleTableColumn#setWeight(double) weights} and by how much they are missing to their preferred width.
+     * Values that do not fit are truncated or {@link ConsoleTableColumn#setWrap(boolean) wrapped}. The fitted widths
+     * are kept and reused until the maximum width, the minimum widths or weights of the columns or the widths the
+     * values need change, so re-rendering a table with {@link #setCacheFormattedValues(boolean) cached values} does
+     * not format any value twice.
+     * </p>
+     *
+     * @param maxWidth The maximum number of characters per line or 0 for no limit.
+     * @see #getTerminalWidth(int)
+     */
+    public void setMaxWidth(int maxWidth)
+    {
+        this.maxWidth = Math.max(maxWidth, 0);
+    }
+
+    /**
+     * Reads the width of the terminal from the COLUMNS environment variable that most shells export.
+     *
+     * @param defaultWidth The width to use if the variable is not set or invalid.
+     * @return The terminal width.
+     */
+    public static int getTerminalWidth(int defaultWidth)
+    {
+        String columns = System.getenv("COLUMNS");
+
+        if (columns != null)
+        {
+            try
+            {
+                int width = Integer.parseInt(columns.trim());
+
+                if (width > 0)
+                {
+                    return width;
+                }
+            }
+            catch (NumberFormatException e)
+            {
+                // use the default width
+            }
+        }
+
+        return defaultWidth;
+    }
+
+    public boolean isCacheFormattedValues()
+    {
+        return this.cacheFormattedValues;
+    }
+
+    /**
+     * Enables keeping the formatted text of every value between renders.
+     *
+     * <p>
+     * A cached value is only formatted again once it is replaced by an unequal value (see {@link #replaceRow(int,
+     * Object...)}), once the value renderer or width of its column changes or once the table switches between single
+     * and multiline mode. Re-rendering a table of which only a few values changed therefore only runs the value
+     * renderers of those values. Mutable values that change their text without being replaced are not detected.
+     * </p>
+     *
+     * @param cacheFormattedValues
+     */
+    public void setCacheFormattedValues(boolean cacheFormattedValues)
+    {
+        this.cacheFormattedValues = cacheFormattedValues;
+    }
+
+    public boolean isCompactStorage()
+    {
+        return this.compactStorage;
+    }
+
+    /**
+     * Enables {@link ConsoleTableColumn#setCompactStorage(boolean) compact storage} of the formatted lines for all
+     * current columns and all columns that are added later.
+     *
+     * @param compactStorage
+     */
+    public void setCompactStorage(boolean compactStorage)
+    {
+        this.compactStorage = compactStorage;
+
+        for (var col : this.columns)
+        {
+            col.setCompactStorage(compactStorage);
+        }
+    }
+
+    /**
+     * Enables or disables formatting rows on the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param parallel
+     * @see #setFormatPool(ForkJoinPool)
+     */
+    public void setParallelFormat(boolean parallel)
+    {
+        setFormatPool(parallel ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * Sets the pool that formats the rows which are measured before the header is written. The rows are split into
+     * chunks that are formatted concurrently and the widths of the chunks are merged afterwards, so the output is the
+     * same as with sequential formatting. All value and style renderers of this table have to be thread safe.
+     *
+     * @param formatPool The pool to use or null to format sequentially.
+     */
+    public void setFormatPool(ForkJoinPool formatPool)
+    {
+        this.formatPool = formatPool;
+    }
+
+    public ForkJoinPool getFormatPool()
+    {
+        return this.formatPool;
+    }
+
+    public ConsoleTableWidthStrategy getWidthStrategy()
+    {
+        return this.widthStrategy;
+    }
+
+    /**
+     * Sets the strategy that determines the column widths before output starts.
+     *
+     * @param widthStrategy The strategy or null for {@link ConsoleTableWidthStrategy#full()}.
+     */
+    public void setWidthStrategy(ConsoleTableWidthStrategy widthStrategy)
+    {
+        this.widthStrategy = widthStrategy == null ? ConsoleTableWidthStrategy.full() : widthStrategy;
+    }
+
     @Override
     public String toString()
     {
-        for (var row : this.rows)
+        StringBuilder output = new StringBuilder();
+
+        try
+        {
+            render(output);
+        }
+        catch (IOException e)
         {
-            row.applyFormat(this.multiline, this.columns);
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
         }
 
-        String output = "";
-        String rowSeparator = "";
-        String headerSeparator = "";
+        return output.toString();
+    }
 
+    /**
+     * @return The number of rows that will be rendered.
+     */
+    protected int getRowCount()
+    {
+        return this.rows.size();
+    }
+
+    /**
+     * @return A counter that changes whenever rows are added, replaced or removed. Views compare it to find out whether
+     * they have to be recalculated.
+     */
+    protected long getModificationCount()
+    {
+        return this.modificationCount;
+    }
+
+    /**
+     * Returns the raw value of a cell, before it is rendered.
+     *
+     * @param row    The index of the row.
+     * @param column The index of the column.
+     * @return The value or null if the row has no value for that column.
+     */
+    protected Object getCellValue(int row, int column)
+    {
+        return this.rows.get(row).getCellValue(column);
+    }
+
+    /**
+     * @return true if {@link #getCellValue(int, int)} returns the raw values of all rows, which views and exporters
+     * need.
+     */
+    protected boolean hasCellValues()
+    {
+        return true;
+    }
+
+    /**
+     * @throws UnsupportedOperationException If this table does not keep the raw values of its rows.
+     */
+    protected void requireCellValues()
+    {
+        if (!hasCellValues())
+        {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " does not keep the raw values of its rows.");
+        }
+    }
+
+    /**
+     * Called once at the start of every render before the number of rows is queried.
+     */
+    protected void prepareRows()
+    {
+    }
+
+    /**
+     * Lets the text arenas of {@link ConsoleTableColumn#setCompactStorage(boolean) compact} columns drop their lines
+     * if most of them are no longer rendered.
+     */
+    protected void reclaimTextArenas()
+    {
         for (var col : this.columns)
         {
-            for (int i = 0; i < col.getCalculatedWidth() + 1; i++)
+            if (col.getTextArena() != null)
+            {
+                col.getTextArena().reclaim();
+            }
+        }
+    }
+
+    /**
+     * Formats the row at the given index, updating the calculated column widths.
+     *
+     * @param index The index of the row.
+     * @return The formatted row.
+     */
+    protected ConsoleTableRow formatRow(int index)
+    {
+        var row = this.rows.get(index);
+
+        if (!this.cacheFormattedValues)
+        {
+            row.invalidate();
+        }
+
+        row.applyFormat(this.multiline, this.columns);
+        return row;
+    }
+
+    /**
+     * Returns the row at the given index that was already formatted by {@link #formatRow(int)} during the current
+     * render.
+     *
+     * @param index The index of the row.
+     * @return The formatted row.
+     */
+    protected ConsoleTableRow getFormattedRow(int index)
+    {
+        return this.rows.get(index);
+    }
+
+    /**
+     * Formats the rows that the width strategy needs to know before the header is written.
+     *
+     * @param rowCount The number of rows of this render.
+     * @return The number of rows that were formatted, starting at index 0.
+     */
+    protected int measureColumns(int rowCount)
+    {
+        var type = this.widthStrategy.getType();
+
+        if (type != ConsoleTableWidthStrategy.Type.FULL)
+        {
+            for (var col : this.columns)
+            {
+                col.reset();
+
+                if (type == ConsoleTableWidthStrategy.Type.FIXED && col.getWidth() > 0)
+                {
+                    col.setMaxCalculatedWidth(col.getWidth());
+                }
+            }
+        }
+
+        int measuredRows = Math.min(rowCount, this.widthStrategy.getSampleSize());
+
+        if (this.formatPool != null && canFormatInParallel())
+        {
+            int[] widths = this.formatPool.invoke(new ConsoleTableFormatTask(this.rows, this.columns, this.multiline, !this.cacheFormattedValues, 0, measuredRows));
+
+            for (int i = 0; i < widths.length; i++)
+            {
+                this.columns.get(i).setMaxCalculatedWidth(widths[i]);
+            }
+        }
+        else
+        {
+            for (int i = 0; i < measuredRows; i++)
+            {
+                formatRow(i);
+            }
+        }
+
+        measureFooter();
+
+        if (type == ConsoleTableWidthStrategy.Type.FIXED || type == ConsoleTableWidthStrategy.Type.SAMPLE)
+        {
+            for (var col : this.columns)
             {
-                rowSeparator += this.rowSeparator;
-                headerSeparator += this.titleSeparator;
+                col.setCalculatedWidthFixed(true);
             }
         }
 
-        rowSeparator += this.rowSeparator;
-        headerSeparator += this.titleSeparator;
-        rowSeparator = Style.apply(rowSeparator, this.separatorStyles);
-        headerSeparator = Style.apply(headerSeparator, this.separatorStyles);
+        return measuredRows;
+    }
+
+    /**
+     * Indicates whether rows can be formatted again with different column widths after they were measured, which
+     * fitting the table into the {@link #setMaxWidth(int) maximum width} needs.
+     *
+     * @return true if the maximum width is supported.
+     */
+    protected boolean canFitColumns()
+    {
+        return true;
+    }
+
+    /**
+     * Fixes the column widths to the widths of the last fitted layout before the rows are measured, so values that are
+     * still formatted for that layout do not have to be formatted again.
+     */
+    protected void applyFittedWidths()
+    {
+        if (this.fittedWidths == null || this.fittedWidths.length != this.columns.size())
+        {
+            return;
+        }
+
+        for (int i = 0; i < this.fittedWidths.length; i++)
+        {
+            var col = this.columns.get(i);
+            col.setCalculatedWidth(this.fittedWidths[i]);
+            col.setCalculatedWidthFixed(true);
+        }
+    }
+
+    /**
+     * Fits the measured columns into the maximum width and fixes their widths.
+     *
+     * @param measuredRows The number of rows that were measured.
+     * @return The number of measured rows that are still formatted for the fitted widths.
+     */
+    protected int fitColumns(int measuredRows)
+    {
+        int count = this.columns.size();
+        int[] preferred = new int[count];
+        int[] versions = new int[count];
+
+        for (int i = 0; i < count; i++)
+        {
+            preferred[i] = this.columns.get(i).getPreferredWidth();
+            versions[i] = this.columns.get(i).getFitVersion();
+        }
+
+        boolean stale = this.fittedMaxWidth != this.maxWidth || !Arrays.equals(versions, this.fittedVersions);
+
+        if (stale || !Arrays.equals(preferred, this.fittedPreferredWidths))
+        {
+            this.fittedWidths = calculateFittedWidths(preferred);
+            this.fittedPreferredWidths = preferred;
+            this.fittedVersions = versions;
+            this.fittedMaxWidth = this.maxWidth;
+        }
+
+        boolean changed = false;
+
+        for (int i = 0; i < count; i++)
+        {
+            var col = this.columns.get(i);
+            changed |= !col.isCalculatedWidthFixed() || col.getCalculatedWidth() != this.fittedWidths[i];
+            col.setCalculatedWidth(this.fittedWidths[i]);
+            col.setCalculatedWidthFixed(true);
+        }
+
+        // rows that were formatted with other widths are formatted again while they are written
+        return changed ? 0 : measuredRows;
+    }
+
+    /**
+     * Splits the maximum width across the columns in linear time.
+     *
+     * @param preferred The widths the values of each column need.
+     * @return The fitted widths.
+     */
+    protected int[] calculateFittedWidths(int[] preferred)
+    {
+        int count = preferred.length;
+        int[] widths = new int[count];
+        // every column is followed by a separator, one more precedes the first one
+        long available = this.maxWidth - count - 1;
+        long preferredSum = 0;
+        long minSum = 0;
+
+        for (int i = 0; i < count; i++)
+        {
+            var col = this.columns.get(i);
+            int min = col.getMinWidth() > 0 ? col.getMinWidth() : DisplayWidth.of(col.getHeader()) + 2;
+            widths[i] = Math.min(preferred[i], Math.max(min, 3));
+            preferredSum += preferred[i];
+            minSum += widths[i];
+        }
+
+        if (preferredSum <= available)
+        {
+            return preferred.clone();
+        }
+
+        if (minSum >= available)
+        {
+            return widths;
+        }
+
+        long remaining = available - minSum;
+        double demand = 0;
+
+        for (int i = 0; i < count; i++)
+        {
+            demand += this.columns.get(i).getWeight() * (preferred[i] - widths[i]);
+        }
+
+        long left = remaining;
+
+        for (int i = 0; i < count; i++)
+        {
+            int missing = preferred[i] - widths[i];
+            long share = (long)(remaining * (this.columns.get(i).getWeight() * missing / demand));
+            share = Math.min(share, missing);
+            widths[i] += (int)share;
+            left -= share;
+        }
+
+        // hand out what was lost to rounding and caps
+        for (int i = 0; i < count && left > 0; i++)
+        {
+            int add = (int)Math.min(left, preferred[i] - widths[i]);
+            widths[i] += add;
+            left -= add;
+        }
+
+        return widths;
+    }
 
-        output += rowSeparator + System.lineSeparator();
-        output += Style.apply(this.columnSeparator, this.separatorStyles);
+    /**
+     * Indicates whether the rows measured by {@link #measureColumns(int)} can be formatted directly from
+     * {@link #rows} by a {@link ConsoleTableFormatTask}.
+     *
+     * @return true if {@link #formatRow(int)} formats the elements of {@link #rows}.
+     */
+    protected boolean canFormatInParallel()
+    {
+        return true;
+    }
 
+    /**
+     * @return true if any column has an {@link ConsoleTableColumn#setAggregate(ConsoleTableAggregate) aggregate}.
+     */
+    protected boolean hasFooter()
+    {
         for (var col : this.columns)
         {
-            output += formatColumn(col.getHeader(), col.getHeaderAlignment(), col.getCalculatedWidth(), col.getHeaderStyles());
+            if (col.getAggregator() != null)
+            {
+                return true;
+            }
         }
 
-        output += System.lineSeparator() + headerSeparator + System.lineSeparator();
+        return false;
+    }
 
-        String textValue = null;
+    /**
+     * Recalculates all aggregates that could not be kept up to date incrementally from the raw cell values. Called
+     * once at the start of every render after {@link #prepareRows()}.
+     */
+    protected void updateAggregates()
+    {
+        int rowCount = -1;
 
-        for (var row : this.rows)
+        for (int i = 0; i < this.columns.size(); i++)
         {
-            for (int i = 0; i < row.getNumberOfLines(); i++)
+            var aggregator = this.columns.get(i).getAggregator();
+
+            if (aggregator != null && !aggregator.isValid())
             {
-                output += Style.apply(this.columnSeparator, this.separatorStyles);
-                for (int j = 0; j < this.columns.size(); j++)
+                if (rowCount < 0)
                 {
-                    var col = this.columns.get(j);
-                    textValue = row.getTextValue(j, i);
-                    output += formatColumn(textValue == null ? "" : textValue,
-                                           col.getValueAlignment(),
-                                           col.getCalculatedWidth(),
-                                           col.getStyleRenderer().render(row.getValue(j)));
+                    rowCount = getRowCount();
                 }
 
-                output += System.lineSeparator();
+                aggregator.reset();
+
+                for (int j = 0; j < rowCount; j++)
+                {
+                    aggregator.add(getCellValue(j, i));
+                }
             }
+        }
+    }
 
-            output += rowSeparator + System.lineSeparator();
+    /**
+     * Marks all aggregates to be recalculated on the next render.
+     */
+    protected void invalidateAggregates()
+    {
+        for (var col : this.columns)
+        {
+            if (col.getAggregator() != null)
+            {
+                col.getAggregator().invalidate();
+            }
         }
+    }
+
+    protected void addToAggregates(Object[] values)
+    {
+        for (int i = 0; i < this.columns.size(); i++)
+        {
+            var aggregator = this.columns.get(i).getAggregator();
 
-        return output;
+            if (aggregator != null)
+            {
+                aggregator.add(i < values.length ? values[i] : null);
+            }
+        }
     }
 
-    protected String formatColumn(String value, Alignment alignment, int width, String[] styles)
+    protected void removeFromAggregates(int row)
     {
-        String column = "";
-        String destyledValue = Style.destyle(value);
+        for (int i = 0; i < this.columns.size(); i++)
+        {
+            var aggregator = this.columns.get(i).getAggregator();
 
-        int spaces = (int)((width - destyledValue.length()) / 2);
+            if (aggregator != null)
+            {
+                aggregator.remove(getCellValue(row, i));
+            }
+        }
+    }
 
-        if (alignment == Alignment.CENTER)
+    /**
+     * Widens the columns to fit their footer cells.
+     */
+    protected void measureFooter()
+    {
+        for (var col : this.columns)
         {
-            for (int j = 0; j < spaces; j ++ )
+            if (col.getAggregator() != null)
             {
-                column += " ";
+                int width = StyledText.visibleLength(col.getAggregator().getResultText()) + 2;
+                col.setMaxCalculatedWidth(col.getWidth() > 0 ? Math.min(width, col.getWidth()) : width);
             }
+        }
+    }
+
+    /**
+     * Returns the text of the footer cell of the given column, cut to the display width of the column.
+     *
+     * @param col
+     * @return The text or an empty string if the column has no aggregate.
+     */
+    protected String getFooterText(ConsoleTableColumn col)
+    {
+        if (col.getAggregator() == null)
+        {
+            return "";
+        }
+
+        return StyledText.truncateVisible(col.getAggregator().getResultText(), Math.max(col.getCalculatedWidth() - 2, 0));
+    }
+
+    /**
+     * Appends the line that shows the aggregates of the columns.
+     *
+     * @param out             The appendable to write to.
+     * @param line            The buffer that is reused for every line.
+     * @param columnSeparator The styled column separator.
+     * @throws IOException If the appendable fails.
+     */
+    protected void appendFooter(Appendable out, StringBuilder line, String columnSeparator) throws IOException
+    {
+        line.setLength(0);
+        line.append(columnSeparator);
+
+        for (var col : this.columns)
+        {
+            appendColumn(line, getFooterText(col), col.getValueAlignment(), col.getCalculatedWidth(), this.footerStyles, columnSeparator);
+        }
+
+        out.append(line).append(System.lineSeparator());
+    }
+
+    /**
+     * Copies the current calculated column widths into the given array.
+     *
+     * @param widths
+     * @return true if any width differed from the value that was in the array before.
+     */
+    protected boolean updateWidths(int[] widths)
+    {
+        boolean changed = false;
+
+        for (int i = 0; i < widths.length; i++)
+        {
+            int width = this.columns.get(i).getCalculatedWidth();
+            changed |= widths[i] != width;
+            widths[i] = width;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Appends the header with the current column widths.
+     *
+     * @param out             The appendable to write to.
+     * @param line            The buffer that is reused for every line.
+     * @param columnSeparator The styled column separator.
+     * @return The styled row separator that matches the current column widths.
+     * @throws IOException If the appendable fails.
+     */
+    protected String appendHeader(Appendable out, StringBuilder line, String columnSeparator) throws IOException
+    {
+        String rowSeparator = createSeparator(this.rowSeparator);
 
-            column += Style.apply(value, styles);
-            spaces = Math.max(width - destyledValue.length() - spaces, 1);
+        out.append(rowSeparator).append(System.lineSeparator());
+        line.setLength(0);
+        line.append(columnSeparator);
 
-            for (int j = 0; j < spaces; j ++ )
+        for (var col : this.columns)
+        {
+            String header = col.getHeader();
+
+            // columns can be narrower than their header once they are fitted into the maximum width
+            if (this.maxWidth > 0 && StyledText.visibleLength(header) + 2 > col.getCalculatedWidth())
             {
-                column += " ";
+                header = ConsoleTableLineBreaker.truncate(header, col.getCalculatedWidth() - 2);
             }
+
+            appendColumn(line, header, col.getHeaderAlignment(), col.getCalculatedWidth(), col.getHeaderStyles(), columnSeparator);
         }
-        else if (alignment == Alignment.RIGHT)
+
+        out.append(line).append(System.lineSeparator());
+        out.append(createSeparator(this.titleSeparator)).append(System.lineSeparator());
+
+        return rowSeparator;
+    }
+
+    /**
+     * Appends all lines of the given already formatted row to the given appendable.
+     *
+     * @param out             The appendable to write to.
+     * @param line            The buffer that is reused for every line.
+     * @param row             The formatted row.
+     * @param columnSeparator The styled column separator.
+     * @throws IOException If the appendable fails.
+     */
+    protected void appendRow(Appendable out, StringBuilder line, ConsoleTableRow row, String columnSeparator) throws IOException
+    {
+        String textValue = null;
+
+        for (int i = 0; i < row.getNumberOfLines(); i++)
         {
-            spaces = width - destyledValue.length() - 1;
+            line.setLength(0);
+            line.append(columnSeparator);
 
-            for (int j = 0; j < spaces; j ++ )
+            for (int j = 0; j < this.columns.size(); j++)
             {
-                column += " ";
+                var col = this.columns.get(j);
+                var value = row.getColumnValue(j);
+                var arena = value.getTextArena();
+
+                if (arena != null)
+                {
+                    appendColumn(line,
+                                 arena,
+                                 i < value.getLineCount() ? value.getFirstLine() + i : -1,
+                                 col.getValueAlignment(),
+                                 col.getCalculatedWidth(),
+                                 row.getStyles(j, col),
+                                 columnSeparator);
+                    continue;
+                }
+
+                textValue = row.getTextValue(j, i);
+                appendColumn(line,
+                             textValue == null ? "" : textValue,
+                             col.getValueAlignment(),
+                             col.getCalculatedWidth(),
+                             row.getStyles(j, col),
+                             columnSeparator);
             }
 
-            column += Style.apply(value, styles);
-            column += " ";
+            out.append(line).append(System.lineSeparator());
+        }
+    }
+
+    /**
+     * Creates a styled separator line that spans all columns.
+     *
+     * @param separator The character to repeat.
+     * @return The styled separator line.
+     */
+    protected String createSeparator(char separator)
+    {
+        int length = 1;
+
+        for (var col : this.columns)
+        {
+            length += col.getCalculatedWidth() + 1;
+        }
+
+        return Style.apply(repeat(separator, length), this.separatorStyles);
+    }
+
+    protected String formatColumn(String value, Alignment alignment, int width, String[] styles)
+    {
+        StringBuilder column = new StringBuilder();
+        appendColumn(column, value, alignment, width, styles, Style.apply(this.columnSeparator, this.separatorStyles));
+        return column.toString();
+    }
+
+    protected void appendColumn(StringBuilder column, String value, Alignment alignment, int width, String[] styles, String columnSeparator)
+    {
+        appendColumn(column, value, null, -1, StyledText.visibleLength(value), alignment, width, styles, columnSeparator);
+    }
+
+    /**
+     * Appends a line that is stored in a text arena without creating a string for it.
+     *
+     * @param column          The builder of the current line.
+     * @param arena           The arena that holds the line.
+     * @param index           The index of the line in the arena or -1 for an empty cell.
+     * @param alignment       The alignment of the value.
+     * @param width           The width of the column.
+     * @param styles          The styles of the value.
+     * @param columnSeparator The styled column separator.
+     */
+    protected void appendColumn(StringBuilder column, ConsoleTableTextArena arena, int index, Alignment alignment, int width, String[] styles, String columnSeparator)
+    {
+        if (index < 0)
+        {
+            appendColumn(column, "", alignment, width, styles, columnSeparator);
         }
         else
         {
-            column += " ";
-            column += Style.apply(value, styles);
-            spaces = Math.max(width - destyledValue.length() - 1, 1);
+            appendColumn(column, null, arena, index, arena.getWidth(index), alignment, width, styles, columnSeparator);
+        }
+    }
 
-            for (int j = 0; j < spaces; j ++ )
-            {
-                column += " ";
-            }
+    /**
+     * Appends either the given value or the given line of the arena, padded from its known visible length.
+     */
+    protected void appendColumn(StringBuilder column, String value, ConsoleTableTextArena arena, int index, int valueLength,
+                                Alignment alignment, int width, String[] styles, String columnSeparator)
+    {
+        int spaces = (int)((width - valueLength) / 2);
+
+        if (alignment == Alignment.CENTER)
+        {
+            appendSpaces(column, spaces);
+            appendValue(column, value, arena, index, styles);
+            appendSpaces(column, Math.max(width - valueLength - spaces, 1));
+        }
+        else if (alignment == Alignment.RIGHT)
+        {
+            appendSpaces(column, width - valueLength - 1);
+            appendValue(column, value, arena, index, styles);
+            column.append(' ');
+        }
+        else
+        {
+            column.append(' ');
+            appendValue(column, value, arena, index, styles);
+            appendSpaces(column, Math.max(width - valueLength - 1, 1));
         }
 
-        column += Style.apply(this.columnSeparator, this.separatorStyles);
+        column.append(columnSeparator);
+    }
 
-        return column;
+    protected static void appendValue(StringBuilder column, String value, ConsoleTableTextArena arena, int index, String[] styles)
+    {
+        if (arena == null)
+        {
+            column.append(Style.apply(value, styles));
+        }
+        else if (Style.isEnabled())
+        {
+            Style.appendStartTag(column, styles);
+            arena.appendLine(index, column);
+            column.append(Style.END_TAG);
+        }
+        else
+        {
+            arena.appendLine(index, column);
+        }
+    }
+
+    protected static void appendSpaces(StringBuilder builder, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            builder.append(' ');
+        }
+    }
+
+    protected static String repeat(char c, int count)
+    {
+        char[] chars = new char[Math.max(count, 0)];
+        Arrays.fill(chars, c);
+        return new String(chars);
     }
 }
\ No newline at end of file
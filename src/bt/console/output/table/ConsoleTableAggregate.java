@@ -0,0 +1,10 @@
+package bt.console.output.table;
+
+public enum ConsoleTableAggregate
+{
+    COUNT,
+    SUM,
+    AVG,
+    MIN,
+    MAX
+}
\ No newline at end of file
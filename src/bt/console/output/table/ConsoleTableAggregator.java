@@ -0,0 +1,290 @@
+package bt.console.output.table;
+
+import java.math.BigInteger;
+import java.util.Locale;
+
+/**
+ * Keeps the running aggregate of a column in primitive fields.
+ *
+ * <p>
+ * Adding or removing a value is O(1). Sums of integral values are kept as a long and only switch to a
+ * {@link BigInteger} while they do not fit into one. MIN and MAX of integral values stay exact. Removing the
+ * current minimum or maximum can not be undone in O(1), it marks the aggregator as invalid instead so the owning table
+ * recalculates it from all rows before the next render. COUNT counts all non null values, the other aggregates only
+ * consider {@link Number numbers}.
+ * </p>
+ */
+public class ConsoleTableAggregator
+{
+    protected final ConsoleTableAggregate aggregate;
+    protected long count;
+    protected long numberCount;
+    protected long longSum;
+    protected BigInteger bigSum;
+    protected double doubleSum;
+    protected boolean integral;
+    protected double min;
+    protected double max;
+    protected long longMin;
+    protected long longMax;
+    protected boolean valid;
+
+    public ConsoleTableAggregator(ConsoleTableAggregate aggregate)
+    {
+        this.aggregate = aggregate;
+        reset();
+
+        // values that were added before the aggregator existed are not known yet
+        this.valid = false;
+    }
+
+    public ConsoleTableAggregate getAggregate()
+    {
+        return this.aggregate;
+    }
+
+    /**
+     * @return false if the aggregate has to be recalculated from all values.
+     */
+    public boolean isValid()
+    {
+        return this.valid;
+    }
+
+    public void invalidate()
+    {
+        this.valid = false;
+    }
+
+    /**
+     * Removes all values and marks the aggregator as valid.
+     */
+    public void reset()
+    {
+        this.count = 0;
+        this.numberCount = 0;
+        this.longSum = 0;
+        this.bigSum = null;
+        this.doubleSum = 0;
+        this.integral = true;
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+        this.longMin = Long.MAX_VALUE;
+        this.longMax = Long.MIN_VALUE;
+        this.valid = true;
+    }
+
+    public void add(long value)
+    {
+        this.count++;
+        this.numberCount++;
+
+        if (this.integral)
+        {
+            addToSum(value);
+        }
+        else
+        {
+            this.doubleSum += value;
+        }
+
+        this.min = Math.min(this.min, value);
+        this.max = Math.max(this.max, value);
+        this.longMin = Math.min(this.longMin, value);
+        this.longMax = Math.max(this.longMax, value);
+    }
+
+    public void add(double value)
+    {
+        switchToDouble();
+        this.count++;
+        this.numberCount++;
+        this.doubleSum += value;
+        this.min = Math.min(this.min, value);
+        this.max = Math.max(this.max, value);
+    }
+
+    public void add(Object value)
+    {
+        if (isIntegral(value))
+        {
+            add(((Number)value).longValue());
+        }
+        else if (value instanceof Number)
+        {
+            add(((Number)value).doubleValue());
+        }
+        else if (value != null && !"".equals(value))
+        {
+            this.count++;
+        }
+    }
+
+    public void remove(long value)
+    {
+        this.count--;
+        this.numberCount--;
+
+        if (this.integral)
+        {
+            subtractFromSum(value);
+        }
+        else
+        {
+            this.doubleSum -= value;
+        }
+
+        removeExtreme(value);
+    }
+
+    public void remove(double value)
+    {
+        switchToDouble();
+        this.count--;
+        this.numberCount--;
+        this.doubleSum -= value;
+        removeExtreme(value);
+    }
+
+    public void remove(Object value)
+    {
+        if (isIntegral(value))
+        {
+            remove(((Number)value).longValue());
+        }
+        else if (value instanceof Number)
+        {
+            remove(((Number)value).doubleValue());
+        }
+        else if (value != null && !"".equals(value))
+        {
+            this.count--;
+        }
+    }
+
+    protected void addToSum(long value)
+    {
+        if (this.bigSum == null)
+        {
+            try
+            {
+                this.longSum = Math.addExact(this.longSum, value);
+                return;
+            }
+            catch (ArithmeticException e)
+            {
+                this.bigSum = BigInteger.valueOf(this.longSum);
+            }
+        }
+
+        this.bigSum = this.bigSum.add(BigInteger.valueOf(value));
+        fitSum();
+    }
+
+    protected void subtractFromSum(long value)
+    {
+        if (this.bigSum == null)
+        {
+            try
+            {
+                this.longSum = Math.subtractExact(this.longSum, value);
+                return;
+            }
+            catch (ArithmeticException e)
+            {
+                this.bigSum = BigInteger.valueOf(this.longSum);
+            }
+        }
+
+        this.bigSum = this.bigSum.subtract(BigInteger.valueOf(value));
+        fitSum();
+    }
+
+    /**
+     * Goes back to the long sum once the sum fits into a long again.
+     */
+    protected void fitSum()
+    {
+        if (this.bigSum.bitLength() < Long.SIZE)
+        {
+            this.longSum = this.bigSum.longValue();
+            this.bigSum = null;
+        }
+    }
+
+    /**
+     * Continues the sum as a double once the first value that is not integral is aggregated.
+     */
+    protected void switchToDouble()
+    {
+        if (this.integral)
+        {
+            this.integral = false;
+            this.doubleSum = this.bigSum == null ? this.longSum : this.bigSum.doubleValue();
+            this.bigSum = null;
+        }
+    }
+
+    protected void removeExtreme(double value)
+    {
+        if ((value <= this.min || value >= this.max)
+                && (this.aggregate == ConsoleTableAggregate.MIN || this.aggregate == ConsoleTableAggregate.MAX))
+        {
+            this.valid = false;
+        }
+    }
+
+    /**
+     * @return The current result or null if no number was aggregated.
+     */
+    public Object getResult()
+    {
+        switch (this.aggregate)
+        {
+            case COUNT:
+                return this.count;
+            case SUM:
+                return this.integral ? getIntegralSum() : (Object)this.doubleSum;
+            case AVG:
+                return this.numberCount == 0 ? null : (this.integral ? getIntegralSum().doubleValue() : this.doubleSum) / this.numberCount;
+            case MIN:
+                return this.numberCount == 0 ? null : this.integral ? (Object)this.longMin : (Object)this.min;
+            default:
+                return this.numberCount == 0 ? null : this.integral ? (Object)this.longMax : (Object)this.max;
+        }
+    }
+
+    protected Number getIntegralSum()
+    {
+        return this.bigSum == null ? (Number)this.longSum : this.bigSum;
+    }
+
+    /**
+     * @return The text of the footer cell, for example "sum: 42".
+     */
+    public String getResultText()
+    {
+        Object result = getResult();
+        String text;
+
+        if (result == null)
+        {
+            text = "-";
+        }
+        else if (this.aggregate == ConsoleTableAggregate.AVG)
+        {
+            text = String.format(Locale.ROOT, "%.2f", result);
+        }
+        else
+        {
+            text = result.toString();
+        }
+
+        return this.aggregate.name().toLowerCase() + ": " + text;
+    }
+
+    protected static boolean isIntegral(Object value)
+    {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package bt.console.output.table;
 
+import bt.console.output.DisplayWidth;
 import bt.console.output.table.render.Alignment;
+import bt.console.output.table.render.CachedConsoleTableStyleRenderer;
+import bt.console.output.table.render.CachedConsoleTableValueRenderer;
 import bt.console.output.table.render.ConsoleTableStyleRenderer;
 import bt.console.output.table.render.ConsoleTableValueRenderer;
 
@@ -11,6 +14,16 @@ public class ConsoleTableColumn
     protected ConsoleTableValueRenderer valueRenderer;
     protected int width;
     protected int calculatedWidth;
+    protected boolean calculatedWidthFixed;
+    protected int preferredWidth;
+    protected int minWidth = -1;
+    protected double weight = 1;
+    protected boolean wrap;
+    protected ConsoleTableTextArena textArena;
+    protected int formatVersion;
+    protected int fitVersion;
+    protected volatile FormatState formatState;
+    protected ConsoleTableAggregator aggregator;
     protected Alignment headerAlignment;
     protected Alignment valueAlignment;
     protected String header;
@@ -79,6 +92,55 @@ public class ConsoleTableColumn
         {
             this.valueRenderer = createDefaultValueRenderer();
         }
+
+        this.formatVersion++;
+    }
+
+    /**
+     * Wraps the current value and style renderers of this column in caches that remember the results of the most
+     * recently rendered values. Useful for costly renderers of columns with many repeated values. Renderers that are
+     * set afterwards are not cached.
+     *
+     * @param capacity The maximum number of values each cache keeps.
+     * @see CachedConsoleTableValueRenderer
+     */
+    public void cacheRenderers(int capacity)
+    {
+        // the renderers of a column are applied to the raw values of its cells, whatever type they were declared for
+        if (!(this.valueRenderer instanceof CachedConsoleTableValueRenderer))
+        {
+            @SuppressWarnings("unchecked")
+            ConsoleTableValueRenderer<Object> valueRenderer = this.valueRenderer;
+            setValueRenderer(new CachedConsoleTableValueRenderer<>(valueRenderer, capacity));
+        }
+
+        if (!(this.styleRenderer instanceof CachedConsoleTableStyleRenderer))
+        {
+            @SuppressWarnings("unchecked")
+            ConsoleTableStyleRenderer<Object> styleRenderer = this.styleRenderer;
+            setStyleRenderer(new CachedConsoleTableStyleRenderer<>(styleRenderer, capacity));
+        }
+    }
+
+    /**
+     * Declares an aggregate of the values of this column that is shown in the footer of the table. The aggregate is
+     * kept up to date while rows are added or replaced.
+     *
+     * @param aggregate The aggregate or null to remove it.
+     */
+    public void setAggregate(ConsoleTableAggregate aggregate)
+    {
+        this.aggregator = aggregate == null ? null : new ConsoleTableAggregator(aggregate);
+    }
+
+    public ConsoleTableAggregate getAggregate()
+    {
+        return this.aggregator == null ? null : this.aggregator.getAggregate();
+    }
+
+    public ConsoleTableAggregator getAggregator()
+    {
+        return this.aggregator;
     }
 
     public int getWidth()
@@ -89,6 +151,96 @@ public class ConsoleTableColumn
     public void setWidth(int width)
     {
         this.width = width;
+        this.formatVersion++;
+    }
+
+    public int getMinWidth()
+    {
+        return this.minWidth;
+    }
+
+    /**
+     * Sets the width that this column is never shrunk below when the table is fitted into a
+     * {@link ConsoleTable#setMaxWidth(int) maximum width}.
+     *
+     * @param minWidth The minimum width including padding or -1 to use the width of the header.
+     */
+    public void setMinWidth(int minWidth)
+    {
+        this.minWidth = minWidth;
+        this.fitVersion++;
+    }
+
+    public double getWeight()
+    {
+        return this.weight;
+    }
+
+    /**
+     * Sets how much of the available width this column gets in relation to the others when the table is fitted into
+     * a {@link ConsoleTable#setMaxWidth(int) maximum width}. The default is 1.
+     *
+     * @param weight
+     */
+    public void setWeight(double weight)
+    {
+        if (weight <= 0)
+        {
+            throw new IllegalArgumentException("Weight must be positive.");
+        }
+
+        this.weight = weight;
+        this.fitVersion++;
+    }
+
+    public boolean isWrap()
+    {
+        return this.wrap;
+    }
+
+    /**
+     * Enables breaking values that are wider than the column into several lines on word boundaries instead of
+     * truncating them. Only applies if the width of the column is limited, either by {@link #setWidth(int)} or by the
+     * width strategy of the table.
+     *
+     * @param wrap
+     * @see ConsoleTableLineBreaker
+     */
+    public void setWrap(boolean wrap)
+    {
+        this.wrap = wrap;
+        this.formatVersion++;
+    }
+
+    public boolean isCompactStorage()
+    {
+        return this.textArena != null;
+    }
+
+    /**
+     * Enables storing the formatted lines of the values of this column in a shared {@link ConsoleTableTextArena}
+     * instead of a list of strings per value. Saves most of the memory of the formatted text of tables with many
+     * short values, especially if their {@link ConsoleTable#setCacheFormattedValues(boolean) formatted values are
+     * cached}.
+     *
+     * @param compactStorage
+     */
+    public void setCompactStorage(boolean compactStorage)
+    {
+        if (compactStorage != isCompactStorage())
+        {
+            this.textArena = compactStorage ? new ConsoleTableTextArena() : null;
+            this.formatVersion++;
+        }
+    }
+
+    /**
+     * @return The arena that holds the formatted lines of the values of this column or null if the storage is not
+     * {@link #setCompactStorage(boolean) compact}.
+     */
+    public ConsoleTableTextArena getTextArena()
+    {
+        return this.textArena;
     }
 
     public Alignment getHeaderAlignment()
@@ -119,7 +271,8 @@ public class ConsoleTableColumn
     public void setHeader(String header)
     {
         this.header = header;
-        this.calculatedWidth = this.header.length() + 2;
+        this.calculatedWidth = DisplayWidth.of(this.header) + 2;
+        this.preferredWidth = this.calculatedWidth;
     }
 
     public String[] getHeaderStyles()
@@ -151,6 +304,20 @@ public class ConsoleTableColumn
 
     protected void setMaxCalculatedWidth(int width)
     {
+        if (this.width < 0)
+        {
+            this.preferredWidth = Math.max(this.preferredWidth, width);
+        }
+        else
+        {
+            this.preferredWidth = Math.min(Math.max(this.preferredWidth, width), this.width);
+        }
+
+        if (this.calculatedWidthFixed)
+        {
+            return;
+        }
+
         if (this.width < 0)
         {
             this.calculatedWidth = Math.max(this.calculatedWidth, width);
@@ -166,8 +333,137 @@ public class ConsoleTableColumn
         return calculatedWidth;
     }
 
+    /**
+     * Sets the calculated width regardless of the values, for example to a width that was fitted into the width of
+     * the terminal.
+     *
+     * @param calculatedWidth
+     */
+    protected void setCalculatedWidth(int calculatedWidth)
+    {
+        this.calculatedWidth = calculatedWidth;
+    }
+
+    /**
+     * @return The width that the values measured since the last {@link #reset()} need, even if the calculated width is
+     * fixed to a smaller one.
+     */
+    protected int getPreferredWidth()
+    {
+        return preferredWidth;
+    }
+
+    /**
+     * @return A counter that changes whenever a setting that affects the formatted values of this column changes.
+     */
+    protected int getFormatVersion()
+    {
+        return formatVersion;
+    }
+
+    /**
+     * @return A counter that changes whenever the minimum width or the weight of this column changes.
+     */
+    protected int getFitVersion()
+    {
+        return fitVersion;
+    }
+
+    /**
+     * Returns the settings that values formatted for this column with the given multiline flag depend on. The same
+     * instance is returned as long as none of them change, so a value only keeps a reference to it to know whether it
+     * has to be formatted again. Can be called while values of different rows are formatted concurrently.
+     *
+     * @param multiline
+     * @return The current format state.
+     */
+    protected FormatState getFormatState(boolean multiline)
+    {
+        var state = this.formatState;
+        int limit = this.calculatedWidthFixed ? this.calculatedWidth : -1;
+
+        if (state == null || !state.matches(this.formatVersion, multiline, limit, this.textArena))
+        {
+            state = new FormatState(this.formatVersion, multiline, limit, this.textArena);
+            this.formatState = state;
+        }
+
+        return state;
+    }
+
+    protected boolean isCalculatedWidthFixed()
+    {
+        return calculatedWidthFixed;
+    }
+
+    /**
+     * While the calculated width is fixed it is no longer updated by {@link #setMaxCalculatedWidth(int)}, values have
+     * to be truncated to fit into it instead.
+     *
+     * @param calculatedWidthFixed
+     */
+    protected void setCalculatedWidthFixed(boolean calculatedWidthFixed)
+    {
+        this.calculatedWidthFixed = calculatedWidthFixed;
+    }
+
+    /**
+     * Resets the preferred width and, unless it is fixed, the calculated width to the width of the header.
+     */
     protected void reset()
     {
-        this.calculatedWidth = 0;
+        this.preferredWidth = DisplayWidth.of(this.header) + 2;
+
+        if (!this.calculatedWidthFixed)
+        {
+            this.calculatedWidth = this.preferredWidth;
+        }
+    }
+
+    /**
+     * The settings of a column that the formatted lines of a value were created with. Shared by all values that were
+     * formatted with the same settings.
+     */
+    protected static final class FormatState
+    {
+        protected final int version;
+        protected final boolean multiline;
+        protected final int limit;
+        protected final ConsoleTableTextArena arena;
+        protected final int arenaGeneration;
+
+        protected FormatState(int version, boolean multiline, int limit, ConsoleTableTextArena arena)
+        {
+            this.version = version;
+            this.multiline = multiline;
+            this.limit = limit;
+            this.arena = arena;
+            this.arenaGeneration = arena == null ? 0 : arena.getGeneration();
+        }
+
+        protected boolean matches(int version, boolean multiline, int limit, ConsoleTableTextArena arena)
+        {
+            return this.version == version
+                    && this.multiline == multiline
+                    && this.limit == limit
+                    && this.arena == arena
+                    && (arena == null || this.arenaGeneration == arena.getGeneration());
+        }
+
+        /**
+         * @return The width that lines are truncated to if the calculated width of the column was fixed, otherwise -1.
+         */
+        protected int getLimit()
+        {
+            return this.limit;
+        }
+
+        /**
+         * @return The arena that formatted lines are stored in or null if they are kept by the values.
+         */
+        protected ConsoleTableTextArena getArena()
+        {
+            return this.arena;
+        }
     }
 }
\ No newline at end of file
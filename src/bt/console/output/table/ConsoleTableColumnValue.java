@@ -1,29 +1,143 @@
 package bt.console.output.table;
 
-
-import bt.console.output.styled.Style;
+import bt.console.output.styled.StyledText;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
+/**
+ * A cell of a table. Tables keep one instance per cell, so it only holds the value, its formatted lines, or where they
+ * are stored in the arena of the column, and the {@link ConsoleTableColumn.FormatState state} of the column the lines
+ * were formatted with.
+ */
 public class ConsoleTableColumnValue
 {
     protected Object value;
     protected List<String> formattedLines;
+    protected ConsoleTableColumn.FormatState formatState;
+    protected int width;
+    protected int firstLine = -1;
+    protected int lineCount;
+    protected boolean dirty = true;
 
     public ConsoleTableColumnValue(Object value)
     {
         this.value = value;
     }
 
+    public Object getValue()
+    {
+        return this.value;
+    }
+
+    /**
+     * Sets a new value. The formatted lines are only invalidated if the new value is not equal to the current one.
+     *
+     * @param value
+     */
+    public void setValue(Object value)
+    {
+        if (!Objects.equals(this.value, value))
+        {
+            this.dirty = true;
+        }
+
+        this.value = value;
+    }
+
+    /**
+     * Forces the value to be formatted again on the next call to {@link #format(boolean, ConsoleTableColumn)}.
+     */
+    public void invalidate()
+    {
+        this.dirty = true;
+    }
+
+    /**
+     * Checks whether the formatted lines are still valid for the given settings.
+     *
+     * @param multiline
+     * @param column
+     * @return true if the value and the relevant column settings did not change since the last format.
+     */
+    public boolean isFormatted(boolean multiline, ConsoleTableColumn column)
+    {
+        return !this.dirty && this.formatState == column.getFormatState(multiline);
+    }
+
+    /**
+     * @return The formatted lines. If they are stored in the {@link #getTextArena() arena} of the column, the list
+     * reads them from there and is only valid until the value is formatted again.
+     */
     public List<String> getFormattedLines()
     {
+        if (this.firstLine >= 0)
+        {
+            return this.formatState.getArena().getLines(this.firstLine, this.lineCount);
+        }
+
         return this.formattedLines;
     }
 
+    public int getLineCount()
+    {
+        return this.firstLine >= 0 ? this.lineCount : this.formattedLines.size();
+    }
+
+    /**
+     * @return The arena that holds the formatted lines or null if they are held by this value.
+     * @see ConsoleTableColumn#setCompactStorage(boolean)
+     */
+    public ConsoleTableTextArena getTextArena()
+    {
+        return this.firstLine >= 0 ? this.formatState.getArena() : null;
+    }
+
+    /**
+     * @return The index of the first formatted line in the {@link #getTextArena() arena} or -1 if the lines are not
+     * stored in an arena.
+     */
+    public int getFirstLine()
+    {
+        return this.firstLine;
+    }
+
+    /**
+     * @return The width of the widest formatted line including padding.
+     */
+    public int getWidth()
+    {
+        return this.width;
+    }
+
     public void applyFormat(boolean multiline, ConsoleTableColumn column)
     {
+        format(multiline, column);
+        column.setMaxCalculatedWidth(this.width);
+    }
+
+    /**
+     * Formats the value like {@link #applyFormat(boolean, ConsoleTableColumn)} without updating the calculated width
+     * of the column. The column is only read, so values of different rows can be formatted concurrently.
+     *
+     * @param multiline
+     * @param column
+     */
+    public void format(boolean multiline, ConsoleTableColumn column)
+    {
+        var state = column.getFormatState(multiline);
+
+        if (!this.dirty && this.formatState == state)
+        {
+            return;
+        }
+
+        this.dirty = true;
+        this.formatState = state;
         this.formattedLines = new ArrayList<>();
+        this.firstLine = -1;
+        this.width = 0;
         String text = column.getValueRenderer().render(this.value);
 
         text = text == null ? "" : text;
@@ -33,39 +147,88 @@ public class ConsoleTableColumnValue
             for (String line : text.split(System.lineSeparator() + "|\n"))
             {
                 line = line.trim();
-                line = formatLine(line, column);
-                this.formattedLines.add(line);
+                addLine(line, column);
             }
         }
         else
         {
-            String line = formatLine(text.replaceAll(System.lineSeparator() + "|\n", ""), column);
-            this.formattedLines.add(line);
+            addLine(text.replaceAll(System.lineSeparator() + "|\n", ""), column);
         }
+
+        var arena = state.getArena();
+
+        if (arena != null)
+        {
+            this.firstLine = arena.add(this.formattedLines);
+            this.lineCount = this.formattedLines.size();
+            this.formattedLines = null;
+        }
+
+        this.dirty = false;
     }
 
-    protected String formatLine(String line, ConsoleTableColumn column)
+    /**
+     * Adds the given line to the formatted lines, wrapped into several lines if the column {@link
+     * ConsoleTableColumn#isWrap() wraps} and the line is too long.
+     *
+     * @param line
+     * @param column
+     */
+    protected void addLine(String line, ConsoleTableColumn column)
     {
-        String destlyled = Style.destyle(line);
+        int maxLength = -1;
 
-        if (column.getWidth() > 0 && destlyled.length() > column.getWidth())
+        if (column.isWrap())
         {
-            if (column.getWidth() <= 3)
+            if (column.isCalculatedWidthFixed())
             {
-                line = "";
+                maxLength = column.getCalculatedWidth() - 2;
             }
-            else if (column.getWidth() <= 5)
+            else if (column.getWidth() > 0)
             {
-                line = "...";
+                maxLength = column.getWidth() - 2;
             }
-            else
+        }
+
+        if (maxLength > 0 && StyledText.visibleLength(line) > maxLength)
+        {
+            for (String wrapped : ConsoleTableLineBreaker.wrap(line, maxLength))
             {
-                line = line.substring(0, column.getWidth() - 5) + "...";
+                this.formattedLines.add(formatLine(wrapped, column));
             }
+
+            // keep the width the value would need without wrapping
+            this.width = Math.max(this.width, StyledText.visibleLength(line) + 2);
+        }
+        else
+        {
+            this.formattedLines.add(formatLine(line, column));
+        }
+    }
+
+    protected String formatLine(String line, ConsoleTableColumn column)
+    {
+        int width = StyledText.visibleLength(line);
+
+        if (column.isCalculatedWidthFixed())
+        {
+            if (width + 2 > column.getCalculatedWidth())
+            {
+                line = truncate(line, column.getCalculatedWidth() - 2);
+            }
+        }
+        else if (column.getWidth() > 0 && width > column.getWidth())
+        {
+            line = truncate(line, column.getWidth() - 2);
         }
 
-        column.setMaxCalculatedWidth(destlyled.length() + 2);
+        this.width = Math.max(this.width, width + 2);
 
         return line;
     }
+
+    protected String truncate(String line, int maxLength)
+    {
+        return ConsoleTableLineBreaker.truncate(line, maxLength);
+    }
 }
\ No newline at end of file
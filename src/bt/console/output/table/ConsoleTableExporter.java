@@ -0,0 +1,144 @@
+package bt.console.output.table;
+
+import bt.console.output.styled.StyledText;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the rows of a {@link ConsoleTable} in a machine readable format instead of drawing them.
+ *
+ * <p>
+ * Exporters use the columns of the table, so headers and {@link ConsoleTableColumn#setValueRenderer value renderers}
+ * are the same as in the drawn table. Values are destyled. Rows are rendered and written one at a time without
+ * formatting them for display, so memory is bounded by a single row and works with all tables that can provide their
+ * raw cell values, including views, lazy and ring tables.
+ * </p>
+ */
+public abstract class ConsoleTableExporter
+{
+    public static ConsoleTableExporter csv()
+    {
+        return new CsvConsoleTableExporter(',');
+    }
+
+    public static ConsoleTableExporter tsv()
+    {
+        return new TsvConsoleTableExporter();
+    }
+
+    public static ConsoleTableExporter json()
+    {
+        return new JsonConsoleTableExporter();
+    }
+
+    public static ConsoleTableExporter markdown()
+    {
+        return new MarkdownConsoleTableExporter();
+    }
+
+    /**
+     * Exports the table and flushes the writer.
+     *
+     * @param table  The table to export.
+     * @param writer The writer to write to.
+     * @throws IOException If the writer fails.
+     */
+    public void writeTo(ConsoleTable table, Writer writer) throws IOException
+    {
+        export(table, writer);
+        writer.flush();
+    }
+
+    /**
+     * Exports the table to the given appendable.
+     *
+     * @param table The table to export.
+     * @param out   The appendable to write to.
+     * @throws IOException If the appendable fails.
+     */
+    public void export(ConsoleTable table, Appendable out) throws IOException
+    {
+        table.requireCellValues();
+        table.prepareRows();
+
+        List<ConsoleTableColumn> columns = table.columns;
+        int rowCount = table.getRowCount();
+        String[] headers = new String[columns.size()];
+        String[] values = new String[columns.size()];
+        Object[] rawValues = new Object[columns.size()];
+
+        for (int i = 0; i < headers.length; i++)
+        {
+            headers[i] = StyledText.destyle(columns.get(i).getHeader());
+        }
+
+        begin(out, columns, headers);
+
+        for (int i = 0; i < rowCount; i++)
+        {
+            for (int j = 0; j < values.length; j++)
+            {
+                rawValues[j] = table.getCellValue(i, j);
+                values[j] = renderValue(columns.get(j), rawValues[j]);
+            }
+
+            appendRow(out, i, headers, values, rawValues);
+        }
+
+        end(out, rowCount);
+    }
+
+    /**
+     * Renders a raw value with the renderer of its column and removes all styles. Missing values are exported as empty
+     * text instead of their display placeholder.
+     *
+     * @param column
+     * @param value
+     * @return The destyled text, never null.
+     */
+    @SuppressWarnings("unchecked")
+    protected String renderValue(ConsoleTableColumn column, Object value)
+    {
+        if (value == null)
+        {
+            return "";
+        }
+
+        // columns render the raw values of their own cells, whatever type their renderer was declared for
+        String text = column.getValueRenderer().render(value);
+        return text == null ? "" : StyledText.destyle(text);
+    }
+
+    /**
+     * Writes everything that comes before the first row.
+     *
+     * @param out
+     * @param columns
+     * @param headers The destyled column headers.
+     * @throws IOException If the appendable fails.
+     */
+    protected abstract void begin(Appendable out, List<ConsoleTableColumn> columns, String[] headers) throws IOException;
+
+    /**
+     * Writes a single row.
+     *
+     * @param out
+     * @param index     The index of the row.
+     * @param headers   The destyled column headers.
+     * @param values    The rendered and destyled values of the row.
+     * @param rawValues The raw values of the row.
+     * @throws IOException If the appendable fails.
+     */
+    protected abstract void appendRow(Appendable out, int index, String[] headers, String[] values, Object[] rawValues) throws IOException;
+
+    /**
+     * Writes everything that comes after the last row.
+     *
+     * @param out
+     * @param rowCount The number of rows that were written.
+     * @throws IOException If the appendable fails.
+     */
+    protected abstract void end(Appendable out, int rowCount) throws IOException;
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package bt.console.output.table;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Formats a range of rows and returns the maximum width per column. Ranges above the threshold are split in half and
+ * the widths of both halves are merged by taking the maximum per column.
+ */
+class ConsoleTableFormatTask extends RecursiveTask<int[]>
+{
+    private static final long serialVersionUID = 1L;
+
+    protected static final int THRESHOLD = 128;
+
+    protected final List<ConsoleTableRow> rows;
+    protected final List<ConsoleTableColumn> columns;
+    protected final boolean multiline;
+    protected final boolean invalidate;
+    protected final int from;
+    protected final int to;
+
+    ConsoleTableFormatTask(List<ConsoleTableRow> rows, List<ConsoleTableColumn> columns, boolean multiline, boolean invalidate, int from, int to)
+    {
+        this.rows = rows;
+        this.columns = columns;
+        this.multiline = multiline;
+        this.invalidate = invalidate;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected int[] compute()
+    {
+        if (this.to - this.from <= THRESHOLD)
+        {
+            int[] widths = new int[this.columns.size()];
+
+            for (int i = this.from; i < this.to; i++)
+            {
+                var row = this.rows.get(i);
+
+                if (this.invalidate)
+                {
+                    row.invalidate();
+                }
+
+                row.format(this.multiline, this.columns);
+
+                for (int j = 0; j < widths.length; j++)
+                {
+                    widths[j] = Math.max(widths[j], row.getWidth(j));
+                }
+            }
+
+            return widths;
+        }
+
+        int middle = (this.from + this.to) >>> 1;
+        var left = new ConsoleTableFormatTask(this.rows, this.columns, this.multiline, this.invalidate, this.from, middle);
+        var right = new ConsoleTableFormatTask(this.rows, this.columns, this.multiline, this.invalidate, middle, this.to);
+        left.fork();
+
+        int[] widths = right.compute();
+        int[] leftWidths = left.join();
+
+        for (int j = 0; j < widths.length; j++)
+        {
+            widths[j] = Math.max(widths[j], leftWidths[j]);
+        }
+
+        return widths;
+    }
+}
\ No newline at end of file
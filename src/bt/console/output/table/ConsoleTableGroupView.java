@@ -0,0 +1,122 @@
+package bt.console.output.table;
+
+import bt.console.output.table.render.Alignment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Shows one row per distinct value of a column of another {@link ConsoleTable} together with the number of rows that
+ * contain it.
+ *
+ * <p>
+ * Groups are found with a single hash aggregation pass over the source and are listed in the order in which their
+ * first row appears. The key column is rendered with the renderers and alignment of the grouped column. Like
+ * {@link ConsoleTableView} the groups are recalculated whenever rows of the source were added, replaced or removed.
+ * Call {@link #update()} after values of rows of the source were changed in place.
+ * </p>
+ */
+public class ConsoleTableGroupView extends ConsoleTable
+{
+    protected ConsoleTable source;
+    protected int keyColumn;
+    protected long sourceModificationCount = -1;
+
+    public ConsoleTableGroupView(ConsoleTable source, int keyColumn)
+    {
+        super();
+        this.source = source;
+        this.keyColumn = keyColumn;
+
+        var sourceColumn = source.columns.get(keyColumn);
+        var col = addColumn(sourceColumn.getHeader(), sourceColumn.getWidth());
+        col.setValueRenderer(sourceColumn.getValueRenderer());
+        col.setStyleRenderer(sourceColumn.getStyleRenderer());
+        col.setValueAlignment(sourceColumn.getValueAlignment());
+
+        col = addColumn("Count");
+        col.setValueAlignment(Alignment.RIGHT);
+    }
+
+    /**
+     * Creates a view of the source rows that belong to the given group. The groups are recalculated first if the
+     * source changed.
+     *
+     * @param index The index of the group row in this view.
+     * @return The new view.
+     */
+    public ConsoleTableView getGroup(int index)
+    {
+        prepareRows();
+        Object key = this.rows.get(index).getCellValue(0);
+        return this.source.view().filter(this.keyColumn, value -> Objects.equals(value, key));
+    }
+
+    /**
+     * Recalculates the groups on the next render.
+     */
+    public void update()
+    {
+        this.sourceModificationCount = -1;
+    }
+
+    /**
+     * Views are read only.
+     */
+    @Override
+    public void addRow(Object... values)
+    {
+        throw new UnsupportedOperationException("Rows have to be added to the source table.");
+    }
+
+    /**
+     * Views are read only.
+     */
+    @Override
+    public void replaceRow(int index, Object... values)
+    {
+        throw new UnsupportedOperationException("Rows have to be replaced in the source table.");
+    }
+
+    @Override
+    protected void prepareRows()
+    {
+        this.source.prepareRows();
+        long modificationCount = this.source.getModificationCount();
+
+        if (modificationCount == this.sourceModificationCount)
+        {
+            return;
+        }
+
+        this.sourceModificationCount = modificationCount;
+        int rowCount = this.source.getRowCount();
+        this.rows.clear();
+        invalidateAggregates();
+        this.modificationCount++;
+
+        Map<Object, int[]> counts = new HashMap<>();
+
+        for (int i = 0; i < rowCount; i++)
+        {
+            Object key = this.source.getCellValue(i, this.keyColumn);
+            int[] count = counts.get(key);
+
+            if (count == null)
+            {
+                // remember the position of the group so counts can be written into the rows afterwards
+                count = new int[]{ this.rows.size(), 0 };
+                counts.put(key, count);
+                this.rows.add(new ConsoleTableRow(key, 0));
+            }
+
+            count[1]++;
+        }
+
+        for (int[] count : counts.values())
+        {
+            this.rows.get(count[0]).setValue(1, count[1]);
+        }
+    }
+}
\ No newline at end of file
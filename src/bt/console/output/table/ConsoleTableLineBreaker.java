@@ -0,0 +1,275 @@
+package bt.console.output.table;
+
+import bt.console.output.DisplayWidth;
+import bt.console.output.styled.Style;
+import bt.console.output.styled.StyledText;
+import bt.console.output.table.render.ConsoleTableRenderCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Breaks and truncates styled text to a visible width.
+ *
+ * <p>
+ * Style tags take no space and are never split. A line that ends while styles are open closes them and the next line
+ * opens them again, so every line is styled text on its own. Lines are broken after the last space that fits, words
+ * that are longer than a line are broken within the word.
+ * </p>
+ *
+ * <p>
+ * The break positions of a text are cached per width in a shared, bounded cache, so wrapping the same values at the
+ * same width again only has to cut the text at the known positions.
+ * </p>
+ */
+public final class ConsoleTableLineBreaker
+{
+    private static final ConsoleTableRenderCache<Key, int[]> BREAKS = new ConsoleTableRenderCache<>(4096);
+
+    private ConsoleTableLineBreaker()
+    {
+    }
+
+    /**
+     * @return The cache of break positions that is shared by all tables.
+     */
+    public static ConsoleTableRenderCache<?, ?> getCache()
+    {
+        return BREAKS;
+    }
+
+    /**
+     * Breaks the given styled text into lines of at most the given visible length.
+     *
+     * @param text     The text, which must not contain line breaks.
+     * @param maxWidth The maximum number of visible characters per line, at least 1.
+     * @return The lines, at least one.
+     */
+    public static List<String> wrap(String text, int maxWidth)
+    {
+        maxWidth = Math.max(maxWidth, 1);
+        int[] breaks = BREAKS.get(new Key(text, maxWidth), key -> findBreaks(key.text, key.width));
+        List<String> lines = new ArrayList<>(breaks.length / 2 + 1);
+
+        if (breaks.length == 0)
+        {
+            lines.add(text);
+            return lines;
+        }
+
+        List<String> openTags = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        int start = 0;
+
+        for (int i = 0; i <= breaks.length; i += 2)
+        {
+            int end = i < breaks.length ? breaks[i] : text.length();
+            line.setLength(0);
+
+            for (String tag : openTags)
+            {
+                line.append(tag);
+            }
+
+            line.append(text, start, end);
+            trackTags(text, start, end, openTags);
+
+            for (int j = 0; j < openTags.size(); j++)
+            {
+                line.append(Style.END_TAG);
+            }
+
+            lines.add(line.toString());
+
+            if (i < breaks.length)
+            {
+                start = breaks[i + 1];
+            }
+        }
+
+        return lines;
+    }
+
+    /**
+     * Cuts the given styled text after as many characters as fit into the given width and appends "...". Styles that
+     * are open at the cut are closed.
+     *
+     * @param text      The text.
+     * @param maxLength The display width of the result including the dots.
+     * @return The truncated text.
+     */
+    public static String truncate(String text, int maxLength)
+    {
+        if (maxLength <= 1)
+        {
+            return "";
+        }
+
+        if (maxLength <= 3)
+        {
+            return "...";
+        }
+
+        return StyledText.truncateVisible(text, maxLength - 3) + "...";
+    }
+
+    /**
+     * @return The number of terminal columns the characters of the text that are not part of style tags occupy.
+     */
+    public static int visibleLength(String text)
+    {
+        return StyledText.visibleLength(text);
+    }
+
+    /**
+     * Finds the break positions of a text as pairs of the end of a line and the start of the next one.
+     */
+    private static int[] findBreaks(String text, int maxWidth)
+    {
+        int[] breaks = new int[8];
+        int count = 0;
+        int visible = 0;
+        int lastSpace = -1;
+        int visibleAfterSpace = 0;
+        int i = 0;
+
+        while (i < text.length())
+        {
+            int tagEnd = StyledText.tagEnd(text, i);
+
+            if (tagEnd > i)
+            {
+                i = tagEnd;
+                continue;
+            }
+
+            int codePoint = text.codePointAt(i);
+            int width = DisplayWidth.of(codePoint);
+
+            if (visible + width > maxWidth && visible > 0)
+            {
+                int end;
+                int next;
+
+                if (codePoint == ' ')
+                {
+                    end = i;
+                    next = i + 1;
+                    visible = 0;
+                }
+                else if (lastSpace >= 0)
+                {
+                    end = lastSpace;
+                    next = lastSpace + 1;
+                    visible -= visibleAfterSpace;
+                }
+                else
+                {
+                    end = i;
+                    next = i;
+                    visible = 0;
+                }
+
+                if (count + 2 > breaks.length)
+                {
+                    int[] grown = new int[breaks.length * 2];
+                    System.arraycopy(breaks, 0, grown, 0, count);
+                    breaks = grown;
+                }
+
+                breaks[count++] = end;
+                breaks[count++] = next;
+                lastSpace = -1;
+
+                if (codePoint == ' ')
+                {
+                    i++;
+                }
+
+                // otherwise check the same char again, a wide char may still not fit behind the moved word
+                continue;
+            }
+
+            visible += width;
+
+            if (codePoint == ' ')
+            {
+                lastSpace = i;
+                visibleAfterSpace = visible;
+            }
+
+            i += Character.charCount(codePoint);
+        }
+
+        int[] result = new int[count];
+        System.arraycopy(breaks, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Updates the stack of open start tags with the tags in the given range.
+     */
+    private static void trackTags(String text, int start, int end, List<String> openTags)
+    {
+        int i = start;
+
+        while (i < end)
+        {
+            int tagEnd = StyledText.tagEnd(text, i);
+
+            if (tagEnd > i)
+            {
+                if (text.startsWith(Style.END_TAG, i))
+                {
+                    if (!openTags.isEmpty())
+                    {
+                        openTags.remove(openTags.size() - 1);
+                    }
+                }
+                else
+                {
+                    openTags.add(text.substring(i, tagEnd));
+                }
+
+                i = tagEnd;
+            }
+            else
+            {
+                i++;
+            }
+        }
+    }
+
+    private static final class Key
+    {
+        private final String text;
+        private final int width;
+        private final int hash;
+
+        private Key(String text, int width)
+        {
+            this.text = text;
+            this.width = width;
+            this.hash = 31 * text.hashCode() + width;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Key))
+            {
+                return false;
+            }
+
+            Key key = (Key)o;
+            return this.width == key.width && this.hash == key.hash && Objects.equals(this.text, key.text);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package bt.console.output.table;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A readable property of a class that is shown as a column by {@link ConsoleTable#ofBeans(Iterable, Class)}.
+ *
+ * <p>
+ * The properties of a class are found once and cached per class. Bean getters (getX and isX) are used if the class has
+ * any, otherwise public no argument methods named like an instance field, which covers records and record style
+ * classes. Properties are ordered like the fields they belong to. Every accessor is bound to a generated
+ * {@link Function} through the {@link LambdaMetafactory}, so reading a value costs about as much as calling the getter
+ * directly.
+ * </p>
+ */
+public final class ConsoleTableProperty
+{
+    private static final ClassValue<ConsoleTableProperty[]> PROPERTIES = new ClassValue<>()
+    {
+        @Override
+        protected ConsoleTableProperty[] computeValue(Class<?> type)
+        {
+            return findProperties(type);
+        }
+    };
+
+    private final String name;
+    private final Class<?> type;
+    private final Function<Object, Object> getter;
+
+    private ConsoleTableProperty(String name, Class<?> type, Function<Object, Object> getter)
+    {
+        this.name = name;
+        this.type = type;
+        this.getter = getter;
+    }
+
+    /**
+     * @param type
+     * @return The cached properties of the given type, which must not be modified.
+     */
+    public static ConsoleTableProperty[] of(Class<?> type)
+    {
+        return PROPERTIES.get(type);
+    }
+
+    public String getName()
+    {
+        return this.name;
+    }
+
+    public Class<?> getType()
+    {
+        return this.type;
+    }
+
+    /**
+     * @param instance An instance of the type the property was found in.
+     * @return The value of the property.
+     */
+    public Object get(Object instance)
+    {
+        return this.getter.apply(instance);
+    }
+
+    private static ConsoleTableProperty[] findProperties(Class<?> type)
+    {
+        Map<String, Integer> fieldOrder = new HashMap<>();
+        int index = 0;
+
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass())
+        {
+            for (Field field : c.getDeclaredFields())
+            {
+                if (!Modifier.isStatic(field.getModifiers()))
+                {
+                    fieldOrder.putIfAbsent(field.getName(), index++);
+                }
+            }
+        }
+
+        List<Method> getters = new ArrayList<>();
+        List<Method> accessors = new ArrayList<>();
+
+        for (Method method : type.getMethods())
+        {
+            if (Modifier.isStatic(method.getModifiers())
+                    || method.getParameterCount() != 0
+                    || method.getReturnType() == void.class
+                    || method.getDeclaringClass() == Object.class)
+            {
+                continue;
+            }
+
+            if (getPropertyName(method) != null)
+            {
+                getters.add(method);
+            }
+            else if (fieldOrder.containsKey(method.getName()))
+            {
+                accessors.add(method);
+            }
+        }
+
+        boolean beans = !getters.isEmpty();
+        List<Method> methods = beans ? getters : accessors;
+        Map<String, Method> byName = new HashMap<>();
+
+        for (Method method : methods)
+        {
+            byName.putIfAbsent(beans ? getPropertyName(method) : method.getName(), method);
+        }
+
+        List<String> names = new ArrayList<>(byName.keySet());
+        names.sort(Comparator.comparing((String name) -> fieldOrder.getOrDefault(name, Integer.MAX_VALUE))
+                             .thenComparing(Comparator.naturalOrder()));
+
+        var properties = new ConsoleTableProperty[names.size()];
+
+        for (int i = 0; i < properties.length; i++)
+        {
+            Method method = byName.get(names.get(i));
+            properties[i] = new ConsoleTableProperty(names.get(i), method.getReturnType(), bind(type, method));
+        }
+
+        return properties;
+    }
+
+    /**
+     * @return The name of the bean property of the given getter or null if the method is no getter.
+     */
+    private static String getPropertyName(Method method)
+    {
+        String name = method.getName();
+        int prefix;
+
+        if (name.startsWith("get") && name.length() > 3)
+        {
+            prefix = 3;
+        }
+        else if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class)
+        {
+            prefix = 2;
+        }
+        else
+        {
+            return null;
+        }
+
+        if (!Character.isUpperCase(name.charAt(prefix)))
+        {
+            return null;
+        }
+
+        // keep names like URL as they are, like java.beans.Introspector does
+        if (name.length() > prefix + 1 && Character.isUpperCase(name.charAt(prefix + 1)))
+        {
+            return name.substring(prefix);
+        }
+
+        return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    private static Function<Object, Object> bind(Class<?> type, Method method)
+    {
+        MethodHandles.Lookup lookup;
+        MethodHandle handle;
+
+        try
+        {
+            try
+            {
+                lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            }
+            catch (IllegalAccessException e)
+            {
+                // packages of named modules are usually not open, their public methods can still be used
+                lookup = MethodHandles.publicLookup();
+            }
+
+            handle = lookup.unreflect(method);
+        }
+        catch (IllegalAccessException | SecurityException e)
+        {
+            throw new IllegalArgumentException("Property " + method.getName() + " of " + type.getName() + " is not accessible.", e);
+        }
+
+        try
+        {
+            Class<?> returnType = MethodType.methodType(method.getReturnType()).wrap().returnType();
+            var site = LambdaMetafactory.metafactory(lookup,
+                                                     "apply",
+                                                     MethodType.methodType(Function.class),
+                                                     MethodType.methodType(Object.class, Object.class),
+                                                     handle,
+                                                     MethodType.methodType(returnType, type));
+
+            return (Function<Object, Object>)site.getTarget().invokeExact();
+        }
+        catch (Throwable e)
+        {
+            // only a lookup with full access can spin a lambda class, fall back to invoking the handle
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+
+            return instance ->
+            {
+                try
+                {
+                    return generic.invokeExact(instance);
+                }
+                catch (RuntimeException | Error ex)
+                {
+                    throw ex;
+                }
+                catch (Throwable ex)
+                {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        }
+    }
+}
\ No newline at end of file
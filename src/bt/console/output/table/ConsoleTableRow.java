@@ -7,10 +7,12 @@ public class ConsoleTableRow
 {
     protected List<ConsoleTableColumnValue> values;
     protected int numberOfLines;
+    protected int cellCount;
 
     public ConsoleTableRow(Object... values)
     {
         this.values = createValues(values);
+        this.cellCount = values.length;
     }
 
     public int getNumberOfLines()
@@ -31,6 +33,24 @@ public class ConsoleTableRow
     }
 
     public void applyFormat(boolean multiline, List<ConsoleTableColumn> columns)
+    {
+        format(multiline, columns);
+
+        for (int i = 0; i < columns.size(); i++)
+        {
+            columns.get(i).setMaxCalculatedWidth(this.values.get(i).getWidth());
+        }
+    }
+
+    /**
+     * Formats all values like {@link #applyFormat(boolean, List)} without updating the calculated widths of the
+     * columns.
+     *
+     * @param multiline
+     * @param columns
+     * @see #getWidth(int)
+     */
+    public void format(boolean multiline, List<ConsoleTableColumn> columns)
     {
         this.numberOfLines = 0;
 
@@ -42,13 +62,96 @@ public class ConsoleTableRow
                 this.values.add(new ConsoleTableColumnValue(""));
             }
 
-            this.values.get(i).applyFormat(multiline, columns.get(i));
+            this.values.get(i).format(multiline, columns.get(i));
         }
 
         for (var val : this.values)
         {
-            this.numberOfLines = Math.max(this.numberOfLines, val.getFormattedLines().size());
+            this.numberOfLines = Math.max(this.numberOfLines, val.getLineCount());
+        }
+    }
+
+    /**
+     * Replaces the value of the given column. The existing value holder is reused if there is one.
+     *
+     * @param column The index of the column.
+     * @param value  The new value.
+     */
+    public void setValue(int column, Object value)
+    {
+        while (column >= this.values.size())
+        {
+            this.values.add(new ConsoleTableColumnValue(""));
         }
+
+        this.values.get(column).setValue(value);
+        this.cellCount = Math.max(this.cellCount, column + 1);
+    }
+
+    /**
+     * @param column The index of the column.
+     * @return The width that the formatted value of the given column requires.
+     */
+    public int getWidth(int column)
+    {
+        return this.values.get(column).getWidth();
+    }
+
+    /**
+     * Replaces all values of this row. Value holders are reused, so the formatted text of values that did not change
+     * is kept.
+     *
+     * @param values The new values.
+     */
+    public void setValues(Object... values)
+    {
+        for (int i = 0; i < values.length; i++)
+        {
+            setValue(i, values[i]);
+        }
+
+        while (this.values.size() > values.length)
+        {
+            this.values.remove(this.values.size() - 1);
+        }
+
+        this.cellCount = values.length;
+    }
+
+    /**
+     * Forces all values to be formatted again.
+     */
+    public void invalidate()
+    {
+        for (var value : this.values)
+        {
+            value.invalidate();
+        }
+    }
+
+    /**
+     * @param column The index of the column.
+     * @return The raw value of the given column or null if this row has no value for it, even if an empty value was
+     * added to render the cell.
+     */
+    public Object getCellValue(int column)
+    {
+        return column < this.cellCount ? this.values.get(column).getValue() : null;
+    }
+
+    /**
+     * Returns the styles for the value of the given column. The style renderer receives the raw value, like the value
+     * renderer does, so renderers can style cells by their values and cached renderers are keyed by value.
+     *
+     * @param column The index of the column.
+     * @param col    The column itself.
+     * @return The styles returned by the style renderer of the column.
+     */
+    @SuppressWarnings("unchecked")
+    public String[] getStyles(int column, ConsoleTableColumn col)
+    {
+        // columns render the raw values of their own cells, whatever type their renderer was declared for
+        return col.getStyleRenderer().render(this.values.get(column).getValue());
     }
 
     public Object getValue(int index)
@@ -56,6 +159,15 @@ public class ConsoleTableRow
         return this.values.get(index);
     }
 
+    /**
+     * @param column The index of the column.
+     * @return The holder of the value and the formatted lines of the given column.
+     */
+    public ConsoleTableColumnValue getColumnValue(int column)
+    {
+        return this.values.get(column);
+    }
+
     public String getTextValue(int column, int line)
     {
         String textValue = null;
@@ -0,0 +1,12 @@
+package bt.console.output.table;
+
+/**
+ * Maps an element of a {@link ConsoleTableRowSource} to the values of one table row.
+ *
+ * @param <T> The type of the elements.
+ */
+@FunctionalInterface
+public interface ConsoleTableRowMapper<T>
+{
+    public Object[] map(T element, int index);
+}
\ No newline at end of file
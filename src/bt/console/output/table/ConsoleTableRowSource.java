@@ -0,0 +1,128 @@
+package bt.console.output.table;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Supplies the elements of a {@link LazyConsoleTable} on demand.
+ *
+ * @param <T> The type of the elements.
+ */
+public interface ConsoleTableRowSource<T>
+{
+    /**
+     * @return The number of elements or -1 if it is not known in advance.
+     */
+    public int size();
+
+    /**
+     * Passes the elements from index {@code from} (inclusive) to {@code to} (exclusive) to the given consumer. Stops
+     * early if the source has fewer elements.
+     *
+     * @param from     The index of the first element.
+     * @param to       The index after the last element.
+     * @param consumer Receives each element together with its index.
+     */
+    public void forEach(int from, int to, ObjIntConsumer<T> consumer);
+
+    /**
+     * Creates a source that reads the elements of the given list by index.
+     *
+     * @param list
+     * @return
+     */
+    public static <T> ConsoleTableRowSource<T> of(List<T> list)
+    {
+        return of(list::get, list.size());
+    }
+
+    /**
+     * Creates a source that reads elements through the given index based accessor.
+     *
+     * @param accessor Returns the element at the given index.
+     * @param size     The number of elements.
+     * @return
+     */
+    public static <T> ConsoleTableRowSource<T> of(IntFunction<T> accessor, int size)
+    {
+        return new ConsoleTableRowSource<>()
+        {
+            @Override
+            public int size()
+            {
+                return size;
+            }
+
+            @Override
+            public void forEach(int from, int to, ObjIntConsumer<T> consumer)
+            {
+                for (int i = Math.max(from, 0); i < Math.min(to, size); i++)
+                {
+                    consumer.accept(accessor.apply(i), i);
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a forward only source over the given spliterator.
+     *
+     * @param spliterator
+     * @return
+     * @see #of(Iterator)
+     */
+    public static <T> ConsoleTableRowSource<T> of(Spliterator<T> spliterator)
+    {
+        return of(Spliterators.iterator(spliterator));
+    }
+
+    /**
+     * Creates a forward only source over the given iterator, for example a database cursor.
+     *
+     * <p>
+     * Elements before the requested range are skipped. Requesting a range that starts before an element that was
+     * already consumed throws an {@link IllegalStateException}, so windows have to be requested in ascending order.
+     * </p>
+     *
+     * @param iterator
+     * @return
+     */
+    public static <T> ConsoleTableRowSource<T> of(Iterator<T> iterator)
+    {
+        return new ConsoleTableRowSource<>()
+        {
+            private int position;
+
+            @Override
+            public int size()
+            {
+                return -1;
+            }
+
+            @Override
+            public void forEach(int from, int to, ObjIntConsumer<T> consumer)
+            {
+                if (from < this.position)
+                {
+                    throw new IllegalStateException("Element " + from + " was already consumed. Current position is " + this.position + ".");
+                }
+
+                while (this.position < to && iterator.hasNext())
+                {
+                    T element = iterator.next();
+
+                    if (this.position >= from)
+                    {
+                        consumer.accept(element, this.position);
+                    }
+
+                    this.position++;
+                }
+            }
+        };
+    }
+}
\ No newline at end of file
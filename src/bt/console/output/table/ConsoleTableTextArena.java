@@ -0,0 +1,285 @@
+package bt.console.output.table;
+
+import bt.console.output.styled.StyledText;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores the formatted lines of the values of a column packed into one growable byte array instead of one string per
+ * line, see {@link ConsoleTableColumn#setCompactStorage(boolean)}.
+ *
+ * <p>
+ * Lines that only consist of Latin-1 characters take one byte per char, all other lines are stored as UTF-8. Every
+ * line is indexed by its offset, its length and its visible width, so a value only needs to remember the index of
+ * its first line and the number of its lines. Tables append lines straight from the arena to the rendered text
+ * without creating a string per cell.
+ * </p>
+ *
+ * <p>
+ * Lines are never removed one by one. Values that are formatted again append new lines and leave their old ones
+ * behind. At the start of every render {@link #reclaim()} drops all lines if less than half of the stored bytes were
+ * rendered during the previous render, values that still referred to them are formatted again.
+ * </p>
+ */
+public class ConsoleTableTextArena
+{
+    private static final AtomicInteger GENERATIONS = new AtomicInteger();
+    private static final int UTF8 = 0x80000000;
+    private static final int MIN_RECLAIM_BYTES = 1 << 16;
+
+    protected byte[] bytes = new byte[1024];
+    protected int byteCount;
+    protected int[] offsets = new int[64];
+    protected int[] lengths = new int[64];
+    protected int[] widths = new int[64];
+    protected int lineCount;
+    protected long renderedBytes;
+    protected volatile int generation = GENERATIONS.incrementAndGet();
+
+    /**
+     * Appends the given lines. The lines are stored consecutively, even if several threads add lines at the same
+     * time.
+     *
+     * @param lines The styled lines.
+     * @return The index of the first of the lines.
+     */
+    public synchronized int add(List<String> lines)
+    {
+        int first = this.lineCount;
+
+        for (String line : lines)
+        {
+            add(line);
+        }
+
+        return first;
+    }
+
+    protected void add(String line)
+    {
+        if (this.lineCount == this.offsets.length)
+        {
+            int capacity = this.lineCount * 2;
+            this.offsets = Arrays.copyOf(this.offsets, capacity);
+            this.lengths = Arrays.copyOf(this.lengths, capacity);
+            this.widths = Arrays.copyOf(this.widths, capacity);
+        }
+
+        int length = line.length();
+        boolean latin1 = true;
+
+        for (int i = 0; i < length && latin1; i++)
+        {
+            latin1 = line.charAt(i) < 0x100;
+        }
+
+        byte[] encoded = latin1 ? null : line.getBytes(StandardCharsets.UTF_8);
+        int byteLength = latin1 ? length : encoded.length;
+        ensureCapacity(byteLength);
+
+        if (latin1)
+        {
+            for (int i = 0; i < length; i++)
+            {
+                this.bytes[this.byteCount + i] = (byte)line.charAt(i);
+            }
+        }
+        else
+        {
+            System.arraycopy(encoded, 0, this.bytes, this.byteCount, byteLength);
+        }
+
+        this.offsets[this.lineCount] = this.byteCount;
+        this.lengths[this.lineCount] = latin1 ? byteLength : byteLength | UTF8;
+        this.widths[this.lineCount] = StyledText.visibleLength(line);
+        this.byteCount += byteLength;
+        this.lineCount++;
+    }
+
+    /**
+     * @param index The index of the line.
+     * @return The line as a new string.
+     */
+    public String getLine(int index)
+    {
+        int length = this.lengths[index] & ~UTF8;
+        var charset = (this.lengths[index] & UTF8) != 0 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1;
+
+        return new String(this.bytes, this.offsets[index], length, charset);
+    }
+
+    /**
+     * @param index The index of the line.
+     * @return The number of terminal columns the line occupies without its style tags.
+     */
+    public int getWidth(int index)
+    {
+        return this.widths[index];
+    }
+
+    /**
+     * Appends the chars of the given line to the given builder and counts its bytes as rendered.
+     *
+     * @param index The index of the line.
+     * @param out   The builder.
+     */
+    public void appendLine(int index, StringBuilder out)
+    {
+        int offset = this.offsets[index];
+        int length = this.lengths[index] & ~UTF8;
+        int end = offset + length;
+        this.renderedBytes += length;
+
+        if ((this.lengths[index] & UTF8) == 0)
+        {
+            for (int i = offset; i < end; i++)
+            {
+                out.append((char)(this.bytes[i] & 0xFF));
+            }
+
+            return;
+        }
+
+        // the bytes were encoded from a string, so they are well formed
+        int i = offset;
+
+        while (i < end)
+        {
+            int b = this.bytes[i] & 0xFF;
+
+            if (b < 0x80)
+            {
+                out.append((char)b);
+                i++;
+            }
+            else if (b < 0xE0)
+            {
+                out.append((char)(((b & 0x1F) << 6) | (this.bytes[i + 1] & 0x3F)));
+                i += 2;
+            }
+            else if (b < 0xF0)
+            {
+                out.append((char)(((b & 0x0F) << 12) | ((this.bytes[i + 1] & 0x3F) << 6) | (this.bytes[i + 2] & 0x3F)));
+                i += 3;
+            }
+            else
+            {
+                int codePoint = ((b & 0x07) << 18)
+                        | ((this.bytes[i + 1] & 0x3F) << 12)
+                        | ((this.bytes[i + 2] & 0x3F) << 6)
+                        | (this.bytes[i + 3] & 0x3F);
+                out.append(Character.highSurrogate(codePoint)).append(Character.lowSurrogate(codePoint));
+                i += 4;
+            }
+        }
+    }
+
+    /**
+     * Creates a list that reads the given lines from this arena. The list is only valid until the arena is
+     * {@link #clear() cleared}.
+     *
+     * @param first The index of the first line.
+     * @param count The number of lines.
+     * @return The unmodifiable list.
+     */
+    public List<String> getLines(int first, int count)
+    {
+        return new AbstractList<>()
+        {
+            @Override
+            public String get(int index)
+            {
+                return getLine(first + Objects.checkIndex(index, count));
+            }
+
+            @Override
+            public int size()
+            {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Drops all lines if most of them were not rendered during the previous render. Called by the table at the start
+     * of every render.
+     *
+     * @return true if the lines were dropped.
+     */
+    public synchronized boolean reclaim()
+    {
+        boolean reclaim = this.byteCount >= MIN_RECLAIM_BYTES && this.byteCount >= 2 * this.renderedBytes;
+        this.renderedBytes = 0;
+
+        if (reclaim)
+        {
+            clear();
+        }
+
+        return reclaim;
+    }
+
+    /**
+     * Drops all lines. Values whose lines were stored here are formatted again the next time they are rendered.
+     */
+    public synchronized void clear()
+    {
+        this.byteCount = 0;
+        this.lineCount = 0;
+        this.generation = GENERATIONS.incrementAndGet();
+    }
+
+    /**
+     * @return A number that changes whenever the arena is cleared and that is unique among all arenas.
+     */
+    public int getGeneration()
+    {
+        return this.generation;
+    }
+
+    public int getLineCount()
+    {
+        return this.lineCount;
+    }
+
+    public int getByteCount()
+    {
+        return this.byteCount;
+    }
+
+    /**
+     * @return The number of bytes of the arrays of this arena, including the index and the unused capacity.
+     */
+    public long getAllocatedBytes()
+    {
+        return this.bytes.length + 12L * this.offsets.length;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%d lines, %d bytes, %d bytes allocated", getLineCount(), getByteCount(), getAllocatedBytes());
+    }
+
+    protected void ensureCapacity(int length)
+    {
+        if (this.byteCount + length <= this.bytes.length)
+        {
+            return;
+        }
+
+        long needed = (long)this.byteCount + length;
+
+        if (needed > Integer.MAX_VALUE - 8)
+        {
+            throw new IllegalStateException("Text arena can not hold more than 2 GB.");
+        }
+
+        this.bytes = Arrays.copyOf(this.bytes, (int)Math.min(Math.max(needed, this.bytes.length * 2L), Integer.MAX_VALUE - 8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,369 @@
+package bt.console.output.table;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A sorted and/or filtered view of the rows of another {@link ConsoleTable}.
+ *
+ * <p>
+ * A view holds no rows of its own. It shares the columns of its source table, so it renders through the same
+ * renderers, styles and alignments, and only keeps a bit set of the rows that pass its filters and an index array of
+ * the visible rows in their sorted order. The calculated widths of the shared columns are restored after every
+ * render, so rendering a view does not change the layout of its source. Any number of views can be created for one
+ * table.
+ * </p>
+ *
+ * <p>
+ * The order and filter are recalculated whenever rows of the source were added, replaced or removed, including rows
+ * that a full {@link RingConsoleTable} evicted. Call {@link #update()} after values of rows of the source were changed
+ * in place.
+ * </p>
+ */
+public class ConsoleTableView extends ConsoleTable
+{
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final Comparator<Object> NATURAL_ORDER = Comparator.nullsFirst((Comparator)Comparator.naturalOrder());
+
+    protected ConsoleTable source;
+    protected int sortColumn = -1;
+    protected Comparator<Object> comparator;
+    protected List<Integer> filterColumns;
+    protected List<Predicate<Object>> filters;
+    protected BitSet filter;
+    protected int[] visible;
+    protected long sourceModificationCount = -1;
+
+    public ConsoleTableView(ConsoleTable source)
+    {
+        super();
+        this.source = source;
+        this.columns = source.columns;
+        this.filterColumns = new ArrayList<>();
+        this.filters = new ArrayList<>();
+        this.filter = new BitSet();
+        this.visible = new int[0];
+    }
+
+    /**
+     * Sorts the rows by the natural order of the values of the given column. Null values come first.
+     *
+     * @param column The index of the column.
+     * @return This instance for chaining.
+     */
+    public ConsoleTableView sort(int column)
+    {
+        return sort(column, NATURAL_ORDER);
+    }
+
+    /**
+     * Sorts the rows by the values of the given column. The sort is stable.
+     *
+     * @param column     The index of the column.
+     * @param comparator Compares the raw values of the column.
+     * @return This instance for chaining.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ConsoleTableView sort(int column, Comparator<T> comparator)
+    {
+        this.sortColumn = column;
+        this.comparator = (Comparator<Object>)comparator;
+        update();
+        return this;
+    }
+
+    /**
+     * Only shows rows whose value in the given column matches the predicate. Multiple filters have to match all.
+     *
+     * @param column    The index of the column.
+     * @param predicate Tests the raw value of the column.
+     * @return This instance for chaining.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ConsoleTableView filter(int column, Predicate<T> predicate)
+    {
+        this.filterColumns.add(column);
+        this.filters.add((Predicate<Object>)predicate);
+        update();
+        return this;
+    }
+
+    /**
+     * Removes all filters and the sort order.
+     *
+     * @return This instance for chaining.
+     */
+    public ConsoleTableView clear()
+    {
+        this.sortColumn = -1;
+        this.comparator = null;
+        this.filterColumns.clear();
+        this.filters.clear();
+        update();
+        return this;
+    }
+
+    /**
+     * Recalculates the order and filter on the next render.
+     */
+    public void update()
+    {
+        this.sourceModificationCount = -1;
+    }
+
+    /**
+     * @return The number of visible rows as of the last render.
+     */
+    public int size()
+    {
+        return this.visible.length;
+    }
+
+    /**
+     * @param index The index of a row in this view.
+     * @return The index of the same row in the source table.
+     */
+    public int getSourceIndex(int index)
+    {
+        return this.visible[index];
+    }
+
+    /**
+     * Views are read only.
+     */
+    @Override
+    public void addRow(Object... values)
+    {
+        throw new UnsupportedOperationException("Rows have to be added to the source table.");
+    }
+
+    /**
+     * Views are read only.
+     */
+    @Override
+    public void replaceRow(int index, Object... values)
+    {
+        throw new UnsupportedOperationException("Rows have to be replaced in the source table.");
+    }
+
+    /**
+     * Renders the visible rows through the columns of the source and restores their calculated widths afterwards.
+     */
+    @Override
+    public void render(Appendable out) throws IOException
+    {
+        int count = this.columns.size();
+        int[] calculatedWidths = new int[count];
+        int[] preferredWidths = new int[count];
+        boolean[] fixed = new boolean[count];
+
+        for (int i = 0; i < count; i++)
+        {
+            var col = this.columns.get(i);
+            calculatedWidths[i] = col.getCalculatedWidth();
+            preferredWidths[i] = col.getPreferredWidth();
+            fixed[i] = col.isCalculatedWidthFixed();
+        }
+
+        try
+        {
+            super.render(out);
+        }
+        finally
+        {
+            for (int i = 0; i < count; i++)
+            {
+                var col = this.columns.get(i);
+                col.setCalculatedWidth(calculatedWidths[i]);
+                col.preferredWidth = preferredWidths[i];
+                col.setCalculatedWidthFixed(fixed[i]);
+            }
+        }
+    }
+
+    @Override
+    protected void prepareRows()
+    {
+        this.source.prepareRows();
+        this.columnSeparator = this.source.columnSeparator;
+        this.rowSeparator = this.source.rowSeparator;
+        this.titleSeparator = this.source.titleSeparator;
+        this.separatorStyles = this.source.separatorStyles;
+        this.multiline = this.source.multiline;
+        this.maxWidth = this.source.maxWidth;
+
+        long modificationCount = this.source.getModificationCount();
+
+        if (modificationCount != this.sourceModificationCount)
+        {
+            this.sourceModificationCount = modificationCount;
+            this.visible = calculateVisibleRows(this.source.getRowCount());
+            this.modificationCount++;
+        }
+
+        // the columns are shared with the source, widths have to fit the rows of this view only
+        for (var col : this.columns)
+        {
+            col.reset();
+        }
+    }
+
+    protected int[] calculateVisibleRows(int rowCount)
+    {
+        int visibleCount = rowCount;
+        this.filter.clear();
+
+        if (!this.filters.isEmpty())
+        {
+            for (int i = 0; i < rowCount; i++)
+            {
+                if (matches(i))
+                {
+                    this.filter.set(i);
+                }
+            }
+
+            visibleCount = this.filter.cardinality();
+        }
+        else
+        {
+            this.filter.set(0, rowCount);
+        }
+
+        int[] visible = new int[visibleCount];
+        int index = 0;
+
+        for (int i = this.filter.nextSetBit(0); i >= 0; i = this.filter.nextSetBit(i + 1))
+        {
+            visible[index++] = i;
+        }
+
+        if (this.comparator != null)
+        {
+            Object[] keys = new Object[visibleCount];
+
+            for (int i = 0; i < visibleCount; i++)
+            {
+                keys[i] = this.source.getCellValue(visible[i], this.sortColumn);
+            }
+
+            int[] positions = new int[visibleCount];
+
+            for (int i = 0; i < visibleCount; i++)
+            {
+                positions[i] = i;
+            }
+
+            mergeSort(positions, new int[visibleCount], 0, visibleCount, keys);
+
+            for (int i = 0; i < visibleCount; i++)
+            {
+                positions[i] = visible[positions[i]];
+            }
+
+            visible = positions;
+        }
+
+        return visible;
+    }
+
+    protected boolean matches(int row)
+    {
+        for (int i = 0; i < this.filters.size(); i++)
+        {
+            if (!this.filters.get(i).test(this.source.getCellValue(row, this.filterColumns.get(i))))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Stable merge sort of positions into the given keys.
+     */
+    protected void mergeSort(int[] positions, int[] buffer, int from, int to, Object[] keys)
+    {
+        if (to - from < 2)
+        {
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        mergeSort(positions, buffer, from, middle, keys);
+        mergeSort(positions, buffer, middle, to, keys);
+
+        if (this.comparator.compare(keys[positions[middle - 1]], keys[positions[middle]]) <= 0)
+        {
+            return;
+        }
+
+        System.arraycopy(positions, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+
+        for (int i = from; i < to; i++)
+        {
+            if (right >= to || (left < middle && this.comparator.compare(keys[buffer[left]], keys[buffer[right]]) <= 0))
+            {
+                positions[i] = buffer[left++];
+            }
+            else
+            {
+                positions[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * The columns and with them the aggregates belong to the source table.
+     */
+    @Override
+    protected boolean hasFooter()
+    {
+        return false;
+    }
+
+    @Override
+    protected void updateAggregates()
+    {
+    }
+
+    @Override
+    protected int getRowCount()
+    {
+        return this.visible.length;
+    }
+
+    @Override
+    protected Object getCellValue(int row, int column)
+    {
+        return this.source.getCellValue(this.visible[row], column);
+    }
+
+    @Override
+    protected ConsoleTableRow formatRow(int index)
+    {
+        return this.source.formatRow(this.visible[index]);
+    }
+
+    @Override
+    protected ConsoleTableRow getFormattedRow(int index)
+    {
+        return this.source.getFormattedRow(this.visible[index]);
+    }
+
+    /**
+     * Rows belong to the source table.
+     */
+    @Override
+    protected boolean canFormatInParallel()
+    {
+        return false;
+    }
+}
\ No newline at end of file
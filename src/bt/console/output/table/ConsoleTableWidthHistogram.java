@@ -0,0 +1,69 @@
+package bt.console.output.table;
+
+import java.util.Arrays;
+
+/**
+ * Counts how many cells of a column need which width, so the widest remaining cell is known after cells are removed.
+ * Adding and removing a width is O(1), finding the new maximum after the widest cell was removed scans down from the
+ * old maximum.
+ */
+public class ConsoleTableWidthHistogram
+{
+    protected int[] counts = new int[16];
+    protected int max;
+
+    /**
+     * Counts a cell of the given width. Widths <= 0 are ignored.
+     *
+     * @param width The width of the cell including padding.
+     */
+    public void add(int width)
+    {
+        if (width <= 0)
+        {
+            return;
+        }
+
+        if (width >= this.counts.length)
+        {
+            this.counts = Arrays.copyOf(this.counts, Math.max(width + 1, this.counts.length * 2));
+        }
+
+        this.counts[width]++;
+        this.max = Math.max(this.max, width);
+    }
+
+    /**
+     * Removes a cell of the given width that was {@link #add(int) added} before.
+     *
+     * @param width The width of the cell including padding.
+     */
+    public void remove(int width)
+    {
+        if (width <= 0)
+        {
+            return;
+        }
+
+        this.counts[width]--;
+
+        while (this.max > 0 && this.counts[this.max] == 0)
+        {
+            this.max--;
+        }
+    }
+
+    /**
+     * @return The width of the widest cell that is currently counted or 0 if there is none.
+     */
+    public int getMax()
+    {
+        return this.max;
+    }
+
+    public void clear()
+    {
+        Arrays.fill(this.counts, 0);
+        this.max = 0;
+    }
+}
\ No newline at end of file
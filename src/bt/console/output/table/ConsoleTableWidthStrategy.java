@@ -0,0 +1,88 @@
+package bt.console.output.table;
+
+/**
+ * Defines how a {@link ConsoleTable} determines its column widths before the header is written.
+ *
+ * <ul>
+ * <li>{@link #full()} formats every row before anything is written. Widths fit all values, but output starts only
+ * after the last row was formatted. This is the default.</li>
+ * <li>{@link #fixed()} uses the configured {@link ConsoleTableColumn#setWidth(int) column widths} or the header widths
+ * and starts writing immediately. Longer values are truncated.</li>
+ * <li>{@link #sample(int)} measures the first rows, then keeps those widths for the rest of the table. Longer values
+ * are truncated.</li>
+ * <li>{@link #adaptive(int)} measures the first rows and lets columns keep growing afterwards. Whenever a row widens a
+ * column the header is written again with the new widths before that row.</li>
+ * </ul>
+ */
+public final class ConsoleTableWidthStrategy
+{
+    public enum Type
+    {
+        FULL,
+        FIXED,
+        SAMPLE,
+        ADAPTIVE
+    }
+
+    private static final ConsoleTableWidthStrategy FULL = new ConsoleTableWidthStrategy(Type.FULL, Integer.MAX_VALUE);
+    private static final ConsoleTableWidthStrategy FIXED = new ConsoleTableWidthStrategy(Type.FIXED, 0);
+
+    private final Type type;
+    private final int sampleSize;
+
+    public static ConsoleTableWidthStrategy full()
+    {
+        return FULL;
+    }
+
+    public static ConsoleTableWidthStrategy fixed()
+    {
+        return FIXED;
+    }
+
+    /**
+     * @param sampleSize The number of rows that are measured before the header is written.
+     */
+    public static ConsoleTableWidthStrategy sample(int sampleSize)
+    {
+        return new ConsoleTableWidthStrategy(Type.SAMPLE, sampleSize);
+    }
+
+    /**
+     * @param sampleSize The number of rows that are measured before the first header is written.
+     */
+    public static ConsoleTableWidthStrategy adaptive(int sampleSize)
+    {
+        return new ConsoleTableWidthStrategy(Type.ADAPTIVE, sampleSize);
+    }
+
+    private ConsoleTableWidthStrategy(Type type, int sampleSize)
+    {
+        if (sampleSize < 0)
+        {
+            throw new IllegalArgumentException("Sample size must not be negative.");
+        }
+
+        this.type = type;
+        this.sampleSize = sampleSize;
+    }
+
+    public Type getType()
+    {
+        return this.type;
+    }
+
+    /**
+     * @return The number of rows that are formatted before the header is written.
+     */
+    public int getSampleSize()
+    {
+        return this.sampleSize;
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.type == Type.FULL || this.type == Type.FIXED ? this.type.toString() : this.type + "(" + this.sampleSize + ")";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package bt.console.output.table;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Exports a table as comma separated values according to RFC 4180. The first line contains the headers, values that
+ * contain the delimiter, quotes or line breaks are quoted.
+ */
+public class CsvConsoleTableExporter extends ConsoleTableExporter
+{
+    protected char delimiter;
+    protected String lineSeparator = "\r\n";
+
+    /**
+     * @param delimiter The character that separates values, usually ',' or ';'.
+     */
+    public CsvConsoleTableExporter(char delimiter)
+    {
+        this.delimiter = delimiter;
+    }
+
+    public void setLineSeparator(String lineSeparator)
+    {
+        this.lineSeparator = lineSeparator;
+    }
+
+    @Override
+    protected void begin(Appendable out, List<ConsoleTableColumn> columns, String[] headers) throws IOException
+    {
+        appendLine(out, headers);
+    }
+
+    @Override
+    protected void appendRow(Appendable out, int index, String[] headers, String[] values, Object[] rawValues) throws IOException
+    {
+        appendLine(out, values);
+    }
+
+    @Override
+    protected void end(Appendable out, int rowCount)
+    {
+    }
+
+    protected void appendLine(Appendable out, String[] values) throws IOException
+    {
+        for (int i = 0; i < values.length; i++)
+        {
+            if (i > 0)
+            {
+                out.append(this.delimiter);
+            }
+
+            appendValue(out, values[i]);
+        }
+
+        out.append(this.lineSeparator);
+    }
+
+    protected void appendValue(Appendable out, String value) throws IOException
+    {
+        if (!needsQuotes(value))
+        {
+            out.append(value);
+            return;
+        }
+
+        out.append('"');
+        int start = 0;
+
+        for (int i = 0; i < value.length(); i++)
+        {
+            if (value.charAt(i) == '"')
+            {
+                out.append(value, start, i + 1).append('"');
+                start = i + 1;
+            }
+        }
+
+        out.append(value, start, value.length()).append('"');
+    }
+
+    protected boolean needsQuotes(String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+
+            if (c == this.delimiter || c == '"' || c == '\n' || c == '\r')
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,826 @@
+package bt.console.output.table;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A {@link ConsoleTable} that renders its rows sorted by one column, even if they do not fit into memory.
+ *
+ * <p>
+ * Added rows are buffered until either the row budget or the {@link #setMaxBytesInMemory(long) memory budget} is
+ * reached. The memory of a buffered row is estimated from the length of its text values. The buffer is then
+ * formatted, sorted and written to a temporary file as a sorted run of already formatted text, so only the budget of
+ * rows is kept on the heap. Column widths are gathered while the runs are formatted. Rendering merges all runs and the
+ * rows that are still buffered and writes each row as soon as it is the smallest remaining one.
+ * </p>
+ *
+ * <p>
+ * At most {@link #setMaxMergeFanIn(int) fan-in} files are open at the same time. If there are more runs, groups of
+ * runs are first merged into larger runs until the remaining runs can be merged in one pass.
+ * </p>
+ *
+ * <p>
+ * Sort keys are the raw values of the sort column. Integral numbers, floating point numbers and all other values (by
+ * their string representation) are compared in their natural order, numbers before text and null before everything
+ * else. The sort is stable. Values are formatted with the settings at the time they are spilled, later changes to
+ * renderers or {@link #setMultiline(boolean) multiline} only affect rows that are still buffered.
+ * </p>
+ *
+ * <p>
+ * The temporary files are deleted by {@link #close()}. Only the formatted text of spilled rows is kept, so the table
+ * can not be {@link #view() viewed}, grouped or exported.
+ * </p>
+ */
+public class ExternalSortConsoleTable extends ConsoleTable implements Closeable
+{
+    protected static final byte NULL_KEY = 0;
+    protected static final byte LONG_KEY = 1;
+    protected static final byte DOUBLE_KEY = 2;
+    protected static final byte TEXT_KEY = 3;
+
+    public static final int DEFAULT_MAX_MERGE_FAN_IN = 64;
+    public static final long DEFAULT_MAX_BYTES_IN_MEMORY = 64L << 20;
+
+    protected static final int BUFFER_SIZE = 1 << 16;
+    protected static final int ROW_OVERHEAD = 64;
+    protected static final int CELL_OVERHEAD = 48;
+
+    protected final int sortColumn;
+    protected final boolean descending;
+    protected final int maxRowsInMemory;
+    protected final Comparator<Entry> entryOrder;
+    protected final Comparator<RunCursor> cursorOrder;
+    protected Path tempDirectory;
+    protected long maxBytesInMemory = DEFAULT_MAX_BYTES_IN_MEMORY;
+    protected int maxMergeFanIn = DEFAULT_MAX_MERGE_FAN_IN;
+    protected List<Entry> buffer;
+    protected long bufferedBytes;
+    protected List<Path> runs;
+    protected int spilledRows;
+    protected List<RunCursor> openCursors;
+    protected PriorityQueue<RunCursor> merge;
+
+    /**
+     * @param sortColumn      The index of the column to sort by.
+     * @param descending      true to sort in descending order.
+     * @param maxRowsInMemory The number of rows that are buffered before they are written to a temporary file.
+     * @param columnHeaders
+     */
+    public ExternalSortConsoleTable(int sortColumn, boolean descending, int maxRowsInMemory, String... columnHeaders)
+    {
+        super(columnHeaders);
+
+        if (maxRowsInMemory <= 0)
+        {
+            throw new IllegalArgumentException("Row budget must be positive.");
+        }
+
+        this.sortColumn = sortColumn;
+        this.descending = descending;
+        this.maxRowsInMemory = maxRowsInMemory;
+        this.buffer = new ArrayList<>();
+        this.runs = new ArrayList<>();
+        this.openCursors = new ArrayList<>();
+
+        Comparator<Entry> order = (a, b) -> compareKeys(a.key, b.key);
+        this.entryOrder = descending ? order.reversed() : order;
+
+        // runs that were written earlier hold the rows that were added earlier, the sort stays stable
+        this.cursorOrder = (a, b) -> {
+            int result = this.entryOrder.compare(a.current, b.current);
+            return result != 0 ? result : Integer.compare(a.index, b.index);
+        };
+    }
+
+    /**
+     * Sets the directory for the temporary run files. Defaults to the temporary directory of the system.
+     *
+     * @param tempDirectory
+     */
+    public void setTempDirectory(Path tempDirectory)
+    {
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Limits the estimated memory of the buffered rows. Rows are written to a temporary file once either this or the
+     * row budget is exceeded. Defaults to {@link #DEFAULT_MAX_BYTES_IN_MEMORY}.
+     *
+     * @param maxBytesInMemory The maximum number of bytes.
+     */
+    public void setMaxBytesInMemory(long maxBytesInMemory)
+    {
+        if (maxBytesInMemory <= 0)
+        {
+            throw new IllegalArgumentException("Memory budget must be positive.");
+        }
+
+        this.maxBytesInMemory = maxBytesInMemory;
+    }
+
+    public long getMaxBytesInMemory()
+    {
+        return this.maxBytesInMemory;
+    }
+
+    /**
+     * Sets the maximum number of runs that are merged at once, each of them holds an open file and a read buffer of
+     * 64 KB. Defaults to {@link #DEFAULT_MAX_MERGE_FAN_IN}.
+     *
+     * @param maxMergeFanIn The maximum number of runs per merge, at least 2.
+     */
+    public void setMaxMergeFanIn(int maxMergeFanIn)
+    {
+        if (maxMergeFanIn < 2)
+        {
+            throw new IllegalArgumentException("At least two runs have to be merged at once.");
+        }
+
+        this.maxMergeFanIn = maxMergeFanIn;
+    }
+
+    public int getMaxMergeFanIn()
+    {
+        return this.maxMergeFanIn;
+    }
+
+    /**
+     * @throws IllegalStateException If an aggregate was declared after the first row was added.
+     */
+    @Override
+    public void addRow(Object... values)
+    {
+        checkAggregates();
+        Object key = this.sortColumn < values.length ? normalizeKey(values[this.sortColumn]) : null;
+        this.buffer.add(new Entry(key, new ConsoleTableRow(values)));
+        this.bufferedBytes += estimateSize(values);
+        addToAggregates(values);
+        this.modificationCount++;
+
+        if (this.buffer.size() >= this.maxRowsInMemory || this.bufferedBytes >= this.maxBytesInMemory)
+        {
+            try
+            {
+                spill();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Only the formatted text of spilled rows is kept.
+     */
+    @Override
+    protected boolean hasCellValues()
+    {
+        return false;
+    }
+
+    /**
+     * Renders the merged rows and closes all runs, even if rendering fails.
+     */
+    @Override
+    public void render(Appendable out) throws IOException
+    {
+        try
+        {
+            super.render(out);
+        }
+        finally
+        {
+            closeCursors();
+        }
+    }
+
+    /**
+     * Rows are sorted, they can not be replaced by index.
+     */
+    @Override
+    public void replaceRow(int index, Object... values)
+    {
+        throw new UnsupportedOperationException("Rows of a sorted table can not be replaced.");
+    }
+
+    /**
+     * @return The number of temporary files that were written.
+     */
+    public int getRunCount()
+    {
+        return this.runs.size();
+    }
+
+    /**
+     * Deletes all temporary files and removes all rows.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        closeCursors();
+
+        for (var run : this.runs)
+        {
+            Files.deleteIfExists(run);
+        }
+
+        this.runs.clear();
+        this.buffer.clear();
+        this.bufferedBytes = 0;
+        this.spilledRows = 0;
+        invalidateAggregates();
+    }
+
+    /**
+     * Formats, sorts and writes the buffered rows to a new temporary file.
+     *
+     * @throws IOException
+     */
+    protected void spill() throws IOException
+    {
+        for (var entry : this.buffer)
+        {
+            entry.row.applyFormat(this.multiline, this.columns);
+        }
+
+        this.buffer.sort(this.entryOrder);
+
+        Path run = createRun();
+        this.runs.add(run);
+
+        try (var out = openOutput(run))
+        {
+            out.writeInt(this.buffer.size());
+
+            for (var entry : this.buffer)
+            {
+                writeEntry(out, entry);
+            }
+        }
+
+        this.spilledRows += this.buffer.size();
+        this.buffer.clear();
+        this.bufferedBytes = 0;
+    }
+
+    /**
+     * Merges consecutive groups of runs into larger runs until there are at most the given number of runs left.
+     *
+     * @param maxRuns
+     * @throws IOException
+     */
+    protected void reduceRuns(int maxRuns) throws IOException
+    {
+        while (this.runs.size() > maxRuns)
+        {
+            List<Path> merged = new ArrayList<>();
+
+            for (int i = 0; i < this.runs.size(); i += this.maxMergeFanIn)
+            {
+                var group = this.runs.subList(i, Math.min(i + this.maxMergeFanIn, this.runs.size()));
+                merged.add(group.size() == 1 ? group.get(0) : mergeRuns(group));
+            }
+
+            this.runs = merged;
+        }
+    }
+
+    /**
+     * Merges the given runs into a new run and deletes them.
+     *
+     * @param group The runs in the order they were written.
+     * @return The new run.
+     * @throws IOException
+     */
+    protected Path mergeRuns(List<Path> group) throws IOException
+    {
+        List<RunCursor> cursors = new ArrayList<>();
+        var queue = new PriorityQueue<RunCursor>(group.size(), this.cursorOrder);
+        Path run = createRun();
+
+        try
+        {
+            int size = 0;
+
+            for (int i = 0; i < group.size(); i++)
+            {
+                var cursor = openRun(i, group.get(i));
+                cursors.add(cursor);
+                size += cursor.size;
+                advance(cursor, queue);
+            }
+
+            try (var out = openOutput(run))
+            {
+                out.writeInt(size);
+                RunCursor cursor;
+
+                while ((cursor = queue.poll()) != null)
+                {
+                    writeEntry(out, cursor.current);
+                    advance(cursor, queue);
+                }
+            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            Files.deleteIfExists(run);
+            throw e;
+        }
+        finally
+        {
+            close(cursors);
+        }
+
+        for (var path : group)
+        {
+            Files.deleteIfExists(path);
+        }
+
+        return run;
+    }
+
+    protected Path createRun() throws IOException
+    {
+        Path run = this.tempDirectory == null ? Files.createTempFile("btconsole-run", ".tmp")
+                                              : Files.createTempFile(this.tempDirectory, "btconsole-run", ".tmp");
+        run.toFile().deleteOnExit();
+        return run;
+    }
+
+    protected DataOutputStream openOutput(Path run) throws IOException
+    {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE));
+    }
+
+    protected RunCursor openRun(int index, Path run) throws IOException
+    {
+        var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_SIZE));
+
+        try
+        {
+            return new RunCursor(index, in.readInt(), in, null);
+        }
+        catch (IOException e)
+        {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Roughly estimates the heap memory of a buffered row with the given values.
+     */
+    protected static long estimateSize(Object[] values)
+    {
+        long size = ROW_OVERHEAD;
+
+        for (Object value : values)
+        {
+            size += CELL_OVERHEAD;
+
+            if (value instanceof CharSequence)
+            {
+                size += 40 + 2L * ((CharSequence)value).length();
+            }
+            else if (value != null)
+            {
+                size += 16;
+            }
+        }
+
+        return size;
+    }
+
+    protected void writeEntry(DataOutputStream out, Entry entry) throws IOException
+    {
+        if (entry.key == null)
+        {
+            out.writeByte(NULL_KEY);
+        }
+        else if (entry.key instanceof Long)
+        {
+            out.writeByte(LONG_KEY);
+            out.writeLong((Long)entry.key);
+        }
+        else if (entry.key instanceof Double)
+        {
+            out.writeByte(DOUBLE_KEY);
+            out.writeDouble((Double)entry.key);
+        }
+        else
+        {
+            out.writeByte(TEXT_KEY);
+            writeString(out, (String)entry.key);
+        }
+
+        out.writeInt(this.columns.size());
+
+        for (int i = 0; i < this.columns.size(); i++)
+        {
+            String[] styles = entry.row.getStyles(i, this.columns.get(i));
+            out.writeInt(styles == null ? -1 : styles.length);
+
+            for (int j = 0; styles != null && j < styles.length; j++)
+            {
+                writeString(out, styles[j]);
+            }
+
+            List<String> lines = entry.row.values.get(i).getFormattedLines();
+            out.writeInt(lines.size());
+
+            for (String line : lines)
+            {
+                writeString(out, line);
+            }
+        }
+    }
+
+    protected Entry readEntry(DataInputStream in) throws IOException
+    {
+        Object key;
+
+        switch (in.readByte())
+        {
+            case LONG_KEY:
+                key = in.readLong();
+                break;
+            case DOUBLE_KEY:
+                key = in.readDouble();
+                break;
+            case TEXT_KEY:
+                key = readString(in);
+                break;
+            default:
+                key = null;
+        }
+
+        int columnCount = in.readInt();
+        String[][] styles = new String[columnCount][];
+        String[][] lines = new String[columnCount][];
+
+        for (int i = 0; i < columnCount; i++)
+        {
+            int styleCount = in.readInt();
+
+            if (styleCount >= 0)
+            {
+                styles[i] = new String[styleCount];
+
+                for (int j = 0; j < styleCount; j++)
+                {
+                    styles[i][j] = readString(in);
+                }
+            }
+
+            lines[i] = new String[in.readInt()];
+
+            for (int j = 0; j < lines[i].length; j++)
+            {
+                lines[i][j] = readString(in);
+            }
+        }
+
+        return new Entry(key, new SpilledRow(lines, styles));
+    }
+
+    protected static void writeString(DataOutputStream out, String s) throws IOException
+    {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    protected static String readString(DataInputStream in) throws IOException
+    {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Converts a value into a key that can be written to a run file.
+     */
+    protected static Object normalizeKey(Object value)
+    {
+        if (value == null)
+        {
+            return null;
+        }
+        else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+        {
+            return ((Number)value).longValue();
+        }
+        else if (value instanceof Number)
+        {
+            return ((Number)value).doubleValue();
+        }
+
+        return value.toString();
+    }
+
+    protected static int compareKeys(Object a, Object b)
+    {
+        if (a == null || b == null)
+        {
+            return a == b ? 0 : a == null ? -1 : 1;
+        }
+
+        boolean aNumber = a instanceof Number;
+        boolean bNumber = b instanceof Number;
+
+        if (aNumber && bNumber)
+        {
+            if (a instanceof Long && b instanceof Long)
+            {
+                return Long.compare((Long)a, (Long)b);
+            }
+
+            return Double.compare(((Number)a).doubleValue(), ((Number)b).doubleValue());
+        }
+        else if (aNumber != bNumber)
+        {
+            return aNumber ? -1 : 1;
+        }
+
+        return ((String)a).compareTo((String)b);
+    }
+
+    @Override
+    protected int getRowCount()
+    {
+        return this.spilledRows + this.buffer.size();
+    }
+
+    /**
+     * Formats the buffered rows and opens all runs for merging, after merging groups of runs if there are more than
+     * the fan-in allows. The widths of spilled rows were already gathered.
+     */
+    @Override
+    protected void prepareRows()
+    {
+        closeCursors();
+
+        for (var entry : this.buffer)
+        {
+            if (!this.cacheFormattedValues)
+            {
+                entry.row.invalidate();
+            }
+
+            entry.row.applyFormat(this.multiline, this.columns);
+        }
+
+        this.buffer.sort(this.entryOrder);
+
+        try
+        {
+            // the buffered rows take one place of the fan-in
+            reduceRuns(this.maxMergeFanIn - 1);
+            this.merge = new PriorityQueue<>(this.runs.size() + 1, this.cursorOrder);
+
+            for (int i = 0; i < this.runs.size(); i++)
+            {
+                var cursor = openRun(i, this.runs.get(i));
+                this.openCursors.add(cursor);
+                advance(cursor, this.merge);
+            }
+
+            var cursor = new RunCursor(this.runs.size(), this.buffer.size(), null, this.buffer);
+            this.openCursors.add(cursor);
+            advance(cursor, this.merge);
+        }
+        catch (IOException e)
+        {
+            closeCursors();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Spilled rows only keep their formatted text, so raw values are not available.
+     */
+    @Override
+    protected Object getCellValue(int row, int column)
+    {
+        throw new UnsupportedOperationException("Raw values of a sorted table are not kept.");
+    }
+
+    /**
+     * Spilled rows can not be aggregated again, so aggregates have to be declared before the first row is added.
+     *
+     * @throws IllegalStateException If an aggregate was declared after the first row was added.
+     */
+    @Override
+    protected void updateAggregates()
+    {
+        checkAggregates();
+    }
+
+    /**
+     * Aggregators start out {@link ConsoleTableAggregator#isValid() invalid} because they do not know the rows that
+     * were added before they were declared. They are reset as long as the table has no rows, otherwise their result
+     * would only cover the rows that are added later.
+     *
+     * @throws IllegalStateException If an aggregate was declared after the first row was added.
+     */
+    protected void checkAggregates()
+    {
+        for (var col : this.columns)
+        {
+            var aggregator = col.getAggregator();
+
+            if (aggregator != null && !aggregator.isValid())
+            {
+                if (getRowCount() > 0)
+                {
+                    throw new IllegalStateException("The aggregate of column '" + col.getHeader() + "' has to be declared before the first row is added.");
+                }
+
+                aggregator.reset();
+            }
+        }
+    }
+
+    /**
+     * Spilled rows are stored as formatted text and can not be formatted for other widths.
+     */
+    @Override
+    protected boolean canFitColumns()
+    {
+        return false;
+    }
+
+    /**
+     * All widths are known before rendering starts, independent of the width strategy.
+     */
+    @Override
+    protected int measureColumns(int rowCount)
+    {
+        measureFooter();
+        return rowCount;
+    }
+
+    /**
+     * Returns the next row of the merge. Rows have to be requested in ascending order, which is what
+     * {@link #render(Appendable)} does.
+     */
+    @Override
+    protected ConsoleTableRow getFormattedRow(int index)
+    {
+        var cursor = this.merge.poll();
+
+        if (cursor == null)
+        {
+            throw new IllegalStateException("No rows left to merge.");
+        }
+
+        var row = cursor.current.row;
+
+        try
+        {
+            advance(cursor, this.merge);
+        }
+        catch (IOException e)
+        {
+            closeCursors();
+            throw new UncheckedIOException(e);
+        }
+
+        if (this.merge.isEmpty())
+        {
+            closeCursors();
+        }
+
+        return row;
+    }
+
+    @Override
+    protected ConsoleTableRow formatRow(int index)
+    {
+        return getFormattedRow(index);
+    }
+
+    @Override
+    protected boolean canFormatInParallel()
+    {
+        return false;
+    }
+
+    /**
+     * Reads the next entry of the given cursor and adds the cursor to the given queue, unless the cursor is exhausted.
+     */
+    protected void advance(RunCursor cursor, PriorityQueue<RunCursor> queue) throws IOException
+    {
+        if (cursor.position < cursor.size)
+        {
+            cursor.current = cursor.in != null ? readEntry(cursor.in) : cursor.entries.get(cursor.position);
+            cursor.position++;
+            queue.add(cursor);
+        }
+        else
+        {
+            cursor.current = null;
+        }
+    }
+
+    protected void closeCursors()
+    {
+        close(this.openCursors);
+        this.openCursors.clear();
+
+        if (this.merge != null)
+        {
+            this.merge.clear();
+        }
+    }
+
+    protected static void close(List<RunCursor> cursors)
+    {
+        for (var cursor : cursors)
+        {
+            if (cursor.in != null)
+            {
+                try
+                {
+                    cursor.in.close();
+                }
+                catch (IOException e)
+                {
+                    // nothing left to read from it
+                }
+            }
+        }
+    }
+
+    protected static class Entry
+    {
+        protected final Object key;
+        protected final ConsoleTableRow row;
+
+        protected Entry(Object key, ConsoleTableRow row)
+        {
+            this.key = key;
+            this.row = row;
+        }
+    }
+
+    protected static class RunCursor
+    {
+        protected final int index;
+        protected final int size;
+        protected final DataInputStream in;
+        protected final List<Entry> entries;
+        protected int position;
+        protected Entry current;
+
+        protected RunCursor(int index, int size, DataInputStream in, List<Entry> entries)
+        {
+            this.index = index;
+            this.size = size;
+            this.in = in;
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * A row that was read back from a run file. It only holds the formatted lines and styles.
+     */
+    protected static class SpilledRow extends ConsoleTableRow
+    {
+        protected final String[][] styles;
+
+        protected SpilledRow(String[][] lines, String[][] styles)
+        {
+            this.styles = styles;
+
+            for (var cellLines : lines)
+            {
+                var value = new ConsoleTableColumnValue(null);
+                value.formattedLines = Arrays.asList(cellLines);
+                this.values.add(value);
+                this.numberOfLines = Math.max(this.numberOfLines, cellLines.length);
+            }
+        }
+
+        @Override
+        public String[] getStyles(int column, ConsoleTableColumn col)
+        {
+            return this.styles[column];
+        }
+    }
+}
\ No newline at end of file
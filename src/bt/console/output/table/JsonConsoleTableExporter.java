@@ -0,0 +1,190 @@
+package bt.console.output.table;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Exports a table as a JSON array with one object per row, keyed by the column headers and written on its own line.
+ *
+ * <p>
+ * Values are written as strings. Missing values are written as null, numbers and booleans whose rendered text is
+ * unchanged by the value renderer as JSON numbers and booleans. Numbers whose text is no valid JSON number, like NaN,
+ * infinity or the text of custom {@link Number} types, are written as strings.
+ * </p>
+ */
+public class JsonConsoleTableExporter extends ConsoleTableExporter
+{
+    protected static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Override
+    protected void begin(Appendable out, List<ConsoleTableColumn> columns, String[] headers) throws IOException
+    {
+        out.append('[');
+    }
+
+    @Override
+    protected void appendRow(Appendable out, int index, String[] headers, String[] values, Object[] rawValues) throws IOException
+    {
+        out.append(index == 0 ? "\n  {" : ",\n  {");
+
+        for (int i = 0; i < values.length; i++)
+        {
+            if (i > 0)
+            {
+                out.append(", ");
+            }
+
+            appendString(out, headers[i]);
+            out.append(": ");
+
+            if (rawValues[i] == null)
+            {
+                out.append("null");
+            }
+            else if (isLiteral(rawValues[i], values[i]))
+            {
+                out.append(values[i]);
+            }
+            else
+            {
+                appendString(out, values[i]);
+            }
+        }
+
+        out.append('}');
+    }
+
+    @Override
+    protected void end(Appendable out, int rowCount) throws IOException
+    {
+        out.append(rowCount == 0 ? "]\n" : "\n]\n");
+    }
+
+    /**
+     * @return true if the rendered value can be written without quotes.
+     */
+    protected boolean isLiteral(Object rawValue, String value)
+    {
+        if (rawValue instanceof Boolean)
+        {
+            return value.equals(rawValue.toString());
+        }
+
+        return rawValue instanceof Number && value.equals(rawValue.toString()) && isNumber(value);
+    }
+
+    /**
+     * @return true if the given text matches the number grammar of JSON.
+     */
+    protected static boolean isNumber(String text)
+    {
+        int i = 0;
+        int length = text.length();
+
+        if (i < length && text.charAt(i) == '-')
+        {
+            i++;
+        }
+
+        if (i < length && text.charAt(i) == '0')
+        {
+            i++;
+        }
+        else
+        {
+            int digits = skipDigits(text, i);
+
+            if (digits == i)
+            {
+                return false;
+            }
+
+            i = digits;
+        }
+
+        if (i < length && text.charAt(i) == '.')
+        {
+            int digits = skipDigits(text, i + 1);
+
+            if (digits == i + 1)
+            {
+                return false;
+            }
+
+            i = digits;
+        }
+
+        if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E'))
+        {
+            i++;
+
+            if (i < length && (text.charAt(i) == '+' || text.charAt(i) == '-'))
+            {
+                i++;
+            }
+
+            int digits = skipDigits(text, i);
+
+            if (digits == i)
+            {
+                return false;
+            }
+
+            i = digits;
+        }
+
+        return i == length;
+    }
+
+    private static int skipDigits(String text, int i)
+    {
+        while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9')
+        {
+            i++;
+        }
+
+        return i;
+    }
+
+    protected void appendString(Appendable out, String value) throws IOException
+    {
+        out.append('"');
+        int start = 0;
+
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+
+            if (c >= 0x20 && c != '"' && c != '\\')
+            {
+                continue;
+            }
+
+            out.append(value, start, i);
+            start = i + 1;
+
+            switch (c)
+            {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+
+        out.append(value, start, value.length()).append('"');
+    }
+}
\ No newline at end of file
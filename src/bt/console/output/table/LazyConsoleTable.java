@@ -0,0 +1,236 @@
+package bt.console.output.table;
+
+import bt.console.output.table.render.Alignment;
+import bt.console.output.table.render.ConsoleTableValueRenderer;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link ConsoleTable} that reads its rows from a {@link ConsoleTableRowSource} while rendering instead of holding
+ * all of them.
+ *
+ * <p>
+ * Only the rows of the current window are loaded, mapped and formatted, so rendering a page of a very large source
+ * costs as much as rendering a table with the rows of that page. Column widths are calculated per window. Until a
+ * window is set, {@link #render(Appendable)} and {@link #toString()} render the first
+ * {@link #DEFAULT_WINDOW_SIZE} rows.
+ * </p>
+ *
+ * @param <T> The type of the elements of the source.
+ */
+public class LazyConsoleTable<T> extends ConsoleTable
+{
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+
+    protected ConsoleTableRowSource<T> source;
+    protected ConsoleTableRowMapper<T> mapper;
+    protected int windowStart;
+    protected int windowEnd = DEFAULT_WINDOW_SIZE;
+    protected int loadedStart = -1;
+    protected int loadedEnd = -1;
+
+    /**
+     * Creates a lazy equivalent of {@link ConsoleTable#of(Iterable, ConsoleTableValueRenderer)}.
+     *
+     * @param list
+     * @param valueRenderer
+     * @return
+     */
+    public static <T> LazyConsoleTable<T> of(List<T> list, ConsoleTableValueRenderer<T> valueRenderer)
+    {
+        return ofIndexed(ConsoleTableRowSource.of(list), valueRenderer);
+    }
+
+    /**
+     * Creates a lazy equivalent of {@link ConsoleTable#of(Iterable, ConsoleTableValueRenderer)} over a forward only
+     * iterator.
+     *
+     * @param iterator
+     * @param valueRenderer
+     * @return
+     */
+    public static <T> LazyConsoleTable<T> of(Iterator<T> iterator, ConsoleTableValueRenderer<T> valueRenderer)
+    {
+        return ofIndexed(ConsoleTableRowSource.of(iterator), valueRenderer);
+    }
+
+    /**
+     * Creates a lazy equivalent of {@link ConsoleTable#of(Map, ConsoleTableValueRenderer, ConsoleTableValueRenderer)}.
+     * The map is read through its entry set iterator, windows therefore have to be requested in ascending order.
+     *
+     * @param map
+     * @param keyRenderer
+     * @param valueRenderer
+     * @return
+     */
+    public static <K, V> LazyConsoleTable<Map.Entry<K, V>> of(Map<K, V> map, ConsoleTableValueRenderer<K> keyRenderer, ConsoleTableValueRenderer<V> valueRenderer)
+    {
+        var table = new LazyConsoleTable<Map.Entry<K, V>>(ConsoleTableRowSource.of(map.entrySet().iterator()),
+                                                          (entry, index) -> new Object[]{ entry.getKey(), entry.getValue() });
+        table.setMultiline(true);
+
+        var col = table.addColumn("Key");
+
+        if (keyRenderer != null)
+        {
+            col.setValueRenderer(keyRenderer);
+        }
+
+        col = table.addColumn("Value");
+
+        if (valueRenderer != null)
+        {
+            col.setValueRenderer(valueRenderer);
+        }
+
+        return table;
+    }
+
+    protected static <T> LazyConsoleTable<T> ofIndexed(ConsoleTableRowSource<T> source, ConsoleTableValueRenderer<T> valueRenderer)
+    {
+        var table = new LazyConsoleTable<>(source, (element, index) -> new Object[]{ index, element });
+        table.setMultiline(true);
+
+        var col = table.addColumn("Index");
+        col.setValueAlignment(Alignment.RIGHT);
+
+        col = table.addColumn("Value");
+
+        if (valueRenderer != null)
+        {
+            col.setValueRenderer(valueRenderer);
+        }
+
+        return table;
+    }
+
+    public LazyConsoleTable(ConsoleTableRowSource<T> source, ConsoleTableRowMapper<T> mapper, String... columnHeaders)
+    {
+        super(columnHeaders);
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Sets the range of rows that is rendered by {@link #render(Appendable)} and {@link #toString()}.
+     *
+     * @param from The index of the first row (inclusive).
+     * @param to   The index after the last row (exclusive).
+     */
+    public void setWindow(int from, int to)
+    {
+        if (from < 0 || to < from)
+        {
+            throw new IllegalArgumentException("Invalid window [" + from + ", " + to + ").");
+        }
+
+        this.windowStart = from;
+        this.windowEnd = to;
+    }
+
+    /**
+     * Renders the rows from index {@code from} (inclusive) to {@code to} (exclusive) into the given appendable and
+     * keeps that range as the current window.
+     *
+     * @param out
+     * @param from
+     * @param to
+     * @throws IOException
+     */
+    public void renderWindow(Appendable out, int from, int to) throws IOException
+    {
+        setWindow(from, to);
+        render(out);
+    }
+
+    /**
+     * Renders the page with the given zero based index.
+     *
+     * @param out
+     * @param page
+     * @param pageSize The number of rows per page, must be positive.
+     * @throws IOException
+     */
+    public void renderPage(Appendable out, int page, int pageSize) throws IOException
+    {
+        checkPageSize(pageSize);
+
+        if (page < 0)
+        {
+            throw new IllegalArgumentException("Invalid page " + page + ".");
+        }
+
+        int from = Math.multiplyExact(page, pageSize);
+        int to = from > Integer.MAX_VALUE - pageSize ? Integer.MAX_VALUE : from + pageSize;
+        renderWindow(out, from, to);
+    }
+
+    /**
+     * @param pageSize The number of rows per page, must be positive.
+     * @return The number of pages of the given size or -1 if the size of the source is unknown.
+     */
+    public int getPageCount(int pageSize)
+    {
+        checkPageSize(pageSize);
+        int size = this.source.size();
+        return size < 0 ? -1 : size / pageSize + (size % pageSize == 0 ? 0 : 1);
+    }
+
+    protected void checkPageSize(int pageSize)
+    {
+        if (pageSize <= 0)
+        {
+            throw new IllegalArgumentException("Invalid page size " + pageSize + ".");
+        }
+    }
+
+    public ConsoleTableRowSource<T> getSource()
+    {
+        return this.source;
+    }
+
+    /**
+     * Rows can not be added to a lazy table, they are read from its source.
+     */
+    @Override
+    public void addRow(Object... values)
+    {
+        throw new UnsupportedOperationException("Rows of a lazy table are read from its source.");
+    }
+
+    /**
+     * Replaces a row of the currently loaded window until a different window is loaded.
+     */
+    @Override
+    public void replaceRow(int index, Object... values)
+    {
+        if (index < this.loadedStart || index >= this.loadedStart + this.rows.size())
+        {
+            throw new IndexOutOfBoundsException("Row " + index + " is not part of the loaded window.");
+        }
+
+        super.replaceRow(index - this.loadedStart, values);
+    }
+
+    @Override
+    protected void prepareRows()
+    {
+        if (this.loadedStart != this.windowStart || this.loadedEnd != this.windowEnd)
+        {
+            this.rows.clear();
+            this.source.forEach(this.windowStart, this.windowEnd, (element, index) -> this.rows.add(new ConsoleTableRow(this.mapper.map(element, index))));
+            this.loadedStart = this.windowStart;
+            this.loadedEnd = this.windowEnd;
+            invalidateAggregates();
+            this.modificationCount++;
+        }
+
+        for (var col : this.columns)
+        {
+            col.reset();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,402 @@
+package bt.console.output.table;
+
+import bt.console.output.DisplayWidth;
+import bt.console.output.styled.AnsiStyledTextRenderer;
+import bt.console.output.styled.Style;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redraws a {@link ConsoleTable} in place on an ANSI capable terminal.
+ *
+ * <p>
+ * The first {@link #refresh()} writes the complete table. Every further refresh renders the table again, compares it
+ * line by line with the previously drawn frame and only writes cursor movements and the lines that changed. Within a
+ * changed line that contains no styles only the part after the common prefix is rewritten, the cursor is placed by
+ * the {@link DisplayWidth display width} of the prefix. Style tags are written as ANSI escape sequences through an
+ * {@link AnsiStyledTextRenderer}.
+ * </p>
+ *
+ * <p>
+ * Refreshes that are requested faster than the {@link #setMaxRefreshRate(double) maximum refresh rate} are skipped and
+ * remembered. A trailing refresh is scheduled for the end of the interval, so the latest state is always drawn without
+ * further calls. It runs on the {@link #setScheduler(ScheduledExecutorService) scheduler} while holding the lock of
+ * this instance. Callers that change the table from another thread while a refresh may be pending have to do so while
+ * synchronized on this instance as well.
+ * </p>
+ */
+public class LiveConsoleTable
+{
+    protected static final String ESC = "\u001B[";
+
+    protected ConsoleTable table;
+    protected Appendable out;
+    protected AnsiStyledTextRenderer styleRenderer;
+    protected List<String> frame;
+    protected List<String> previousFrame;
+    protected StringBuilder buffer;
+    protected long minRefreshInterval;
+    protected long lastRefresh;
+    protected boolean pending;
+    protected ScheduledExecutorService scheduler;
+    protected ScheduledFuture<?> trailingRefresh;
+    protected IOException trailingRefreshError;
+
+    public LiveConsoleTable(ConsoleTable table, Appendable out)
+    {
+        this.table = table;
+        this.out = out;
+        this.styleRenderer = new AnsiStyledTextRenderer();
+        this.frame = new ArrayList<>();
+        this.previousFrame = new ArrayList<>();
+        this.buffer = new StringBuilder();
+        this.scheduler = DefaultScheduler.INSTANCE;
+    }
+
+    public ConsoleTable getTable()
+    {
+        return this.table;
+    }
+
+    public AnsiStyledTextRenderer getStyleRenderer()
+    {
+        return this.styleRenderer;
+    }
+
+    /**
+     * Sets the renderer that turns the style tags of the table into ANSI escape sequences.
+     *
+     * @param styleRenderer
+     */
+    public void setStyleRenderer(AnsiStyledTextRenderer styleRenderer)
+    {
+        this.styleRenderer = styleRenderer == null ? new AnsiStyledTextRenderer() : styleRenderer;
+    }
+
+    public ScheduledExecutorService getScheduler()
+    {
+        return this.scheduler;
+    }
+
+    /**
+     * Sets the executor that runs the trailing refresh after refreshes were skipped because of the
+     * {@link #setMaxRefreshRate(double) refresh rate}. By default a shared daemon thread is used.
+     *
+     * @param scheduler The executor or null to draw skipped refreshes only through {@link #refresh()} and
+     *                  {@link #flushPending()}.
+     */
+    public synchronized void setScheduler(ScheduledExecutorService scheduler)
+    {
+        cancelTrailingRefresh();
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Limits how often the table is actually redrawn.
+     *
+     * @param refreshesPerSecond The maximum number of redraws per second or a value <= 0 for no limit.
+     */
+    public void setMaxRefreshRate(double refreshesPerSecond)
+    {
+        this.minRefreshInterval = refreshesPerSecond > 0 ? (long)(1_000_000_000L / refreshesPerSecond) : 0;
+    }
+
+    /**
+     * @return true if a refresh was skipped because of the refresh rate and has not been drawn yet.
+     */
+    public synchronized boolean isPending()
+    {
+        return this.pending;
+    }
+
+    /**
+     * Redraws the table unless the last redraw happened less than the minimum refresh interval ago. A skipped refresh
+     * is drawn by a trailing refresh at the end of the interval.
+     *
+     * @return true if the table was redrawn, false if the refresh was skipped.
+     * @throws IOException If the output fails, including a failure of an earlier trailing refresh.
+     */
+    public synchronized boolean refresh() throws IOException
+    {
+        throwTrailingRefreshError();
+        long now = System.nanoTime();
+        long remaining = this.lastRefresh + this.minRefreshInterval - now;
+
+        if (!this.previousFrame.isEmpty() && remaining > 0)
+        {
+            this.pending = true;
+            scheduleTrailingRefresh(remaining);
+            return false;
+        }
+
+        this.lastRefresh = now;
+        this.pending = false;
+        draw();
+
+        return true;
+    }
+
+    /**
+     * Draws a skipped refresh regardless of the refresh rate.
+     *
+     * @return true if there was a pending refresh.
+     * @throws IOException If the output fails, including a failure of an earlier trailing refresh.
+     */
+    public synchronized boolean flushPending() throws IOException
+    {
+        throwTrailingRefreshError();
+        return drawPending();
+    }
+
+    /**
+     * Forgets the previously drawn frame, so the next refresh writes the complete table below the current cursor
+     * position. A scheduled trailing refresh is cancelled.
+     */
+    public synchronized void reset()
+    {
+        cancelTrailingRefresh();
+        this.previousFrame.clear();
+        this.pending = false;
+    }
+
+    protected boolean drawPending() throws IOException
+    {
+        if (!this.pending)
+        {
+            return false;
+        }
+
+        this.lastRefresh = System.nanoTime();
+        this.pending = false;
+        draw();
+
+        return true;
+    }
+
+    protected void scheduleTrailingRefresh(long delay)
+    {
+        if (this.scheduler != null && (this.trailingRefresh == null || this.trailingRefresh.isDone()))
+        {
+            this.trailingRefresh = this.scheduler.schedule(this::runTrailingRefresh, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    protected synchronized void runTrailingRefresh()
+    {
+        try
+        {
+            drawPending();
+        }
+        catch (IOException e)
+        {
+            // nobody waits for the scheduled task, the next call reports the failure
+            this.trailingRefreshError = e;
+        }
+    }
+
+    protected void cancelTrailingRefresh()
+    {
+        if (this.trailingRefresh != null)
+        {
+            this.trailingRefresh.cancel(false);
+            this.trailingRefresh = null;
+        }
+    }
+
+    protected void throwTrailingRefreshError() throws IOException
+    {
+        IOException e = this.trailingRefreshError;
+
+        if (e != null)
+        {
+            this.trailingRefreshError = null;
+            throw e;
+        }
+    }
+
+    protected void draw() throws IOException
+    {
+        this.buffer.setLength(0);
+        this.table.render(this.buffer);
+        splitLines(this.buffer, this.frame);
+
+        for (int i = 0; i < this.frame.size(); i++)
+        {
+            String line = this.frame.get(i);
+
+            if (line.contains(Style.START_TAG))
+            {
+                this.frame.set(i, this.styleRenderer.render(line));
+            }
+        }
+
+        if (this.previousFrame.isEmpty())
+        {
+            for (String line : this.frame)
+            {
+                this.out.append(line).append(System.lineSeparator());
+            }
+        }
+        else
+        {
+            drawDiff();
+        }
+
+        var swap = this.previousFrame;
+        this.previousFrame = this.frame;
+        this.frame = swap;
+
+        if (this.out instanceof Flushable)
+        {
+            ((Flushable)this.out).flush();
+        }
+    }
+
+    /**
+     * Moves the cursor from below the previous frame to its first line and rewrites the lines that changed. The
+     * cursor ends up below the new frame.
+     *
+     * @throws IOException If the output fails.
+     */
+    protected void drawDiff() throws IOException
+    {
+        int previousSize = this.previousFrame.size();
+        int skipped = 0;
+
+        this.out.append(ESC).append(Integer.toString(previousSize)).append('A');
+
+        for (int i = 0; i < this.frame.size(); i++)
+        {
+            String line = this.frame.get(i);
+            String previous = i < previousSize ? this.previousFrame.get(i) : null;
+
+            if (line.equals(previous))
+            {
+                skipped++;
+                continue;
+            }
+
+            if (skipped > 0)
+            {
+                this.out.append(ESC).append(Integer.toString(skipped)).append('B');
+                skipped = 0;
+            }
+
+            int prefix = previous == null ? 0 : commonPrefix(previous, line);
+
+            if (prefix > 0)
+            {
+                // columns are 1 based
+                this.out.append(ESC).append(Integer.toString(DisplayWidth.of(line, 0, prefix) + 1)).append('G');
+            }
+            else
+            {
+                this.out.append('\r');
+            }
+
+            this.out.append(line, prefix, line.length()).append(ESC).append('K');
+
+            if (i < previousSize)
+            {
+                this.out.append(ESC).append("1B").append('\r');
+            }
+            else
+            {
+                this.out.append(System.lineSeparator());
+            }
+        }
+
+        if (skipped > 0)
+        {
+            this.out.append(ESC).append(Integer.toString(skipped)).append('B');
+        }
+
+        if (this.frame.size() < previousSize)
+        {
+            // clear the rest of the old, longer frame
+            this.out.append('\r').append(ESC).append('J');
+        }
+    }
+
+    /**
+     * Returns the length of the common prefix of both lines in chars. The prefix never ends within a surrogate pair or
+     * before a zero width code point that combines with the previous character. Lines with escape sequences are not
+     * compared because the sequences take no space on screen and set attributes for the text after them, 0 is
+     * returned for them.
+     */
+    protected int commonPrefix(String previous, String line)
+    {
+        if (line.indexOf('\u001B') >= 0 || previous.indexOf('\u001B') >= 0)
+        {
+            return 0;
+        }
+
+        int length = Math.min(previous.length(), line.length());
+        int i = 0;
+
+        while (i < length && previous.charAt(i) == line.charAt(i))
+        {
+            i++;
+        }
+
+        while (i > 0 && i < line.length()
+                && (Character.isLowSurrogate(line.charAt(i)) || DisplayWidth.of(line.codePointAt(i)) == 0))
+        {
+            i--;
+        }
+
+        return i;
+    }
+
+    protected static void splitLines(CharSequence text, List<String> lines)
+    {
+        lines.clear();
+        String separator = System.lineSeparator();
+        int start = 0;
+
+        for (int i = 0; i <= text.length() - separator.length(); i++)
+        {
+            if (regionMatches(text, i, separator))
+            {
+                lines.add(text.subSequence(start, i).toString());
+                i += separator.length() - 1;
+                start = i + 1;
+            }
+        }
+
+        if (start < text.length())
+        {
+            lines.add(text.subSequence(start, text.length()).toString());
+        }
+    }
+
+    private static final class DefaultScheduler
+    {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(r ->
+        {
+            Thread thread = new Thread(r, "LiveConsoleTable refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static boolean regionMatches(CharSequence text, int offset, String other)
+    {
+        for (int i = 0; i < other.length(); i++)
+        {
+            if (text.charAt(offset + i) != other.charAt(i))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package bt.console.output.table;
+
+import bt.console.output.table.render.Alignment;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Exports a table as a GitHub flavored markdown table. Column alignments are taken from the
+ * {@link ConsoleTableColumn#getValueAlignment() value alignments}. Backslashes and pipes are escaped and line breaks
+ * within values are written as &lt;br&gt;.
+ */
+public class MarkdownConsoleTableExporter extends ConsoleTableExporter
+{
+    @Override
+    protected void begin(Appendable out, List<ConsoleTableColumn> columns, String[] headers) throws IOException
+    {
+        appendLine(out, headers);
+        out.append('|');
+
+        for (var col : columns)
+        {
+            if (col.getValueAlignment() == Alignment.RIGHT)
+            {
+                out.append(" ---: |");
+            }
+            else if (col.getValueAlignment() == Alignment.CENTER)
+            {
+                out.append(" :---: |");
+            }
+            else
+            {
+                out.append(" --- |");
+            }
+        }
+
+        out.append('\n');
+    }
+
+    @Override
+    protected void appendRow(Appendable out, int index, String[] headers, String[] values, Object[] rawValues) throws IOException
+    {
+        appendLine(out, values);
+    }
+
+    @Override
+    protected void end(Appendable out, int rowCount)
+    {
+    }
+
+    protected void appendLine(Appendable out, String[] values) throws IOException
+    {
+        out.append('|');
+
+        for (String value : values)
+        {
+            out.append(' ');
+            appendValue(out, value);
+            out.append(" |");
+        }
+
+        out.append('\n');
+    }
+
+    protected void appendValue(Appendable out, String value) throws IOException
+    {
+        int start = 0;
+
+        for (int i = 0; i < value.length(); i++)
+        {
+            char c = value.charAt(i);
+            String escape;
+
+            if (c == '|')
+            {
+                escape = "\\|";
+            }
+            else if (c == '\\')
+            {
+                // a trailing backslash would escape the pipe that closes the cell
+                escape = "\\\\";
+            }
+            else if (c == '\n')
+            {
+                escape = "<br>";
+            }
+            else if (c == '\r')
+            {
+                escape = "";
+            }
+            else
+            {
+                continue;
+            }
+
+            out.append(value, start, i).append(escape);
+            start = i + 1;
+        }
+
+        out.append(value, start, value.length());
+    }
+}
\ No newline at end of file
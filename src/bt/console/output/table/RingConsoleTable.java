@@ -0,0 +1,231 @@
+package bt.console.output.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link ConsoleTable} that keeps only the most recent rows, for example the last 500 requests.
+ *
+ * <p>
+ * Rows are stored in a ring buffer of fixed capacity. Once it is full every added row replaces the oldest one in O(1)
+ * and reuses its row object, so memory stays constant no matter how many rows are added. Index 0 always refers to the
+ * oldest row that is still kept.
+ * </p>
+ *
+ * <p>
+ * Each column keeps a histogram of the widths of its formatted cells. Unlike the widths of a normal table, which only
+ * ever grow, column widths shrink again once the widest rows were evicted. Aggregates only cover the rows that are
+ * currently kept.
+ * </p>
+ */
+public class RingConsoleTable extends ConsoleTable
+{
+    protected final ConsoleTableRow[] ring;
+    protected final int[][] rowWidths;
+    protected List<ConsoleTableWidthHistogram> histograms;
+    protected int head;
+    protected int size;
+
+    public RingConsoleTable(int capacity, String... columnHeaders)
+    {
+        super(columnHeaders);
+
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+
+        this.ring = new ConsoleTableRow[capacity];
+        this.rowWidths = new int[capacity][];
+        this.histograms = new ArrayList<>();
+    }
+
+    /**
+     * Adds a row. If the table is full the oldest row is evicted.
+     */
+    @Override
+    public void addRow(Object... values)
+    {
+        int slot;
+
+        if (this.size == this.ring.length)
+        {
+            slot = this.head;
+            removeFromAggregates(0);
+            this.head = (this.head + 1) % this.ring.length;
+            removeWidths(slot);
+            this.ring[slot].setValues(values);
+        }
+        else
+        {
+            slot = (this.head + this.size) % this.ring.length;
+            this.ring[slot] = new ConsoleTableRow(values);
+            this.size++;
+        }
+
+        addToAggregates(values);
+        this.modificationCount++;
+    }
+
+    /**
+     * Replaces the row at the given index, where index 0 is the oldest row.
+     */
+    @Override
+    public void replaceRow(int index, Object... values)
+    {
+        removeFromAggregates(index);
+        this.ring[slot(index)].setValues(values);
+        addToAggregates(values);
+        this.modificationCount++;
+    }
+
+    /**
+     * Removes all rows.
+     */
+    public void clear()
+    {
+        Arrays.fill(this.ring, null);
+        Arrays.fill(this.rowWidths, null);
+
+        for (var histogram : this.histograms)
+        {
+            histogram.clear();
+        }
+
+        this.head = 0;
+        this.size = 0;
+        invalidateAggregates();
+        this.modificationCount++;
+    }
+
+    public int getCapacity()
+    {
+        return this.ring.length;
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    protected int getRowCount()
+    {
+        return this.size;
+    }
+
+    @Override
+    protected Object getCellValue(int row, int column)
+    {
+        return this.ring[slot(row)].getCellValue(column);
+    }
+
+    @Override
+    protected ConsoleTableRow formatRow(int index)
+    {
+        int slot = slot(index);
+        var row = this.ring[slot];
+
+        if (!this.cacheFormattedValues)
+        {
+            row.invalidate();
+        }
+
+        row.applyFormat(this.multiline, this.columns);
+        removeWidths(slot);
+        addWidths(slot, row);
+
+        return row;
+    }
+
+    @Override
+    protected ConsoleTableRow getFormattedRow(int index)
+    {
+        return this.ring[slot(index)];
+    }
+
+    /**
+     * Sets the calculated width of every column to the widest cell that is currently kept instead of the widest cell
+     * that was ever added.
+     */
+    @Override
+    protected int measureColumns(int rowCount)
+    {
+        int measuredRows = super.measureColumns(rowCount);
+
+        if (this.widthStrategy.getType() == ConsoleTableWidthStrategy.Type.FULL)
+        {
+            for (int i = 0; i < this.columns.size(); i++)
+            {
+                var col = this.columns.get(i);
+                col.reset();
+                col.setMaxCalculatedWidth(histogram(i).getMax());
+            }
+
+            measureFooter();
+        }
+
+        return measuredRows;
+    }
+
+    /**
+     * Rows are stored in the ring buffer, not in {@link #rows}.
+     */
+    @Override
+    protected boolean canFormatInParallel()
+    {
+        return false;
+    }
+
+    protected int slot(int index)
+    {
+        if (index < 0 || index >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + this.size + " rows.");
+        }
+
+        return (this.head + index) % this.ring.length;
+    }
+
+    protected ConsoleTableWidthHistogram histogram(int column)
+    {
+        while (column >= this.histograms.size())
+        {
+            this.histograms.add(new ConsoleTableWidthHistogram());
+        }
+
+        return this.histograms.get(column);
+    }
+
+    protected void addWidths(int slot, ConsoleTableRow row)
+    {
+        int[] widths = this.rowWidths[slot];
+
+        if (widths == null || widths.length != this.columns.size())
+        {
+            widths = new int[this.columns.size()];
+            this.rowWidths[slot] = widths;
+        }
+
+        for (int i = 0; i < widths.length; i++)
+        {
+            widths[i] = row.getWidth(i);
+            histogram(i).add(widths[i]);
+        }
+    }
+
+    protected void removeWidths(int slot)
+    {
+        int[] widths = this.rowWidths[slot];
+
+        if (widths != null)
+        {
+            for (int i = 0; i < widths.length; i++)
+            {
+                histogram(i).remove(widths[i]);
+                widths[i] = 0;
+            }
+        }
+    }
+}
\ No newline at end of file
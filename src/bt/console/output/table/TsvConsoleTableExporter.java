@@ -0,0 +1,76 @@
+package bt.console.output.table;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Exports a table as tab separated values. The first line contains the headers. Since fields can not contain tabs or
+ * line breaks, those and backslashes are written as the escape sequences \t, \n, \r and \\.
+ */
+public class TsvConsoleTableExporter extends ConsoleTableExporter
+{
+    @Override
+    protected void begin(Appendable out, List<ConsoleTableColumn> columns, String[] headers) throws IOException
+    {
+        appendLine(out, headers);
+    }
+
+    @Override
+    protected void appendRow(Appendable out, int index, String[] headers, String[] values, Object[] rawValues) throws IOException
+    {
+        appendLine(out, values);
+    }
+
+    @Override
+    protected void end(Appendable out, int rowCount)
+    {
+    }
+
+    protected void appendLine(Appendable out, String[] values) throws IOException
+    {
+        for (int i = 0; i < values.length; i++)
+        {
+            if (i > 0)
+            {
+                out.append('\t');
+            }
+
+            appendValue(out, values[i]);
+        }
+
+        out.append('\n');
+    }
+
+    protected void appendValue(Appendable out, String value) throws IOException
+    {
+        int start = 0;
+
+        for (int i = 0; i < value.length(); i++)
+        {
+            String escape;
+
+            switch (value.charAt(i))
+            {
+                case '\t':
+                    escape = "\\t";
+                    break;
+                case '\n':
+                    escape = "\\n";
+                    break;
+                case '\r':
+                    escape = "\\r";
+                    break;
+                case '\\':
+                    escape = "\\\\";
+                    break;
+                default:
+                    continue;
+            }
+
+            out.append(value, start, i).append(escape);
+            start = i + 1;
+        }
+
+        out.append(value, start, value.length());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,208 @@
+package bt.console.output.table.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Growable storage for the values of a single table column.
+ *
+ * <p>
+ * Primitive stores keep their values in primitive arrays, values are only boxed when a cell is handed to a column
+ * renderer. Cells of primitive stores that hold null or no value at all are marked in bitmaps, so they are rendered
+ * like the same cells of a {@link bt.console.output.table.ConsoleTable ConsoleTable}.
+ * </p>
+ */
+public abstract class ColumnStore
+{
+    protected static final int DEFAULT_CAPACITY = 16;
+
+    protected long[] nulls = new long[0];
+    protected long[] empties = new long[0];
+
+    public static ColumnStore of(ColumnType type)
+    {
+        switch (type)
+        {
+            case INT:
+                return new IntColumnStore();
+            case LONG:
+                return new LongColumnStore();
+            case DOUBLE:
+                return new DoubleColumnStore();
+            case STRING:
+                return new ObjectColumnStore(ColumnType.STRING);
+            default:
+                return new ObjectColumnStore(ColumnType.OBJECT);
+        }
+    }
+
+    public abstract ColumnType getType();
+
+    /**
+     * @return The number of cells this store can hold without growing.
+     */
+    public abstract int capacity();
+
+    /**
+     * Grows the backing array so that at least the given number of cells can be stored.
+     *
+     * @param capacity The required capacity.
+     */
+    public abstract void ensureCapacity(int capacity);
+
+    /**
+     * Returns the value at the given index, boxing primitive values.
+     *
+     * @param index
+     * @return
+     */
+    public abstract Object get(int index);
+
+    /**
+     * Returns the value at the given index like {@link #get(int)}, but null for empty cells, like
+     * {@link bt.console.output.table.ConsoleTableRow#getCellValue(int) ConsoleTableRow} reports cells that were never
+     * set. Aggregates, views and exporters read cells through this method.
+     *
+     * @param index
+     * @return
+     */
+    public Object getCellValue(int index)
+    {
+        return isSet(this.empties, index) ? null : get(index);
+    }
+
+    public abstract void setObject(int index, Object value);
+
+    /**
+     * Resets the cell at the given index to the value used for missing cells.
+     *
+     * @param index
+     */
+    public abstract void setEmpty(int index);
+
+    /**
+     * @param index
+     * @return true if the cell at the given index holds neither null nor an empty value.
+     */
+    public boolean hasValue(int index)
+    {
+        return !isSet(this.nulls, index) && !isSet(this.empties, index);
+    }
+
+    /**
+     * @param value
+     * @return true if the given value can be stored by {@link #setObject(int, Object)}.
+     */
+    public boolean accepts(Object value)
+    {
+        return true;
+    }
+
+    /**
+     * @param value
+     * @throws IllegalArgumentException If the given value can not be stored by {@link #setObject(int, Object)}.
+     */
+    public void checkValue(Object value)
+    {
+        if (!accepts(value))
+        {
+            throw unsupported(value.getClass().getSimpleName());
+        }
+    }
+
+    public void setInt(int index, int value)
+    {
+        setLong(index, value);
+    }
+
+    public void setLong(int index, long value)
+    {
+        throw unsupported("long");
+    }
+
+    public void setDouble(int index, double value)
+    {
+        throw unsupported("double");
+    }
+
+    protected IllegalArgumentException unsupported(String valueType)
+    {
+        return new IllegalArgumentException("A column of type " + getType() + " can not store " + valueType + " values.");
+    }
+
+    /**
+     * Returns null for cells that were set to null and "" for empty cells, like they are stored in a
+     * {@link bt.console.output.table.ConsoleTableRow ConsoleTableRow}.
+     *
+     * @param index
+     * @return The missing value of the cell or the given value if the cell holds one.
+     */
+    protected Object missingOr(int index, Object value)
+    {
+        if (isSet(this.nulls, index))
+        {
+            return null;
+        }
+
+        return isSet(this.empties, index) ? "" : value;
+    }
+
+    /**
+     * Marks the cell at the given index as null, or as empty if the given flag is false.
+     */
+    protected void markMissing(int index, boolean isNull)
+    {
+        if (isNull)
+        {
+            this.nulls = setBit(this.nulls, index);
+            clearBit(this.empties, index);
+        }
+        else
+        {
+            this.empties = setBit(this.empties, index);
+            clearBit(this.nulls, index);
+        }
+    }
+
+    /**
+     * Marks the cell at the given index as holding a value.
+     */
+    protected void markPresent(int index)
+    {
+        clearBit(this.nulls, index);
+        clearBit(this.empties, index);
+    }
+
+    protected static boolean isSet(long[] bits, int index)
+    {
+        int word = index >>> 6;
+        return word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    protected static long[] setBit(long[] bits, int index)
+    {
+        int word = index >>> 6;
+
+        if (word >= bits.length)
+        {
+            bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length * 2));
+        }
+
+        bits[word] |= 1L << index;
+        return bits;
+    }
+
+    protected static void clearBit(long[] bits, int index)
+    {
+        int word = index >>> 6;
+
+        if (word < bits.length)
+        {
+            bits[word] &= ~(1L << index);
+        }
+    }
+
+    protected static int grow(int current, int required)
+    {
+        return Math.max(required, Math.max(DEFAULT_CAPACITY, current + (current >> 1)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package bt.console.output.table.columnar;
+
+public enum ColumnType
+{
+    INT,
+    LONG,
+    DOUBLE,
+    STRING,
+    OBJECT
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package bt.console.output.table.columnar;
+
+import java.util.Arrays;
+
+public class DoubleColumnStore extends ColumnStore
+{
+    protected double[] values = new double[0];
+
+    @Override
+    public ColumnType getType()
+    {
+        return ColumnType.DOUBLE;
+    }
+
+    @Override
+    public int capacity()
+    {
+        return this.values.length;
+    }
+
+    @Override
+    public void ensureCapacity(int capacity)
+    {
+        if (capacity > this.values.length)
+        {
+            this.values = Arrays.copyOf(this.values, grow(this.values.length, capacity));
+        }
+    }
+
+    @Override
+    public Object get(int index)
+    {
+        return missingOr(index, this.values[index]);
+    }
+
+    /**
+     * @param index
+     * @return The value of the cell, 0 for cells without a value.
+     */
+    public double getDouble(int index)
+    {
+        return this.values[index];
+    }
+
+    @Override
+    public void setLong(int index, long value)
+    {
+        this.values[index] = value;
+        markPresent(index);
+    }
+
+    @Override
+    public void setDouble(int index, double value)
+    {
+        this.values[index] = value;
+        markPresent(index);
+    }
+
+    @Override
+    public boolean accepts(Object value)
+    {
+        return value == null || value instanceof Number;
+    }
+
+    @Override
+    public void setObject(int index, Object value)
+    {
+        if (value instanceof Number)
+        {
+            this.values[index] = ((Number)value).doubleValue();
+            markPresent(index);
+        }
+        else if (value == null)
+        {
+            this.values[index] = 0;
+            markMissing(index, true);
+        }
+        else
+        {
+            throw unsupported(value.getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public void setEmpty(int index)
+    {
+        this.values[index] = 0;
+        markMissing(index, false);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package bt.console.output.table.columnar;
+
+import java.util.Arrays;
+
+public class IntColumnStore extends ColumnStore
+{
+    protected int[] values = new int[0];
+
+    @Override
+    public ColumnType getType()
+    {
+        return ColumnType.INT;
+    }
+
+    @Override
+    public int capacity()
+    {
+        return this.values.length;
+    }
+
+    @Override
+    public void ensureCapacity(int capacity)
+    {
+        if (capacity > this.values.length)
+        {
+            this.values = Arrays.copyOf(this.values, grow(this.values.length, capacity));
+        }
+    }
+
+    @Override
+    public Object get(int index)
+    {
+        return missingOr(index, this.values[index]);
+    }
+
+    /**
+     * @param index
+     * @return The value of the cell, 0 for cells without a value.
+     */
+    public int getInt(int index)
+    {
+        return this.values[index];
+    }
+
+    @Override
+    public void setInt(int index, int value)
+    {
+        this.values[index] = value;
+        markPresent(index);
+    }
+
+    @Override
+    public void setLong(int index, long value)
+    {
+        if (!fits(value))
+        {
+            throw new IllegalArgumentException("The value " + value + " does not fit into a column of type " + getType() + ".");
+        }
+
+        this.values[index] = (int)value;
+        markPresent(index);
+    }
+
+    @Override
+    public boolean accepts(Object value)
+    {
+        return value == null || value instanceof Integer || value instanceof Short || value instanceof Byte || value instanceof Long;
+    }
+
+    @Override
+    public void setObject(int index, Object value)
+    {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte)
+        {
+            this.values[index] = ((Number)value).intValue();
+            markPresent(index);
+        }
+        else if (value instanceof Long)
+        {
+            setLong(index, (Long)value);
+        }
+        else if (value == null)
+        {
+            this.values[index] = 0;
+            markMissing(index, true);
+        }
+        else
+        {
+            throw unsupported(value.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * @param value
+     * @return true if the given value can be stored without losing information.
+     */
+    public static boolean fits(long value)
+    {
+        return (int)value == value;
+    }
+
+    /**
+     * @return A store of type {@link ColumnType#LONG} with the values and missing cells of this store.
+     */
+    public LongColumnStore toLongStore()
+    {
+        var store = new LongColumnStore();
+        store.values = new long[this.values.length];
+
+        for (int i = 0; i < this.values.length; i++)
+        {
+            store.values[i] = this.values[i];
+        }
+
+        store.nulls = this.nulls.clone();
+        store.empties = this.empties.clone();
+
+        return store;
+    }
+
+    @Override
+    public void setEmpty(int index)
+    {
+        this.values[index] = 0;
+        markMissing(index, false);
+    }
+}
\ No newline at end of file
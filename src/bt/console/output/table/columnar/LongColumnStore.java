@@ -0,0 +1,83 @@
+package bt.console.output.table.columnar;
+
+import java.util.Arrays;
+
+public class LongColumnStore extends ColumnStore
+{
+    protected long[] values = new long[0];
+
+    @Override
+    public ColumnType getType()
+    {
+        return ColumnType.LONG;
+    }
+
+    @Override
+    public int capacity()
+    {
+        return this.values.length;
+    }
+
+    @Override
+    public void ensureCapacity(int capacity)
+    {
+        if (capacity > this.values.length)
+        {
+            this.values = Arrays.copyOf(this.values, grow(this.values.length, capacity));
+        }
+    }
+
+    @Override
+    public Object get(int index)
+    {
+        return missingOr(index, this.values[index]);
+    }
+
+    /**
+     * @param index
+     * @return The value of the cell, 0 for cells without a value.
+     */
+    public long getLong(int index)
+    {
+        return this.values[index];
+    }
+
+    @Override
+    public void setLong(int index, long value)
+    {
+        this.values[index] = value;
+        markPresent(index);
+    }
+
+    @Override
+    public boolean accepts(Object value)
+    {
+        return value == null || value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    @Override
+    public void setObject(int index, Object value)
+    {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+        {
+            this.values[index] = ((Number)value).longValue();
+            markPresent(index);
+        }
+        else if (value == null)
+        {
+            this.values[index] = 0;
+            markMissing(index, true);
+        }
+        else
+        {
+            throw unsupported(value.getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public void setEmpty(int index)
+    {
+        this.values[index] = 0;
+        markMissing(index, false);
+    }
+}
\ No newline at end of file
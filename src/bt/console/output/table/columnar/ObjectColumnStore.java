@@ -0,0 +1,88 @@
+package bt.console.output.table.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Stores references. A store of type {@link ColumnType#STRING} converts every non null value to its string
+ * representation when it is set.
+ */
+public class ObjectColumnStore extends ColumnStore
+{
+    protected final ColumnType type;
+    protected Object[] values = new Object[0];
+
+    public ObjectColumnStore(ColumnType type)
+    {
+        this.type = type;
+    }
+
+    @Override
+    public ColumnType getType()
+    {
+        return this.type;
+    }
+
+    @Override
+    public int capacity()
+    {
+        return this.values.length;
+    }
+
+    @Override
+    public void ensureCapacity(int capacity)
+    {
+        if (capacity > this.values.length)
+        {
+            this.values = Arrays.copyOf(this.values, grow(this.values.length, capacity));
+        }
+    }
+
+    @Override
+    public Object get(int index)
+    {
+        return missingOr(index, this.values[index]);
+    }
+
+    @Override
+    public boolean hasValue(int index)
+    {
+        return this.values[index] != null && !"".equals(this.values[index]);
+    }
+
+    @Override
+    public void setInt(int index, int value)
+    {
+        setObject(index, value);
+    }
+
+    @Override
+    public void setLong(int index, long value)
+    {
+        setObject(index, value);
+    }
+
+    @Override
+    public void setDouble(int index, double value)
+    {
+        setObject(index, value);
+    }
+
+    @Override
+    public void setObject(int index, Object value)
+    {
+        if (this.type == ColumnType.STRING && value != null)
+        {
+            value = value.toString();
+        }
+
+        this.values[index] = value;
+        markPresent(index);
+    }
+
+    @Override
+    public void setEmpty(int index)
+    {
+        this.values[index] = null;
+        markMissing(index, false);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package bt.console.output.table.render;
+
+import java.util.function.Function;
+
+/**
+ * Remembers the text of recently rendered values so that costly renderers only run once per distinct value, for
+ * example for columns of states, host names or status codes. Safe to share between columns, tables and threads if the
+ * wrapped renderer is.
+ *
+ * @param <T> The type of the values.
+ * @see ConsoleTableRenderCache
+ */
+public class CachedConsoleTableValueRenderer<T> implements ConsoleTableValueRenderer<T>
+{
+    protected final ConsoleTableValueRenderer<T> renderer;
+    protected final ConsoleTableRenderCache<T, String> cache;
+    protected final Function<T, String> loader;
+
+    /**
+     * @param renderer The renderer whose results are cached.
+     * @param capacity The maximum number of cached values.
+     */
+    public CachedConsoleTableValueRenderer(ConsoleTableValueRenderer<T> renderer, int capacity)
+    {
+        this(renderer, new ConsoleTableRenderCache<>(capacity));
+    }
+
+    /**
+     * @param renderer The renderer whose results are cached.
+     * @param cache    The cache to use, which may be shared with other renderers that render values identically.
+     */
+    public CachedConsoleTableValueRenderer(ConsoleTableValueRenderer<T> renderer, ConsoleTableRenderCache<T, String> cache)
+    {
+        this.renderer = renderer;
+        this.cache = cache;
+        this.loader = renderer::render;
+    }
+
+    @Override
+    public String render(T value)
+    {
+        return this.cache.get(value, this.loader);
+    }
+
+    public ConsoleTableValueRenderer<T> getRenderer()
+    {
+        return this.renderer;
+    }
+
+    public ConsoleTableRenderCache<T, String> getCache()
+    {
+        return this.cache;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+package bt.console.output.table.render;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded map from values to their rendered results that is used by {@link CachedConsoleTableValueRenderer} and
+ * {@link CachedConsoleTableStyleRenderer}.
+ *
+ * <p>
+ * Lookups are lock free. When the cache is full, new entries replace old ones in CLOCK order: every hit marks its
+ * entry as recently used and the clock hand skips and clears marked entries before it evicts one, which approximates
+ * LRU without reordering anything on a hit. Instances can be shared by any number of renderers, tables and threads.
+ * Two threads that miss the same value at the same time may both render it, only one result is kept. The clock grows
+ * with the number of cached values up to the capacity, so a large capacity costs nothing until it is used.
+ * </p>
+ *
+ * <p>
+ * Values are compared by {@link Object#equals(Object)}. They must not change in a way that affects equality or their
+ * rendered result while they are cached. Null values are never cached.
+ * </p>
+ *
+ * @param <K> The type of the values.
+ * @param <V> The type of the rendered results.
+ */
+public class ConsoleTableRenderCache<K, V>
+{
+    protected static final int INITIAL_CLOCK_SIZE = 64;
+
+    protected final ConcurrentHashMap<K, Entry<K, V>> entries;
+    protected final int capacity;
+    protected Entry<K, V>[] clock;
+    protected int size;
+    protected int hand;
+    protected final LongAdder hits = new LongAdder();
+    protected final LongAdder misses = new LongAdder();
+    protected final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity The maximum number of cached values.
+     */
+    public ConsoleTableRenderCache(int capacity)
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+
+        this.capacity = capacity;
+        this.entries = new ConcurrentHashMap<>(Math.min(capacity, 1 << 16));
+        this.clock = newClock(Math.min(capacity, INITIAL_CLOCK_SIZE));
+    }
+
+    /**
+     * Returns the cached result for the given value or renders and caches it.
+     *
+     * @param value    The value.
+     * @param renderer Renders the value on a miss.
+     * @return The result.
+     */
+    public V get(K value, Function<K, V> renderer)
+    {
+        if (value == null)
+        {
+            this.misses.increment();
+            return renderer.apply(null);
+        }
+
+        var entry = this.entries.get(value);
+
+        if (entry != null)
+        {
+            entry.referenced = true;
+            this.hits.increment();
+            return entry.result;
+        }
+
+        this.misses.increment();
+        V result = renderer.apply(value);
+        put(value, result);
+
+        return result;
+    }
+
+    public int getCapacity()
+    {
+        return this.capacity;
+    }
+
+    public int size()
+    {
+        return this.entries.size();
+    }
+
+    public long getHits()
+    {
+        return this.hits.sum();
+    }
+
+    public long getMisses()
+    {
+        return this.misses.sum();
+    }
+
+    public long getEvictions()
+    {
+        return this.evictions.sum();
+    }
+
+    /**
+     * @return The share of lookups that were hits, between 0 and 1.
+     */
+    public double getHitRate()
+    {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double)hits / total;
+    }
+
+    /**
+     * Removes all cached values. The statistics are kept.
+     */
+    public synchronized void clear()
+    {
+        this.entries.clear();
+
+        for (int i = 0; i < this.size; i++)
+        {
+            this.clock[i] = null;
+        }
+
+        this.size = 0;
+        this.hand = 0;
+    }
+
+    /**
+     * Resets the hit, miss and eviction counters.
+     */
+    public void resetStatistics()
+    {
+        this.hits.reset();
+        this.misses.reset();
+        this.evictions.reset();
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%d/%d values, %d hits, %d misses, %d evictions",
+                             size(), getCapacity(), getHits(), getMisses(), getEvictions());
+    }
+
+    protected synchronized void put(K value, V result)
+    {
+        if (this.entries.containsKey(value))
+        {
+            return;
+        }
+
+        int slot;
+
+        if (this.size < this.capacity)
+        {
+            if (this.size == this.clock.length)
+            {
+                Entry<K, V>[] clock = newClock((int)Math.min(this.capacity, this.clock.length * 2L));
+                System.arraycopy(this.clock, 0, clock, 0, this.size);
+                this.clock = clock;
+            }
+
+            slot = this.size++;
+        }
+        else
+        {
+            // give every recently used entry a second chance
+            while (this.clock[this.hand].referenced)
+            {
+                this.clock[this.hand].referenced = false;
+                this.hand = (this.hand + 1) % this.clock.length;
+            }
+
+            slot = this.hand;
+            this.hand = (this.hand + 1) % this.clock.length;
+            this.entries.remove(this.clock[slot].value);
+            this.evictions.increment();
+        }
+
+        var entry = new Entry<>(value, result);
+        this.clock[slot] = entry;
+        this.entries.put(value, entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static <K, V> Entry<K, V>[] newClock(int length)
+    {
+        return (Entry<K, V>[])new Entry<?, ?>[length];
+    }
+
+    protected static class Entry<K, V>
+    {
+        protected final K value;
+        protected final V result;
+        protected volatile boolean referenced;
+
+        protected Entry(K value, V result)
+        {
+            this.value = value;
+            this.result = result;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package bt.console.output;
+
+import bt.console.output.table.ConsoleTable;
+import bt.console.output.table.ConsoleTableLineBreaker;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DisplayWidthTest
+{
+    @Test
+    public void testLatin()
+    {
+        assertEquals(1, DisplayWidth.of('a'));
+        assertEquals(1, DisplayWidth.of(0xE9));
+        assertEquals(1, DisplayWidth.of(0x2603));
+        assertEquals(5, DisplayWidth.of("hello"));
+        assertEquals(0, DisplayWidth.of(""));
+    }
+
+    @Test
+    public void testCjk()
+    {
+        assertEquals(2, DisplayWidth.of(0x4E2D));
+        assertEquals(2, DisplayWidth.of(0xAC00));
+        assertEquals(2, DisplayWidth.of(0xFF21));
+        assertEquals(2, DisplayWidth.of(0x20000));
+        assertEquals(4, DisplayWidth.of("\u4E2D\u6587"));
+        assertEquals(4, DisplayWidth.of("x\u4E2D\u6587y", 1, 3));
+    }
+
+    @Test
+    public void testEmoji()
+    {
+        assertEquals(2, DisplayWidth.of(0x1F600));
+        assertEquals(2, DisplayWidth.of(0x1F44D));
+        assertEquals(4, DisplayWidth.of("a\uD83D\uDE00b"));
+    }
+
+    @Test
+    public void testZeroWidth()
+    {
+        assertEquals(0, DisplayWidth.of(0x0301));
+        assertEquals(0, DisplayWidth.of(0x0E31));
+        assertEquals(0, DisplayWidth.of(0x200B));
+        assertEquals(0, DisplayWidth.of(0xFE0F));
+        assertEquals(0, DisplayWidth.of(0xE0001));
+        assertEquals(1, DisplayWidth.of("e\u0301"));
+    }
+
+    @Test
+    public void testWrapByWidth()
+    {
+        assertEquals(List.of("\u4E2D", "\u6587a", "b"), ConsoleTableLineBreaker.wrap("\u4E2D\u6587ab", 3));
+    }
+
+    @Test
+    public void testTableAlignsWideCharacters()
+    {
+        var table = new ConsoleTable("Id", "Name");
+        table.addRow(1, "\u4E2D\u6587");
+        table.addRow(2, "e\u0301a");
+        table.addRow(3, "\uD83D\uDE00");
+
+        assertEquals(lines("-------------",
+                           "| Id | Name |",
+                           "=============",
+                           "| 1  | \u4E2D\u6587 |",
+                           "-------------",
+                           "| 2  | e\u0301a   |",
+                           "-------------",
+                           "| 3  | \uD83D\uDE00   |",
+                           "-------------"),
+                     table.toString());
+    }
+
+    private static String lines(String... lines)
+    {
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+}
\ No newline at end of file
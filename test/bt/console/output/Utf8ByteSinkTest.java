@@ -0,0 +1,125 @@
+package bt.console.output;
+
+import bt.console.output.table.ConsoleTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class Utf8ByteSinkTest
+{
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    @Test
+    public void testEncodesLikeString() throws IOException
+    {
+        String text = "ascii, Latin-1 \u00E9\u00DF, BMP \u6F22\u5B57 \u20AC, supplementary \uD83D\uDE00\uD834\uDD1E";
+        var sink = new Utf8ByteSink(Channels.newChannel(this.bytes));
+
+        sink.append(text);
+        sink.close();
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), this.bytes.toByteArray());
+        assertEquals(this.bytes.size(), sink.getBytesWritten());
+    }
+
+    @Test
+    public void testSmallBufferIsFlushedWhenFull() throws IOException
+    {
+        StringBuilder text = new StringBuilder();
+
+        for (int i = 0; i < 1000; i++)
+        {
+            text.append(i).append(i % 7 == 0 ? "\uD83D\uDE00" : "\u00E9");
+        }
+
+        var sink = new Utf8ByteSink(Channels.newChannel(this.bytes), 16);
+        sink.append(text, 0, text.length());
+        sink.close();
+
+        assertArrayEquals(text.toString().getBytes(StandardCharsets.UTF_8), this.bytes.toByteArray());
+    }
+
+    @Test
+    public void testSurrogatePairSplitAcrossCalls() throws IOException
+    {
+        String emoji = "\uD83D\uDE00";
+        var sink = new Utf8ByteSink(Channels.newChannel(this.bytes));
+
+        sink.append(emoji.charAt(0));
+        sink.append(emoji, 1, 2);
+        sink.close();
+
+        assertArrayEquals(emoji.getBytes(StandardCharsets.UTF_8), this.bytes.toByteArray());
+    }
+
+    @Test
+    public void testUnpairedSurrogates() throws IOException
+    {
+        var sink = new Utf8ByteSink(Channels.newChannel(this.bytes));
+
+        sink.append("a\uDC00b\uD83Dc");
+        sink.append('\uD83D');
+        sink.close();
+
+        assertEquals("a?b?c?", this.bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNull() throws IOException
+    {
+        var sink = new Utf8ByteSink(Channels.newChannel(this.bytes));
+
+        sink.append(null);
+        sink.close();
+
+        assertEquals("null", this.bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReset() throws IOException
+    {
+        var other = new ByteArrayOutputStream();
+        var sink = new Utf8ByteSink(Channels.newChannel(this.bytes));
+
+        sink.append("discarded\uD83D");
+        sink.reset(Channels.newChannel(other));
+        sink.append("kept");
+        sink.close();
+
+        assertEquals(0, this.bytes.size());
+        assertEquals("kept", other.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testBufferSize()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new Utf8ByteSink(Channels.newChannel(this.bytes), 15));
+    }
+
+    @Test
+    public void testTableWriteToChannel() throws IOException
+    {
+        var table = new ConsoleTable("Name", "Value");
+        table.addRow("caf\u00E9", "\u6F22\u5B57");
+        table.addRow("smile", "\uD83D\uDE00");
+        var channel = Channels.newChannel(this.bytes);
+
+        table.writeTo(channel);
+
+        byte[] expected = table.toString().getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, this.bytes.toByteArray());
+
+        // the second call reuses the sink of the table
+        this.bytes.reset();
+        table.writeTo(channel);
+
+        assertArrayEquals(expected, this.bytes.toByteArray());
+    }
+}
\ No newline at end of file
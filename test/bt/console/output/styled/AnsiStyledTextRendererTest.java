@@ -0,0 +1,82 @@
+package bt.console.output.styled;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class AnsiStyledTextRendererTest
+{
+    private static final String RED = "\u001B[31m";
+    private static final String BOLD = "\u001B[1m";
+    private static final String RESET = "\u001B[0m";
+
+    private final AnsiStyledTextRenderer renderer = new AnsiStyledTextRenderer();
+
+    @Test
+    public void testTextWithoutTagsIsUnchanged()
+    {
+        String text = "no tags > here";
+
+        assertSame(text, this.renderer.render(text));
+    }
+
+    @Test
+    public void testRender()
+    {
+        assertEquals(RED + "x" + RESET, this.renderer.render("<+bt red>x<-bt>"));
+        assertEquals(RED + "a" + BOLD + "b\u001B[0;31mc" + RESET + "d",
+                     this.renderer.render("<+bt red>a<+bt bold>b<-bt>c<-bt>d"));
+    }
+
+    @Test
+    public void testUnchangedAttributesAreNotRepeated()
+    {
+        assertEquals(RED + "xy" + RESET, this.renderer.render("<+bt red>x<-bt><+bt red default_text>y<-bt>"));
+    }
+
+    @Test
+    public void testRenderingNeverFails()
+    {
+        assertEquals("ab", this.renderer.render("a<-bt>b"));
+        assertEquals(RED + "open" + RESET, this.renderer.render("<+bt red>open"));
+        assertEquals("<+bt red", this.renderer.render("<+bt red"));
+    }
+
+    @Test
+    public void testRenderMatchesDestyledText()
+    {
+        Style.setEnabled(true);
+
+        try
+        {
+            String styled = Style.apply("a" + Style.apply("b", "bold", "underline") + Style.hyperlink("https://example.org", "c"), "green");
+            String rendered = this.renderer.render(styled);
+
+            assertEquals(StyledText.destyle(styled), rendered.replaceAll("\u001B\\[[0-9;]*m", ""));
+        }
+        finally
+        {
+            Style.setEnabled(false);
+        }
+    }
+
+    @Test
+    public void testSetsWithTheSameCodesShareASequence()
+    {
+        assertSame(this.renderer.getSequence(StyleSet.of("red")), this.renderer.getSequence(StyleSet.of("red", "default_text")));
+        assertEquals("\u001B[0;1m", this.renderer.getSequence(StyleSet.of("bold")));
+    }
+
+    @Test
+    public void testSetStyle()
+    {
+        this.renderer.setStyle("warning", "38;5;208");
+
+        assertEquals("\u001B[38;5;208mx" + RESET, this.renderer.render("<+bt warning>x<-bt>"));
+
+        this.renderer.setStyle("warning", null);
+
+        assertEquals("x", this.renderer.render("<+bt warning>x<-bt>"));
+    }
+}
\ No newline at end of file
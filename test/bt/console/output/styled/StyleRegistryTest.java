@@ -0,0 +1,51 @@
+package bt.console.output.styled;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StyleRegistryTest
+{
+    @BeforeEach
+    public void enableStyles()
+    {
+        Style.setEnabled(true);
+    }
+
+    @AfterEach
+    public void disableStyles()
+    {
+        Style.setEnabled(false);
+    }
+
+    @Test
+    public void testParameterizedStylesAreNotRegistered()
+    {
+        int size = StyleRegistry.size();
+        var parser = new StyledTextParser();
+
+        for (int i = 0; i < 100; i++)
+        {
+            parser.parseSpans(Style.hyperlink("https://example.org/" + i));
+        }
+
+        assertTrue(StyleRegistry.size() <= size + 1);
+    }
+
+    @Test
+    public void testNodeStylesAreModifiableCopies()
+    {
+        var node = new StyledTextParser().parseNode(Style.apply("x", "red"));
+        var child = node.getChildren().get(0);
+        Set<String> styles = child.getStyles();
+
+        styles.add("bold");
+
+        assertEquals(Set.of("red"), child.getStyles());
+    }
+}
\ No newline at end of file
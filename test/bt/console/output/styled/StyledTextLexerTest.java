@@ -0,0 +1,103 @@
+package bt.console.output.styled;
+
+import bt.console.output.styled.exc.StyleParseException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StyledTextLexerTest
+{
+    @Test
+    public void testTokens()
+    {
+        var lexer = new StyledTextLexer("a<+bt red bold>b<-bt>c");
+
+        assertEquals(StyledTextLexer.Token.TEXT, lexer.next());
+        assertEquals("a", lexer.getText());
+
+        assertEquals(StyledTextLexer.Token.STYLE_OPEN, lexer.next());
+        assertArrayEquals(new String[]{ "red", "bold" }, lexer.getStyles());
+        assertEquals(1, lexer.getDepth());
+
+        assertEquals(StyledTextLexer.Token.TEXT, lexer.next());
+        assertEquals("b", lexer.getText());
+
+        assertEquals(StyledTextLexer.Token.STYLE_CLOSE, lexer.next());
+        assertEquals(0, lexer.getDepth());
+
+        assertEquals(StyledTextLexer.Token.TEXT, lexer.next());
+        assertEquals("c", lexer.getText());
+
+        assertEquals(StyledTextLexer.Token.END, lexer.next());
+        assertEquals(StyledTextLexer.Token.END, lexer.next());
+    }
+
+    @Test
+    public void testTokensCoverSource()
+    {
+        String[] texts = {
+                "",
+                "plain text",
+                "<+bt red>a<+bt -red bold>b<-bt><-bt>",
+                "1 < 2 <+bt x>and 3 > 2<-bt> <-bt>",
+                "<-bt>x<+bt>"
+        };
+
+        for (String text : texts)
+        {
+            var lexer = new StyledTextLexer(text);
+            StringBuilder copy = new StringBuilder();
+
+            while (lexer.next() != StyledTextLexer.Token.END)
+            {
+                copy.append(text, lexer.getTagStart(), lexer.getTagEnd());
+            }
+
+            assertEquals(text, copy.toString());
+        }
+    }
+
+    @Test
+    public void testStartTagWithoutEndTagIsText()
+    {
+        var lexer = new StyledTextLexer("x<+bt red>y");
+        List<StyledTextLexer.Token> tokens = new ArrayList<>();
+
+        while (lexer.next() != StyledTextLexer.Token.END)
+        {
+            tokens.add(lexer.getToken());
+        }
+
+        assertEquals(List.of(StyledTextLexer.Token.TEXT), tokens);
+    }
+
+    @Test
+    public void testUnterminatedStartTag()
+    {
+        var lexer = new StyledTextLexer("<+bt red");
+
+        assertThrows(StyleParseException.class, lexer::next);
+    }
+
+    @Test
+    public void testReset()
+    {
+        var lexer = new StyledTextLexer("<+bt red>a<-bt>");
+
+        while (lexer.next() != StyledTextLexer.Token.END)
+        {
+        }
+
+        lexer.reset("b<-bt>");
+
+        assertEquals(StyledTextLexer.Token.TEXT, lexer.next());
+        assertEquals("b", lexer.getText());
+        assertEquals(StyledTextLexer.Token.STYLE_CLOSE, lexer.next());
+        assertEquals(-1, lexer.getDepth());
+    }
+}
\ No newline at end of file
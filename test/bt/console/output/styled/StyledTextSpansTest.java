@@ -0,0 +1,37 @@
+package bt.console.output.styled;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StyledTextSpansTest
+{
+    @BeforeEach
+    public void enableStyles()
+    {
+        Style.setEnabled(true);
+    }
+
+    @AfterEach
+    public void disableStyles()
+    {
+        Style.setEnabled(false);
+    }
+
+    @Test
+    public void testSpansResolveLikeNodes()
+    {
+        String styled = Style.apply("a" + Style.apply("b", "-red", "bold") + Style.hyperlink("https://example.org", "c"), "red");
+        var spans = new StyledTextParser().parseSpans(styled);
+
+        assertEquals(3, spans.size());
+        assertEquals(Set.of("red"), spans.getStyles(0));
+        assertEquals(Set.of("bold"), spans.getStyles(1));
+        assertEquals(Set.of("red", "hyperlink(https://example.org)"), spans.getStyles(2));
+        assertEquals("c", spans.getText(2));
+    }
+}
\ No newline at end of file
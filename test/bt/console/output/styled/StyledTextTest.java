@@ -0,0 +1,70 @@
+package bt.console.output.styled;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class StyledTextTest
+{
+    @BeforeEach
+    public void enableStyles()
+    {
+        Style.setEnabled(true);
+    }
+
+    @AfterEach
+    public void disableStyles()
+    {
+        Style.setEnabled(false);
+    }
+
+    @Test
+    public void testDestyleRoundTrip()
+    {
+        String[] texts = { "", "plain", "a < b > c", "\u6F22\u5B57 and \uD83D\uDE00", "line\nbreak" };
+
+        for (String text : texts)
+        {
+            String styled = Style.apply("[" + Style.apply(text, "red", "bold") + "]", "default_text");
+
+            assertEquals("[" + text + "]", StyledText.destyle(styled));
+            assertEquals("[" + text + "]", new StyledTextParser().parseSpans(styled).appendText(new StringBuilder()).toString());
+        }
+
+        assertSame("plain", StyledText.destyle("plain"));
+    }
+
+    @Test
+    public void testApplyFormat()
+    {
+        assertEquals("<+bt red bold>x<-bt>", Style.apply("x", "red", "bold"));
+        assertEquals("<+bt >x<-bt>", Style.apply("x"));
+        assertEquals("<+bt red>null<-bt>", Style.apply((String)null, "red"));
+    }
+
+    @Test
+    public void testVisibleLength()
+    {
+        assertEquals(0, StyledText.visibleLength(""));
+        assertEquals(5, StyledText.visibleLength(Style.apply("hello", "red")));
+        assertEquals(4, StyledText.visibleLength(Style.apply("\u6F22\u5B57", "red")));
+        assertEquals(2, StyledText.visibleLength("\uD83D\uDE00"));
+        assertEquals(1, StyledText.visibleLength("e\u0301"));
+    }
+
+    @Test
+    public void testTruncateVisibleClosesStyles()
+    {
+        String styled = Style.apply("abc" + Style.apply("def", "bold"), "red");
+
+        assertEquals("<+bt red>abc<+bt bold>d<-bt><-bt>", StyledText.truncateVisible(styled, 4));
+        assertEquals("<+bt red>ab<-bt>", StyledText.truncateVisible(styled, 2));
+        assertSame(styled, StyledText.truncateVisible(styled, 6));
+
+        // a wide character that does not fit completely is cut as a whole
+        assertEquals("a", StyledText.truncateVisible("a\u6F22", 2));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package bt.console.output.table;
+
+import bt.console.output.table.columnar.ColumnType;
+import bt.console.output.table.render.Alignment;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ColumnarConsoleTableTest
+{
+    @Test
+    public void testIntColumnIsWidened()
+    {
+        var table = new ColumnarConsoleTable();
+        table.addIntColumn("Int");
+
+        table.add(1);
+        table.add(5_000_000_000L);
+
+        assertEquals(ColumnType.LONG, table.getStore(0).getType());
+        assertEquals(1L, table.getStore(0).get(0));
+        assertEquals(5_000_000_000L, table.getStore(0).get(1));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void testRendersLikeConsoleTable()
+    {
+        var table = new ColumnarConsoleTable();
+        table.addLongColumn("Id");
+        table.addDoubleColumn("Time");
+        table.addStringColumn("Name");
+        table.add(1L).add(2.5).add("foo");
+        table.addRow(2L, null, "bar");
+        table.add(3L).endRow();
+
+        // numeric columns are aligned to the right
+        var expected = new ConsoleTable();
+        expected.addColumn("Id").setValueAlignment(Alignment.RIGHT);
+        expected.addColumn("Time").setValueAlignment(Alignment.RIGHT);
+        expected.addColumn("Name");
+        expected.addRow(1L, 2.5, "foo");
+        expected.addRow(2L, null, "bar");
+        expected.addRow(3L);
+
+        assertEquals(expected.toString(), table.toString());
+    }
+
+    @Test
+    public void testReplaceRow()
+    {
+        var table = new ColumnarConsoleTable();
+        table.addIntColumn("Int");
+        table.addStringColumn("String");
+        table.addRow(1, "a");
+        table.addRow(2, "b");
+
+        table.replaceRow(0, 10, null);
+
+        assertEquals(10, table.getStore(0).get(0));
+        assertNull(table.getStore(1).get(0));
+        assertEquals(2, table.getStore(0).get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.replaceRow(2, 3, "c"));
+    }
+
+    @Test
+    public void testAggregates()
+    {
+        var table = new ColumnarConsoleTable();
+        var ints = table.addIntColumn("Int");
+        var doubles = table.addDoubleColumn("Double");
+        var strings = table.addStringColumn("String");
+        ints.setAggregate(ConsoleTableAggregate.SUM);
+        doubles.setAggregate(ConsoleTableAggregate.AVG);
+        strings.setAggregate(ConsoleTableAggregate.COUNT);
+
+        table.add(1).add(2.0).add("a");
+        table.add(3).add(4.0).add(null);
+        table.addRow(null, null, "b");
+
+        assertEquals(4L, ints.getAggregator().getResult());
+        assertEquals(3.0, doubles.getAggregator().getResult());
+        assertEquals(2L, strings.getAggregator().getResult());
+
+        table.replaceRow(0, 10, 8.0, "c");
+
+        assertEquals(13L, ints.getAggregator().getResult());
+        assertEquals(6.0, doubles.getAggregator().getResult());
+    }
+    @Test
+    public void testMinAndMax()
+    {
+        var table = new ColumnarConsoleTable();
+        var longs = table.addLongColumn("Long");
+        var doubles = table.addDoubleColumn("Double");
+        longs.setAggregate(ConsoleTableAggregate.MAX);
+        doubles.setAggregate(ConsoleTableAggregate.MIN);
+
+        table.add(5L).add(1.5);
+        table.add(-2L).add(-0.5);
+        table.add(7L).add(3.0);
+
+        assertEquals(7L, longs.getAggregator().getResult());
+        assertEquals(-0.5, doubles.getAggregator().getResult());
+
+        table.replaceRow(2, 0L, 0.0);
+        table.toString();
+
+        assertEquals(5L, longs.getAggregator().getResult());
+    }
+    @Test
+    public void testAggregatesOfEmptyColumns()
+    {
+        var table = new ColumnarConsoleTable();
+        var ints = table.addIntColumn("Int");
+        ints.setAggregate(ConsoleTableAggregate.MAX);
+        table.addRow((Object)null);
+
+        assertNull(ints.getAggregator().getResult());
+    }
+    @Test
+    public void testAggregateOfWidenedColumn()
+    {
+        var table = new ColumnarConsoleTable();
+        var ints = table.addIntColumn("Int");
+        ints.setAggregate(ConsoleTableAggregate.SUM);
+
+        table.add(1);
+        table.add(5_000_000_000L);
+
+        assertEquals(5_000_000_001L, ints.getAggregator().getResult());
+    }
+
+    @Test
+    public void testInvalidValuesAreRejected()
+    {
+        var table = new ColumnarConsoleTable();
+        table.addIntColumn("Int");
+        table.addIntColumn("Other");
+
+        assertThrows(IllegalArgumentException.class, () -> table.addRow(1, "text"));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void testRowsWithoutColumnsAreRejected()
+    {
+        var table = new ColumnarConsoleTable();
+
+        assertThrows(IllegalStateException.class, () -> table.addRow(1));
+        assertThrows(IllegalStateException.class, () -> table.add(1));
+        assertEquals(0, table.size());
+    }
+}
\ No newline at end of file
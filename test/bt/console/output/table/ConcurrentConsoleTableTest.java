@@ -0,0 +1,135 @@
+package bt.console.output.table;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentConsoleTableTest
+{
+    private static final int THREADS = 8;
+    private static final int ROWS_PER_THREAD = 500;
+
+    @Test
+    public void testOrderedRowsFromManyThreads() throws InterruptedException
+    {
+        var table = new ConcurrentConsoleTable(true, 4, "Producer", "Index");
+
+        // every producer adds its rows in descending sequence order
+        produce(index -> table.addOrderedRow(index, index / ROWS_PER_THREAD, index), true);
+
+        var expected = new ConsoleTable("Producer", "Index");
+
+        for (int i = 0; i < THREADS * ROWS_PER_THREAD; i++)
+        {
+            expected.addRow(i / ROWS_PER_THREAD, i);
+        }
+
+        assertEquals(expected.toString(), table.toString());
+    }
+
+    @Test
+    public void testRowsAddedWhileRenderingShowUpInTheNextRender() throws InterruptedException
+    {
+        var table = new ConcurrentConsoleTable(true, "Index");
+        var latch = new CountDownLatch(1);
+        var producer = new Thread(() ->
+        {
+            for (int i = 0; i < 2000; i++)
+            {
+                table.addRow(i);
+
+                if (i == 100)
+                {
+                    latch.countDown();
+                }
+            }
+        });
+
+        producer.start();
+        latch.await();
+
+        // renders while the producer is still adding rows
+        int rows = countRows(table.toString());
+        producer.join();
+
+        assertTrue(rows > 100);
+        assertEquals(2000, countRows(table.toString()));
+    }
+
+    @Test
+    public void testUnorderedRowsAreAllKept() throws InterruptedException
+    {
+        var table = new ConcurrentConsoleTable(false, "Index");
+        table.addColumn("Count").setAggregate(ConsoleTableAggregate.COUNT);
+
+        produce(index -> table.addRow(index, index), false);
+
+        // the footer with the count is counted as well
+        assertEquals(THREADS * ROWS_PER_THREAD + 1, countRows(table.toString()));
+        assertEquals((long)THREADS * ROWS_PER_THREAD, table.columns.get(1).getAggregator().getResult());
+        assertThrows(UnsupportedOperationException.class, () -> table.replaceRow(0, 1));
+    }
+
+    private void produce(IntConsumer consumer, boolean descending) throws InterruptedException
+    {
+        var start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++)
+        {
+            int producer = t;
+            var thread = new Thread(() ->
+            {
+                try
+                {
+                    start.await();
+                }
+                catch (InterruptedException e)
+                {
+                    return;
+                }
+
+                for (int i = 0; i < ROWS_PER_THREAD; i++)
+                {
+                    int offset = descending ? ROWS_PER_THREAD - 1 - i : i;
+                    consumer.accept(producer * ROWS_PER_THREAD + offset);
+                }
+            });
+
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+
+        for (var thread : threads)
+        {
+            thread.join();
+        }
+    }
+
+    /**
+     * Counts the lines that contain values, which are all lines starting with '|' except the header.
+     */
+    private int countRows(String table)
+    {
+        int rows = -1;
+
+        for (String line : table.split(System.lineSeparator()))
+        {
+            if (line.startsWith("|"))
+            {
+                rows++;
+            }
+        }
+
+        return rows;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package bt.console.output.table;
+
+import bt.console.output.table.columnar.ColumnType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ConsoleTableAggregatorTest
+{
+    @Test
+    public void testSumOverflowKeepsMinAndMaxExact()
+    {
+        var sum = new ConsoleTableAggregator(ConsoleTableAggregate.SUM);
+        var min = new ConsoleTableAggregator(ConsoleTableAggregate.MIN);
+        var max = new ConsoleTableAggregator(ConsoleTableAggregate.MAX);
+        sum.reset();
+        min.reset();
+        max.reset();
+
+        for (var aggregator : new ConsoleTableAggregator[]{ sum, min, max })
+        {
+            aggregator.add(Long.MAX_VALUE);
+            aggregator.add(Long.MAX_VALUE - 1);
+            aggregator.add((Object)3);
+        }
+
+        var expected = BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TWO).add(BigInteger.TWO);
+
+        assertEquals(expected, sum.getResult());
+        assertEquals(3L, min.getResult());
+        assertEquals(Long.MAX_VALUE, max.getResult());
+        assertEquals("sum: " + expected, sum.getResultText());
+    }
+
+    @Test
+    public void testSumReturnsToLongAfterRemove()
+    {
+        var sum = new ConsoleTableAggregator(ConsoleTableAggregate.SUM);
+        sum.reset();
+        sum.add(Long.MAX_VALUE);
+        sum.add(10L);
+        sum.remove(Long.MAX_VALUE);
+
+        assertEquals(10L, sum.getResult());
+
+        sum.remove(10L);
+        sum.remove(Long.MAX_VALUE);
+        sum.remove(Long.MAX_VALUE);
+
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TWO).negate(), sum.getResult());
+    }
+
+    @Test
+    public void testDoublesSwitchTheSumToDouble()
+    {
+        var sum = new ConsoleTableAggregator(ConsoleTableAggregate.SUM);
+        var avg = new ConsoleTableAggregator(ConsoleTableAggregate.AVG);
+        var min = new ConsoleTableAggregator(ConsoleTableAggregate.MIN);
+        sum.reset();
+        avg.reset();
+        min.reset();
+
+        for (var aggregator : new ConsoleTableAggregator[]{ sum, avg, min })
+        {
+            aggregator.add(Long.MAX_VALUE);
+            aggregator.add(Long.MAX_VALUE);
+            aggregator.add(0.5);
+        }
+
+        assertEquals(2.0 * Long.MAX_VALUE + 0.5, sum.getResult());
+        assertEquals((2.0 * Long.MAX_VALUE + 0.5) / 3, avg.getResult());
+        assertEquals(0.5, min.getResult());
+    }
+
+    @Test
+    public void testCountIgnoresNullAndEmptyValues()
+    {
+        var count = new ConsoleTableAggregator(ConsoleTableAggregate.COUNT);
+        count.reset();
+        count.add("a");
+        count.add((Object)null);
+        count.add("");
+        count.add((Object)1);
+
+        assertEquals(2L, count.getResult());
+    }
+
+    @Test
+    public void testMissingCellsAreNull()
+    {
+        var table = new ConsoleTable("A", "B");
+        table.addRow("a");
+
+        var columnar = new ColumnarConsoleTable();
+        columnar.addColumn("A", -1, ColumnType.STRING);
+        columnar.addColumn("B", -1, ColumnType.OBJECT);
+        columnar.addColumn("C", -1, ColumnType.INT);
+        columnar.addRow("a");
+
+        assertNull(table.getCellValue(0, 1));
+        assertNull(columnar.getCellValue(0, 1));
+        assertNull(columnar.getCellValue(0, 2));
+
+        // rendering fills in empty cells without changing the reported values
+        table.toString();
+        columnar.toString();
+
+        assertNull(table.getCellValue(0, 1));
+        assertNull(columnar.getCellValue(0, 1));
+        assertEquals("a", columnar.getCellValue(0, 0));
+    }
+
+    @Test
+    public void testFooterCoversRowsAddedBeforeTheAggregate()
+    {
+        var table = new ConsoleTable("Name");
+        var value = table.addColumn("Value");
+        table.addRow("a", 1);
+        table.addRow("b", 2);
+        value.setAggregate(ConsoleTableAggregate.SUM);
+        table.addRow("c", 3);
+
+        assertEquals(String.join(System.lineSeparator(),
+                                 "-----------------",
+                                 "| Name | Value  |",
+                                 "=================",
+                                 "| a    | 1      |",
+                                 "-----------------",
+                                 "| b    | 2      |",
+                                 "-----------------",
+                                 "| c    | 3      |",
+                                 "=================",
+                                 "|      | sum: 6 |",
+                                 "-----------------",
+                                 ""),
+                     table.toString());
+
+        table.replaceRow(0, "a", 10);
+
+        assertEquals(15L, value.getAggregator().getResult());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package bt.console.output.table;
+
+import bt.console.output.styled.Style;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConsoleTableExporterTest
+{
+    @AfterEach
+    public void disableStyles()
+    {
+        Style.setEnabled(false);
+    }
+
+    @Test
+    public void testCsv() throws IOException
+    {
+        assertEquals("Name,Value\r\n"
+                             + "plain,1\r\n"
+                             + "\"comma, \"\"quote\"\"\",2.5\r\n"
+                             + "\"line\nbreak\",\r\n"
+                             + "tab\there | pipe \\ back,true\r\n"
+                             + "nan,NaN\r\n",
+                     export(ConsoleTableExporter.csv()));
+    }
+
+    @Test
+    public void testTsv() throws IOException
+    {
+        assertEquals("Name\tValue\n"
+                             + "plain\t1\n"
+                             + "comma, \"quote\"\t2.5\n"
+                             + "line\\nbreak\t\n"
+                             + "tab\\there | pipe \\\\ back\ttrue\n"
+                             + "nan\tNaN\n",
+                     export(ConsoleTableExporter.tsv()));
+    }
+
+    @Test
+    public void testJson() throws IOException
+    {
+        assertEquals("[\n"
+                             + "  {\"Name\": \"plain\", \"Value\": 1},\n"
+                             + "  {\"Name\": \"comma, \\\"quote\\\"\", \"Value\": 2.5},\n"
+                             + "  {\"Name\": \"line\\nbreak\", \"Value\": null},\n"
+                             + "  {\"Name\": \"tab\\there | pipe \\\\ back\", \"Value\": true},\n"
+                             + "  {\"Name\": \"nan\", \"Value\": \"NaN\"}\n"
+                             + "]\n",
+                     export(ConsoleTableExporter.json()));
+    }
+
+    @Test
+    public void testMarkdown() throws IOException
+    {
+        assertEquals("| Name | Value |\n"
+                             + "| --- | --- |\n"
+                             + "| plain | 1 |\n"
+                             + "| comma, \"quote\" | 2.5 |\n"
+                             + "| line<br>break |  |\n"
+                             + "| tab\there \\| pipe \\\\ back | true |\n"
+                             + "| nan | NaN |\n",
+                     export(ConsoleTableExporter.markdown()));
+    }
+
+    @Test
+    public void testRenderersAndStyles() throws IOException
+    {
+        Style.setEnabled(true);
+        var table = new ConsoleTable(Style.apply("Id", "bold"));
+        table.addColumn("Price").setValueRenderer(value -> Style.apply(value + " EUR", "red"));
+        table.addRow(1, 10);
+        var writer = new StringWriter();
+
+        ConsoleTableExporter.csv().writeTo(table, writer);
+
+        assertEquals("Id,Price\r\n1,10 EUR\r\n", writer.toString());
+    }
+
+    @Test
+    public void testTablesWithoutRawValuesAreRejected() throws IOException
+    {
+        try (var table = new ExternalSortConsoleTable(0, false, 10, "Key"))
+        {
+            assertThrows(UnsupportedOperationException.class, () -> export(ConsoleTableExporter.json(), table));
+        }
+    }
+
+    private String export(ConsoleTableExporter exporter) throws IOException
+    {
+        var table = new ConsoleTable("Name", "Value");
+        table.addRow("plain", 1);
+        table.addRow("comma, \"quote\"", 2.5);
+        table.addRow("line\nbreak", null);
+        table.addRow("tab\there | pipe \\ back", true);
+        table.addRow("nan", Double.NaN);
+        return export(exporter, table);
+    }
+
+    private String export(ConsoleTableExporter exporter, ConsoleTable table) throws IOException
+    {
+        var out = new StringBuilder();
+        exporter.export(table, out);
+        return out.toString();
+    }
+}
\ No newline at end of file
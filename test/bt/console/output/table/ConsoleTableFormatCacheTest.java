@@ -0,0 +1,125 @@
+package bt.console.output.table;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsoleTableFormatCacheTest
+{
+    private List<Object> formatted;
+    private ConsoleTable table;
+    private ConsoleTableColumn name;
+
+    @BeforeEach
+    public void createTable()
+    {
+        this.formatted = new ArrayList<>();
+        this.table = new ConsoleTable("Id");
+        this.table.setCacheFormattedValues(true);
+        this.name = this.table.addColumn("Name");
+        this.name.setValueRenderer(this::render);
+
+        for (int i = 0; i < 10; i++)
+        {
+            this.table.addRow(i, "name " + i);
+        }
+    }
+
+    private String render(Object value)
+    {
+        this.formatted.add(value);
+        return String.valueOf(value);
+    }
+
+    @Test
+    public void testValuesAreFormattedOnce()
+    {
+        String first = this.table.toString();
+
+        assertEquals(10, this.formatted.size());
+        assertEquals(first, this.table.toString());
+        assertEquals(10, this.formatted.size());
+    }
+
+    @Test
+    public void testReplacedRowsAreFormattedAgain()
+    {
+        this.table.toString();
+        this.formatted.clear();
+
+        this.table.replaceRow(3, 3, "replaced");
+        String output = this.table.toString();
+
+        assertEquals(List.of("replaced"), this.formatted);
+        assertTrue(output.contains("replaced"));
+
+        // an equal value keeps its formatted text
+        this.formatted.clear();
+        this.table.replaceRow(3, 3, "replaced");
+        this.table.toString();
+
+        assertEquals(List.of(), this.formatted);
+    }
+
+    @Test
+    public void testSetValueInvalidatesTheCell()
+    {
+        this.table.toString();
+        this.formatted.clear();
+
+        this.table.rows.get(5).setValue(1, "changed");
+        String output = this.table.toString();
+
+        assertEquals(List.of("changed"), this.formatted);
+        assertTrue(output.contains("changed"));
+        assertTrue(!output.contains("name 5"));
+    }
+
+    @Test
+    public void testColumnChangesInvalidateTheColumn()
+    {
+        this.table.toString();
+        this.formatted.clear();
+
+        this.name.setWidth(5);
+        String output = this.table.toString();
+
+        assertEquals(10, this.formatted.size());
+        assertTrue(!output.contains("name 0"));
+
+        this.formatted.clear();
+        this.name.setWrap(true);
+        this.table.toString();
+
+        assertEquals(10, this.formatted.size());
+
+        this.formatted.clear();
+        this.table.setMultiline(true);
+        this.table.toString();
+
+        assertEquals(10, this.formatted.size());
+
+        this.formatted.clear();
+        this.name.setWidth(-1);
+        this.name.setValueRenderer(value -> "new " + render(value));
+        output = this.table.toString();
+
+        assertEquals(10, this.formatted.size());
+        assertTrue(output.contains("new name 0"));
+    }
+
+    @Test
+    public void testCacheCanBeDisabled()
+    {
+        this.table.setCacheFormattedValues(false);
+        this.table.toString();
+        this.table.toString();
+
+        assertEquals(20, this.formatted.size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package bt.console.output.table;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsoleTableLineBreakerTest
+{
+    @Test
+    public void testWrapBreaksAtSpaces()
+    {
+        assertEquals(List.of("the quick", "brown fox"), ConsoleTableLineBreaker.wrap("the quick brown fox", 10));
+        assertEquals(List.of("short"), ConsoleTableLineBreaker.wrap("short", 10));
+    }
+
+    @Test
+    public void testWrapBreaksLongWords()
+    {
+        assertEquals(List.of("abcde", "fghij", "kl"), ConsoleTableLineBreaker.wrap("abcdefghijkl", 5));
+    }
+
+    @Test
+    public void testWrapReopensStyles()
+    {
+        assertEquals(List.of("<+bt red>aaa<-bt>", "<+bt red>bbb<-bt>", "cc"),
+                     ConsoleTableLineBreaker.wrap("<+bt red>aaa bbb<-bt> cc", 4));
+    }
+
+    @Test
+    public void testWrapReusesBreakPositions()
+    {
+        var cache = ConsoleTableLineBreaker.getCache();
+        String text = "cached break positions " + System.nanoTime();
+
+        ConsoleTableLineBreaker.wrap(text, 7);
+        long hits = cache.getHits();
+        List<String> lines = ConsoleTableLineBreaker.wrap(text, 7);
+
+        assertEquals(hits + 1, cache.getHits());
+        assertEquals("cached", lines.get(0));
+    }
+
+    @Test
+    public void testTruncate()
+    {
+        assertEquals("abc...", ConsoleTableLineBreaker.truncate("abcdefgh", 6));
+        assertEquals("...", ConsoleTableLineBreaker.truncate("abcdefgh", 3));
+        assertEquals("", ConsoleTableLineBreaker.truncate("abcdefgh", 1));
+    }
+
+    @Test
+    public void testWrappedColumn()
+    {
+        var table = new ConsoleTable("Id");
+        table.addColumn("Text", 10).setWrap(true);
+        table.addRow(1, "the quick brown fox");
+
+        assertEquals(lines("-----------------",
+                           "| Id |   Text   |",
+                           "=================",
+                           "| 1  | the      |",
+                           "|    | quick    |",
+                           "|    | brown    |",
+                           "|    | fox      |",
+                           "-----------------"),
+                     table.toString());
+    }
+
+    @Test
+    public void testUnwrappedColumnIsTruncated()
+    {
+        var table = new ConsoleTable("Id");
+        table.addColumn("Text", 10);
+        table.addRow(1, "the quick brown fox");
+
+        assertTrue(table.toString().contains("| 1  | the q... |"));
+    }
+
+    private static String lines(String... lines)
+    {
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package bt.console.output.table;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ConsoleTableMaxWidthTest
+{
+    private ConsoleTable table;
+    private ConsoleTableColumn left;
+    private ConsoleTableColumn right;
+
+    @BeforeEach
+    public void createTable()
+    {
+        this.table = new ConsoleTable("Id");
+        this.left = this.table.addColumn("Left");
+        this.right = this.table.addColumn("Right");
+        this.table.addRow(1, "aaaaaaaaaaaaaaaaaaaa", "bbbbbbbbbbbbbbbbbbbb");
+        this.table.setMaxWidth(34);
+    }
+
+    @Test
+    public void testSplitsEvenly()
+    {
+        assertEquals(lines("----------------------------------",
+                           "| Id |    Left     |    Right    |",
+                           "==================================",
+                           "| 1  | aaaaaaaa... | bbbbbbbb... |",
+                           "----------------------------------"),
+                     this.table.toString());
+    }
+
+    @Test
+    public void testSplitsByWeight()
+    {
+        this.right.setWeight(3);
+
+        assertEquals(lines("----------------------------------",
+                           "| Id |   Left   |     Right      |",
+                           "==================================",
+                           "| 1  | aaaaa... | bbbbbbbbbbb... |",
+                           "----------------------------------"),
+                     this.table.toString());
+    }
+
+    @Test
+    public void testKeepsMinWidth()
+    {
+        this.left.setMinWidth(16);
+
+        assertEquals(lines("----------------------------------",
+                           "| Id |      Left       |  Right  |",
+                           "==================================",
+                           "| 1  | aaaaaaaaaaaa... | bbbb... |",
+                           "----------------------------------"),
+                     this.table.toString());
+    }
+
+    @Test
+    public void testRefitsWhenColumnSettingsChange()
+    {
+        this.table.toString();
+        this.right.setWeight(3);
+
+        assertEquals("| 1  | aaaaa... | bbbbbbbbbbb... |", line(3));
+
+        this.right.setWeight(1);
+        this.left.setMinWidth(16);
+
+        assertEquals("| 1  | aaaaaaaaaaaa... | bbbb... |", line(3));
+    }
+
+    @Test
+    public void testWrapsFittedColumns()
+    {
+        this.left.setWrap(true);
+
+        assertEquals(lines("----------------------------------",
+                           "| Id |    Left     |    Right    |",
+                           "==================================",
+                           "| 1  | aaaaaaaaaaa | bbbbbbbb... |",
+                           "|    | aaaaaaaaa   |             |",
+                           "----------------------------------"),
+                     this.table.toString());
+    }
+
+    @Test
+    public void testNarrowTablesAreNotChanged()
+    {
+        this.table.setMaxWidth(0);
+        String expected = this.table.toString();
+        this.table.setMaxWidth(100);
+
+        assertEquals(expected, this.table.toString());
+    }
+
+    @Test
+    public void testCachedValuesAreNotFormattedAgain()
+    {
+        List<Object> formatted = new ArrayList<>();
+        this.table.setCacheFormattedValues(true);
+        this.left.setValueRenderer(value ->
+        {
+            formatted.add(value);
+            return String.valueOf(value);
+        });
+
+        String first = this.table.toString();
+        int count = formatted.size();
+
+        assertEquals(first, this.table.toString());
+        assertEquals(count, formatted.size());
+    }
+
+    private String line(int index)
+    {
+        return this.table.toString().split(System.lineSeparator())[index];
+    }
+
+    private static String lines(String... lines)
+    {
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package bt.console.output.table;
+
+import bt.console.output.table.render.Alignment;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ConsoleTableParallelFormatTest
+{
+    @Test
+    public void testParallelOutputEqualsSequentialOutput()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try
+        {
+            for (boolean multiline : new boolean[]{ false, true })
+            {
+                var sequential = createTable(multiline);
+                var parallel = createTable(multiline);
+                parallel.setFormatPool(pool);
+
+                assertEquals(sequential.toString(), parallel.toString());
+
+                // a second render reuses the cached values
+                assertEquals(sequential.toString(), parallel.toString());
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelOutputWithoutCache()
+    {
+        var sequential = createTable(true);
+        var parallel = createTable(true);
+        sequential.setCacheFormattedValues(false);
+        parallel.setCacheFormattedValues(false);
+        parallel.setParallelFormat(true);
+
+        assertSame(ForkJoinPool.commonPool(), parallel.getFormatPool());
+        assertEquals(sequential.toString(), parallel.toString());
+
+        parallel.setParallelFormat(false);
+        assertNull(parallel.getFormatPool());
+    }
+
+    private ConsoleTable createTable(boolean multiline)
+    {
+        var table = new ConsoleTable("Id");
+        table.addColumn("Name", 20);
+        table.addColumn("Value").setValueAlignment(Alignment.RIGHT);
+        table.setMultiline(multiline);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            table.addRow(i, "name " + "x".repeat(i % 37) + (i % 5 == 0 ? "\nsecond line" : ""), i * 31 % 977);
+        }
+
+        return table;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package bt.console.output.table;
+
+import bt.console.output.table.render.Alignment;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ConsoleTablePropertyTest
+{
+    public static class Person
+    {
+        private final String name;
+        private final int age;
+        private final boolean active;
+        private final String url;
+
+        public Person(String name, int age, boolean active, String url)
+        {
+            this.name = name;
+            this.age = age;
+            this.active = active;
+            this.url = url;
+        }
+
+        public String getName()
+        {
+            return this.name;
+        }
+
+        public int getAge()
+        {
+            return this.age;
+        }
+
+        public boolean isActive()
+        {
+            return this.active;
+        }
+
+        public String getURL()
+        {
+            return this.url;
+        }
+    }
+
+    /**
+     * A record style class without bean getters, which is not public.
+     */
+    static final class Point
+    {
+        private final int x;
+        private final double y;
+
+        Point(int x, double y)
+        {
+            this.x = x;
+            this.y = y;
+        }
+
+        public int x()
+        {
+            return this.x;
+        }
+
+        public double y()
+        {
+            return this.y;
+        }
+
+        public String describe()
+        {
+            return "not a property";
+        }
+    }
+
+    @Test
+    public void testBeans()
+    {
+        var table = ConsoleTable.ofBeans(Arrays.asList(new Person("ann", 31, true, "http://a"), null), Person.class);
+
+        var expected = new ConsoleTable();
+        expected.setMultiline(true);
+        expected.addColumn("name");
+        expected.addColumn("age").setValueAlignment(Alignment.RIGHT);
+        expected.addColumn("active");
+        expected.addColumn("URL");
+        expected.addRow("ann", 31, true, "http://a");
+        expected.addRow(null, null, null, null);
+
+        assertEquals(expected.toString(), table.toString());
+    }
+
+    @Test
+    public void testRecordStyleClasses()
+    {
+        var table = ConsoleTable.ofBeans(List.of(new Point(1, 2.5), new Point(-3, 0.25)), Point.class);
+
+        var expected = new ConsoleTable();
+        expected.setMultiline(true);
+        expected.addColumn("x").setValueAlignment(Alignment.RIGHT);
+        expected.addColumn("y").setValueAlignment(Alignment.RIGHT);
+        expected.addRow(1, 2.5);
+        expected.addRow(-3, 0.25);
+
+        assertEquals(expected.toString(), table.toString());
+    }
+
+    @Test
+    public void testPropertiesAreCached()
+    {
+        var properties = ConsoleTableProperty.of(Point.class);
+
+        assertSame(properties, ConsoleTableProperty.of(Point.class));
+        assertEquals(2, properties.length);
+        assertEquals("x", properties[0].getName());
+        assertEquals(int.class, properties[0].getType());
+        assertEquals(-3, properties[0].get(new Point(-3, 0)));
+        assertEquals(0.5, properties[1].get(new Point(0, 0.5)));
+    }
+}
\ No newline at end of file
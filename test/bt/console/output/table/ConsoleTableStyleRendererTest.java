@@ -0,0 +1,96 @@
+package bt.console.output.table;
+
+import bt.console.output.styled.Style;
+import bt.console.output.table.render.CachedConsoleTableStyleRenderer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsoleTableStyleRendererTest
+{
+    private List<Object> styled;
+    private String green;
+    private String red;
+
+    @BeforeEach
+    public void enableStyles()
+    {
+        Style.setEnabled(true);
+        this.styled = new ArrayList<>();
+        this.green = Style.apply("ok", "green");
+        this.red = Style.apply("bad", "red");
+    }
+
+    @AfterEach
+    public void disableStyles()
+    {
+        Style.setEnabled(false);
+    }
+
+    private String[] style(Object value)
+    {
+        this.styled.add(value);
+        return new String[]{ "ok".equals(value) ? "green" : "red" };
+    }
+
+    @Test
+    public void testStyleRendererReceivesTheRawValue()
+    {
+        var table = new ConsoleTable();
+        table.addColumn("State").setStyleRenderer(this::style);
+        table.addRow("ok");
+        table.toString();
+
+        assertEquals(List.of("ok"), this.styled);
+    }
+
+    @Test
+    public void testCachedStylesFollowReplacedRows()
+    {
+        var table = new ConsoleTable();
+        var col = table.addColumn("State");
+        col.setStyleRenderer(this::style);
+        col.cacheRenderers(16);
+        table.addRow("ok");
+        table.addRow("ok");
+
+        assertTrue(col.getStyleRenderer() instanceof CachedConsoleTableStyleRenderer);
+        assertTrue(table.toString().contains(this.green));
+
+        table.replaceRow(0, "bad");
+        String output = table.toString();
+
+        assertTrue(output.contains(this.red));
+        assertTrue(output.contains(this.green));
+
+        // one call per distinct value, not per cell
+        assertEquals(List.of("ok", "bad"), this.styled);
+    }
+
+    @Test
+    public void testCachedStylesOfColumnarRows()
+    {
+        var table = new ColumnarConsoleTable();
+        var col = table.addStringColumn("State");
+        col.setStyleRenderer(this::style);
+        col.cacheRenderers(16);
+        table.addRow("ok");
+        table.addRow("bad");
+        table.addRow("ok");
+
+        String[] lines = table.toString().split(System.lineSeparator());
+
+        assertTrue(lines[3].contains(this.green));
+        assertTrue(lines[5].contains(this.red));
+        assertFalse(lines[5].contains(this.green));
+        assertTrue(lines[7].contains(this.green));
+        assertEquals(List.of("ok", "bad"), this.styled);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package bt.console.output.table;
+
+import bt.console.output.styled.Style;
+import bt.console.output.table.render.Alignment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsoleTableTest
+{
+    @AfterEach
+    public void disableStyles()
+    {
+        Style.setEnabled(false);
+    }
+
+    /**
+     * Compares the output of plain and styled tables with the output of the original implementation, which is stored
+     * in ConsoleTableTest.txt.
+     */
+    @Test
+    public void testToStringIsUnchanged() throws IOException
+    {
+        StringBuilder output = new StringBuilder();
+
+        for (boolean styled : new boolean[]{ false, true })
+        {
+            Style.setEnabled(styled);
+
+            var table = new ConsoleTable("Name");
+            var count = table.addColumn("Count");
+            var description = table.addColumn("Description");
+            table.addRow("alpha", 1, "short");
+            table.addRow("beta", 12345, "a much longer description\nwith two lines");
+            table.addRow("gamma", null, Style.apply("styled", "red"));
+            table.addRow("delta");
+            output.append(table);
+
+            table.setMultiline(true);
+            count.setValueAlignment(Alignment.RIGHT);
+            description.setWidth(12);
+            output.append(table);
+
+            var map = new LinkedHashMap<String, Object>();
+            map.put("k1", "v1");
+            map.put("key two", List.of(1, 2, 3));
+            output.append(ConsoleTable.of(map));
+            output.append(ConsoleTable.of(List.of("x", "yy", "zzz\nzz")));
+
+            var replaced = new ConsoleTable("A", "B");
+            replaced.addColumn("C", 4);
+            replaced.addRow("1", "2", "3456789");
+            replaced.addRow("1", "2", "34");
+            replaced.replaceRow(0, "x", "y", "z");
+            output.append(replaced);
+        }
+
+        assertEquals(readExpected(), output.toString().replace(System.lineSeparator(), "\n"));
+    }
+
+    @Test
+    public void testRenderEqualsToString() throws IOException
+    {
+        var table = createTable();
+        StringBuilder out = new StringBuilder();
+        table.render(out);
+
+        assertEquals(table.toString(), out.toString());
+    }
+
+    @Test
+    public void testWriteToFlushesWriter() throws IOException
+    {
+        var table = createTable();
+        boolean[] flushed = new boolean[1];
+
+        StringWriter writer = new StringWriter()
+        {
+            @Override
+            public void flush()
+            {
+                flushed[0] = true;
+            }
+        };
+
+        table.writeTo(writer);
+
+        assertEquals(table.toString(), writer.toString());
+        assertTrue(flushed[0]);
+    }
+
+    @Test
+    public void testRenderDoesNotBufferTheTable() throws IOException
+    {
+        var table = createTable();
+        String expected = table.toString();
+        int longestLine = 0;
+
+        for (String line : expected.split(System.lineSeparator()))
+        {
+            longestLine = Math.max(longestLine, line.length());
+        }
+
+        int maxAppend = longestLine + System.lineSeparator().length();
+        StringBuilder out = new StringBuilder();
+
+        table.render(new Appendable()
+        {
+            @Override
+            public Appendable append(CharSequence csq)
+            {
+                assertTrue(csq.length() <= maxAppend, "appended more than one line");
+                out.append(csq);
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end)
+            {
+                return append(csq.subSequence(start, end));
+            }
+
+            @Override
+            public Appendable append(char c)
+            {
+                out.append(c);
+                return this;
+            }
+        });
+
+        assertEquals(expected, out.toString());
+    }
+
+    private ConsoleTable createTable()
+    {
+        var table = new ConsoleTable("Id", "Name");
+
+        for (int i = 0; i < 50; i++)
+        {
+            table.addRow(i, "row " + i);
+        }
+
+        return table;
+    }
+
+    private String readExpected() throws IOException
+    {
+        try (InputStream in = getClass().getResourceAsStream("ConsoleTableTest.txt"))
+        {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package bt.console.output.table;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsoleTableTextArenaTest
+{
+    private static final String PADDING = "x".repeat(1000);
+
+    @Test
+    public void testLines()
+    {
+        var arena = new ConsoleTableTextArena();
+        int first = arena.add(List.of("latin \u00E9", "wide \u4E2D", "emoji \uD83D\uDE00", "<+bt red>styled<-bt>"));
+        StringBuilder out = new StringBuilder();
+
+        assertEquals(0, first);
+        assertEquals(4, arena.getLineCount());
+        assertEquals(List.of("latin \u00E9", "wide \u4E2D", "emoji \uD83D\uDE00", "<+bt red>styled<-bt>"),
+                     arena.getLines(first, 4));
+        assertEquals(7, arena.getWidth(1));
+        assertEquals(6, arena.getWidth(3));
+
+        arena.appendLine(2, out);
+        assertEquals("emoji \uD83D\uDE00", out.toString());
+    }
+
+    @Test
+    public void testReclaimKeepsSmallArenas()
+    {
+        var arena = new ConsoleTableTextArena();
+        arena.add(List.of("a", "b"));
+        int generation = arena.getGeneration();
+
+        assertFalse(arena.reclaim());
+        assertEquals(2, arena.getLineCount());
+        assertEquals(generation, arena.getGeneration());
+    }
+
+    @Test
+    public void testReclaimKeepsRenderedLines()
+    {
+        var arena = new ConsoleTableTextArena();
+        arena.add(List.of(PADDING.repeat(100)));
+        arena.appendLine(0, new StringBuilder());
+
+        assertFalse(arena.reclaim());
+        assertEquals(1, arena.getLineCount());
+    }
+
+    @Test
+    public void testReclaimDropsUnrenderedLines()
+    {
+        var arena = new ConsoleTableTextArena();
+        arena.add(List.of(PADDING.repeat(100)));
+        int generation = arena.getGeneration();
+
+        assertTrue(arena.reclaim());
+        assertEquals(0, arena.getLineCount());
+        assertEquals(0, arena.getByteCount());
+        assertNotEquals(generation, arena.getGeneration());
+    }
+
+    @Test
+    public void testTableReclaimsReplacedValues()
+    {
+        var compact = createTable(true);
+        var plain = createTable(false);
+        var arena = compact.columns.get(1).getTextArena();
+        int generation = arena.getGeneration();
+
+        for (int round = 1; round <= 10; round++)
+        {
+            for (int i = 0; i < 10; i++)
+            {
+                compact.replaceRow(i, i, PADDING + (round * 10 + i));
+                plain.replaceRow(i, i, PADDING + (round * 10 + i));
+            }
+
+            assertEquals(plain.toString(), compact.toString());
+        }
+
+        assertNotEquals(generation, arena.getGeneration());
+        assertTrue(arena.getByteCount() < 65536);
+    }
+
+    private static ConsoleTable createTable(boolean compactStorage)
+    {
+        var table = new ConsoleTable("Id", "Name");
+        table.setCacheFormattedValues(true);
+        table.setCompactStorage(compactStorage);
+
+        for (int i = 0; i < 10; i++)
+        {
+            table.addRow(i, PADDING + i);
+        }
+
+        return table;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package bt.console.output.table;
+
+import bt.console.output.table.render.Alignment;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConsoleTableViewTest
+{
+    @Test
+    public void testSortIsStable()
+    {
+        var table = createTable();
+        var view = table.view().sort(1);
+
+        var expected = new ConsoleTable("Name", "Team");
+        expected.addRow("eve", null);
+        expected.addRow("alice", "blue");
+        expected.addRow("carol", "blue");
+        expected.addRow("bob", "red");
+        expected.addRow("dave", "red");
+
+        assertEquals(expected.toString(), view.toString());
+        assertEquals(5, view.size());
+        assertEquals(4, view.getSourceIndex(0));
+    }
+
+    @Test
+    public void testSortWithComparator()
+    {
+        var table = createTable();
+        var view = table.view().sort(0, Comparator.<String>reverseOrder());
+
+        var expected = new ConsoleTable("Name", "Team");
+        expected.addRow("eve", null);
+        expected.addRow("dave", "red");
+        expected.addRow("carol", "blue");
+        expected.addRow("bob", "red");
+        expected.addRow("alice", "blue");
+
+        assertEquals(expected.toString(), view.toString());
+    }
+
+    @Test
+    public void testFilters()
+    {
+        var table = createTable();
+        var view = table.view()
+                        .<String>filter(1, "red"::equals)
+                        .<String>filter(0, name -> name.startsWith("d"));
+
+        var expected = new ConsoleTable("Name", "Team");
+        expected.addRow("dave", "red");
+
+        assertEquals(expected.toString(), view.toString());
+
+        view.clear();
+
+        assertEquals(table.toString(), view.toString());
+    }
+
+    @Test
+    public void testViewFollowsTheSource()
+    {
+        var table = createTable();
+        var view = table.view().<String>filter(1, "blue"::equals);
+        view.toString();
+
+        table.addRow("frank", "blue");
+        table.replaceRow(0, "alice", "red");
+
+        var expected = new ConsoleTable("Name", "Team");
+        expected.addRow("carol", "blue");
+        expected.addRow("frank", "blue");
+
+        assertEquals(expected.toString(), view.toString());
+        assertThrows(UnsupportedOperationException.class, () -> view.addRow("x", "y"));
+    }
+
+    @Test
+    public void testRenderingAViewKeepsTheSourceLayout()
+    {
+        var table = createTable();
+        table.addRow("a much longer name", "green");
+        String before = table.toString();
+
+        table.view().<String>filter(1, "red"::equals).toString();
+
+        assertEquals(before, table.toString());
+    }
+
+    @Test
+    public void testGroupsAreOrderedByFirstAppearance()
+    {
+        var table = createTable();
+        var groups = table.groupBy(1);
+
+        var expected = new ConsoleTable();
+        expected.addColumn("Team");
+        expected.addColumn("Count").setValueAlignment(Alignment.RIGHT);
+        expected.addRow("blue", 2);
+        expected.addRow("red", 2);
+        expected.addRow(null, 1);
+
+        assertEquals(expected.toString(), groups.toString());
+    }
+
+    @Test
+    public void testGroupBeforeFirstRenderAndAfterChanges()
+    {
+        var table = createTable();
+        var groups = table.groupBy(1);
+
+        var red = new ConsoleTable("Name", "Team");
+        red.addRow("bob", "red");
+        red.addRow("dave", "red");
+
+        assertEquals(red.toString(), groups.getGroup(1).toString());
+
+        table.replaceRow(0, "alice", "green");
+        table.replaceRow(2, "carol", "green");
+
+        var green = new ConsoleTable("Name", "Team");
+        green.addRow("alice", "green");
+        green.addRow("carol", "green");
+
+        assertEquals(green.toString(), groups.getGroup(0).toString());
+    }
+
+    private ConsoleTable createTable()
+    {
+        var table = new ConsoleTable("Name", "Team");
+        table.addRow("alice", "blue");
+        table.addRow("bob", "red");
+        table.addRow("carol", "blue");
+        table.addRow("dave", "red");
+        table.addRow("eve", null);
+        return table;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package bt.console.output.table;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ConsoleTableWidthStrategyTest
+{
+    @Test
+    public void testFull()
+    {
+        var table = createTable(ConsoleTableWidthStrategy.full());
+
+        assertEquals(lines("----------------------",
+                           "| Id |     Name      |",
+                           "======================",
+                           "| 1  | ab            |",
+                           "----------------------",
+                           "| 2  | a longer name |",
+                           "----------------------",
+                           "| 3  | x             |",
+                           "----------------------"),
+                     table.toString());
+    }
+
+    @Test
+    public void testFixedAndSample()
+    {
+        String expected = lines("-------------",
+                                "| Id | Name |",
+                                "=============",
+                                "| 1  | ab   |",
+                                "-------------",
+                                "| 2  | a... |",
+                                "-------------",
+                                "| 3  | x    |",
+                                "-------------");
+
+        assertEquals(expected, createTable(ConsoleTableWidthStrategy.fixed()).toString());
+        assertEquals(expected, createTable(ConsoleTableWidthStrategy.sample(1)).toString());
+    }
+
+    @Test
+    public void testFixedUsesConfiguredWidths()
+    {
+        var table = new ConsoleTable("Id");
+        table.addColumn("Name", 8);
+        table.addRow(1, "a longer name");
+        table.setWidthStrategy(ConsoleTableWidthStrategy.fixed());
+
+        assertEquals(lines("---------------",
+                           "| Id |  Name  |",
+                           "===============",
+                           "| 1  | a l... |",
+                           "---------------"),
+                     table.toString());
+    }
+
+    @Test
+    public void testAdaptiveWritesTheHeaderAgain()
+    {
+        var table = createTable(ConsoleTableWidthStrategy.adaptive(1));
+
+        assertEquals(lines("-------------",
+                           "| Id | Name |",
+                           "=============",
+                           "| 1  | ab   |",
+                           "-------------",
+                           "----------------------",
+                           "| Id |     Name      |",
+                           "======================",
+                           "| 2  | a longer name |",
+                           "----------------------",
+                           "| 3  | x             |",
+                           "----------------------"),
+                     table.toString());
+    }
+
+    @Test
+    public void testOutputStartsBeforeAllRowsAreFormatted() throws IOException
+    {
+        var formatted = new AtomicInteger();
+        var table = new ConsoleTable("Id");
+        table.addColumn("Name").setValueRenderer(value ->
+        {
+            formatted.incrementAndGet();
+            return String.valueOf(value);
+        });
+
+        for (int i = 0; i < 100; i++)
+        {
+            table.addRow(i, "name " + i);
+        }
+
+        table.setWidthStrategy(ConsoleTableWidthStrategy.sample(10));
+        int[] formattedAtFirstAppend = { -1 };
+
+        table.render(new Appendable()
+        {
+            @Override
+            public Appendable append(CharSequence csq)
+            {
+                return append(csq, 0, csq.length());
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end)
+            {
+                if (formattedAtFirstAppend[0] < 0)
+                {
+                    formattedAtFirstAppend[0] = formatted.get();
+                }
+
+                return this;
+            }
+
+            @Override
+            public Appendable append(char c)
+            {
+                return append(String.valueOf(c));
+            }
+        });
+
+        assertEquals(10, formattedAtFirstAppend[0]);
+        assertEquals(100, formatted.get());
+    }
+
+    private ConsoleTable createTable(ConsoleTableWidthStrategy strategy)
+    {
+        var table = new ConsoleTable("Id", "Name");
+        table.addRow(1, "ab");
+        table.addRow(2, "a longer name");
+        table.addRow(3, "x");
+        table.setWidthStrategy(strategy);
+        return table;
+    }
+
+    private static String lines(String... lines)
+    {
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+}
\ No newline at end of file
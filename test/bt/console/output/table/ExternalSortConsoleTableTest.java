@@ -0,0 +1,171 @@
+package bt.console.output.table;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExternalSortConsoleTableTest
+{
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    public void testMergeOrder() throws IOException
+    {
+        testMergeOrder(false);
+    }
+
+    @Test
+    public void testMergeOrderDescending() throws IOException
+    {
+        testMergeOrder(true);
+    }
+
+    private void testMergeOrder(boolean descending) throws IOException
+    {
+        var random = new Random(42);
+        List<Object[]> rows = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++)
+        {
+            // few distinct keys, so the order of equal keys shows whether the sort is stable
+            Long key = random.nextInt(10) == 0 ? null : (long)random.nextInt(100);
+            rows.add(new Object[]{ i, key, "x".repeat(random.nextInt(10)) });
+        }
+
+        try (var table = new ExternalSortConsoleTable(1, descending, 50, "Id", "Key", "Text"))
+        {
+            table.setTempDirectory(this.tempDirectory);
+            table.setMaxMergeFanIn(4);
+
+            for (Object[] row : rows)
+            {
+                table.addRow(row);
+            }
+
+            assertTrue(table.getRunCount() > table.getMaxMergeFanIn());
+
+            Comparator<Object[]> order = Comparator.comparing(row -> (Long)row[1], Comparator.nullsFirst(Comparator.naturalOrder()));
+            rows.sort(descending ? order.reversed() : order);
+            var expected = new ConsoleTable("Id", "Key", "Text");
+
+            for (Object[] row : rows)
+            {
+                expected.addRow(row);
+            }
+
+            String rendered = table.toString();
+
+            assertEquals(expected.toString(), rendered);
+            assertEquals(rendered, table.toString());
+        }
+
+        try (Stream<Path> files = Files.list(this.tempDirectory))
+        {
+            assertEquals(0L, files.count());
+        }
+    }
+
+    @Test
+    public void testKeyOrderOfMixedTypes() throws IOException
+    {
+        try (var table = new ExternalSortConsoleTable(0, false, 2, "Key"))
+        {
+            table.setTempDirectory(this.tempDirectory);
+            table.addRow("b");
+            table.addRow(2.5);
+            table.addRow((Object)null);
+            table.addRow(10L);
+            table.addRow("a");
+            table.addRow(-3);
+
+            var expected = new ConsoleTable("Key");
+            expected.addRow((Object)null);
+            expected.addRow(-3);
+            expected.addRow(2.5);
+            expected.addRow(10L);
+            expected.addRow("a");
+            expected.addRow("b");
+
+            assertEquals(expected.toString(), table.toString());
+        }
+    }
+
+    @Test
+    public void testRawValuesAreNotKept() throws IOException
+    {
+        try (var table = new ExternalSortConsoleTable(0, false, 10, "Key"))
+        {
+            table.setTempDirectory(this.tempDirectory);
+            table.addRow(1);
+
+            assertThrows(UnsupportedOperationException.class, table::view);
+            assertThrows(UnsupportedOperationException.class, () -> table.replaceRow(0, 2));
+        }
+    }
+
+    @Test
+    public void testAggregatesCoverSpilledRows() throws IOException
+    {
+        try (var table = new ExternalSortConsoleTable(0, false, 3, "Key"))
+        {
+            table.setTempDirectory(this.tempDirectory);
+            table.columns.get(0).setAggregate(ConsoleTableAggregate.SUM);
+
+            for (int i = 1; i <= 10; i++)
+            {
+                table.addRow(i);
+            }
+
+            assertTrue(table.getRunCount() > 0);
+
+            var expected = new ConsoleTable("Key");
+            expected.columns.get(0).setAggregate(ConsoleTableAggregate.SUM);
+
+            for (int i = 1; i <= 10; i++)
+            {
+                expected.addRow(i);
+            }
+
+            assertEquals(expected.toString(), table.toString());
+            assertEquals(55L, table.columns.get(0).getAggregator().getResult());
+        }
+    }
+
+    @Test
+    public void testAggregatesDeclaredAfterRowsAreRejected() throws IOException
+    {
+        try (var table = new ExternalSortConsoleTable(0, false, 3, "Key"))
+        {
+            table.setTempDirectory(this.tempDirectory);
+
+            for (int i = 1; i <= 10; i++)
+            {
+                table.addRow(i);
+            }
+
+            table.columns.get(0).setAggregate(ConsoleTableAggregate.SUM);
+
+            assertThrows(IllegalStateException.class, table::toString);
+            assertThrows(IllegalStateException.class, () -> table.addRow(11));
+
+            // a closed table has no rows, so the aggregate starts from scratch
+            table.close();
+            table.addRow(5);
+
+            assertEquals(5L, table.columns.get(0).getAggregator().getResult());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package bt.console.output.table;
+
+import bt.console.output.table.render.Alignment;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LazyConsoleTableTest
+{
+    @Test
+    public void testOnlyTheWindowIsLoaded() throws IOException
+    {
+        List<Integer> loaded = new ArrayList<>();
+        var source = ConsoleTableRowSource.of(i ->
+        {
+            loaded.add(i);
+            return "value " + i;
+        }, 1_000_000);
+
+        var table = new LazyConsoleTable<>(source, (element, index) -> new Object[]{ index, element }, "Index", "Value");
+        StringBuilder out = new StringBuilder();
+        table.renderWindow(out, 500, 503);
+
+        assertEquals(List.of(500, 501, 502), loaded);
+        assertEquals(createExpected(500, 503), out.toString());
+
+        // rendering the same window again does not read the source
+        table.toString();
+        assertEquals(3, loaded.size());
+    }
+
+    @Test
+    public void testDefaultWindow()
+    {
+        List<Integer> loaded = new ArrayList<>();
+        var source = ConsoleTableRowSource.of(i ->
+        {
+            loaded.add(i);
+            return "value " + i;
+        }, 1_000);
+
+        var table = new LazyConsoleTable<>(source, (element, index) -> new Object[]{ index, element }, "Index", "Value");
+        table.toString();
+
+        assertEquals(LazyConsoleTable.DEFAULT_WINDOW_SIZE, loaded.size());
+    }
+
+    @Test
+    public void testPages() throws IOException
+    {
+        List<String> list = new ArrayList<>();
+
+        for (int i = 0; i < 25; i++)
+        {
+            list.add("value " + i);
+        }
+
+        var table = LazyConsoleTable.of(list, null);
+        StringBuilder out = new StringBuilder();
+        table.renderPage(out, 2, 10);
+
+        var expected = new ConsoleTable();
+        expected.setMultiline(true);
+        expected.addColumn("Index").setValueAlignment(Alignment.RIGHT);
+        expected.addColumn("Value");
+
+        for (int i = 20; i < 25; i++)
+        {
+            expected.addRow(i, list.get(i));
+        }
+
+        assertEquals(expected.toString(), out.toString());
+        assertEquals(3, table.getPageCount(10));
+        assertThrows(IllegalArgumentException.class, () -> table.getPageCount(0));
+        assertThrows(IllegalArgumentException.class, () -> table.renderPage(out, -1, 10));
+    }
+
+    @Test
+    public void testIteratorWindowsHaveToAscend() throws IOException
+    {
+        var table = LazyConsoleTable.of(List.of("a", "b", "c", "d").iterator(), null);
+        StringBuilder out = new StringBuilder();
+        table.renderWindow(out, 0, 2);
+        table.renderWindow(out, 2, 4);
+
+        assertEquals(-1, table.getPageCount(2));
+        assertThrows(IllegalStateException.class, () -> table.renderWindow(out, 0, 2));
+    }
+
+    @Test
+    public void testRowsOfTheLoadedWindowCanBeReplaced() throws IOException
+    {
+        var source = ConsoleTableRowSource.of(i -> "value " + i, 100);
+        var table = new LazyConsoleTable<>(source, (element, index) -> new Object[]{ index, element }, "Index", "Value");
+        table.setWindow(10, 12);
+        table.toString();
+
+        table.replaceRow(11, 11, "replaced");
+
+        var expected = new ConsoleTable("Index", "Value");
+        expected.addRow(10, "value 10");
+        expected.addRow(11, "replaced");
+
+        assertEquals(expected.toString(), table.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> table.replaceRow(12, 12, "x"));
+        assertThrows(UnsupportedOperationException.class, () -> table.addRow(1, "x"));
+        assertThrows(IllegalArgumentException.class, () -> table.setWindow(5, 4));
+    }
+
+    private String createExpected(int from, int to)
+    {
+        var table = new ConsoleTable("Index", "Value");
+
+        for (int i = from; i < to; i++)
+        {
+            table.addRow(i, "value " + i);
+        }
+
+        return table.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package bt.console.output.table;
+
+import bt.console.output.styled.Style;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LiveConsoleTableTest
+{
+    private static final String ESC = "\u001B[";
+
+    @AfterEach
+    public void disableStyles()
+    {
+        Style.setEnabled(false);
+    }
+
+    @Test
+    public void testFirstRefreshWritesTheTable() throws IOException
+    {
+        var table = createTable();
+        StringBuilder out = new StringBuilder();
+        var live = new LiveConsoleTable(table, out);
+
+        assertTrue(live.refresh());
+        assertEquals(table.toString(), out.toString());
+    }
+
+    @Test
+    public void testOnlyChangesAreWritten() throws IOException
+    {
+        var table = createTable();
+        StringBuilder out = new StringBuilder();
+        var live = new LiveConsoleTable(table, out);
+        live.refresh();
+        out.setLength(0);
+
+        table.replaceRow(1, 2, "bets");
+        live.refresh();
+
+        // up to the first line, down to the changed line, then rewrite it after the common prefix "| 2  | bet"
+        assertEquals(ESC + "7A" + ESC + "5B" + ESC + "11G" + "s  |" + ESC + "K" + ESC + "1B\r" + ESC + "1B", out.toString());
+
+        out.setLength(0);
+        live.refresh();
+
+        assertEquals(ESC + "7A" + ESC + "7B", out.toString());
+    }
+
+    @Test
+    public void testNewLinesAreAppended() throws IOException
+    {
+        var table = createTable();
+        StringBuilder out = new StringBuilder();
+        var live = new LiveConsoleTable(table, out);
+        live.refresh();
+        out.setLength(0);
+
+        table.addRow(3, "gamma");
+        live.refresh();
+
+        // the unchanged lines are skipped, the new ones are written below them
+        String separator = System.lineSeparator();
+        assertEquals(ESC + "7A" + ESC + "7B" + "\r| 3  | gamma |" + ESC + "K" + separator + "\r--------------" + ESC + "K" + separator, out.toString());
+    }
+
+    @Test
+    public void testSkippedRefreshIsDrawnLater() throws IOException, InterruptedException
+    {
+        var table = createTable();
+        StringBuilder out = new StringBuilder();
+        var live = new LiveConsoleTable(table, out);
+        live.setMaxRefreshRate(20);
+        live.refresh();
+
+        synchronized (live)
+        {
+            table.replaceRow(1, 2, "bets");
+            assertFalse(live.refresh());
+            assertTrue(live.isPending());
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (live.isPending() && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(10);
+        }
+
+        synchronized (live)
+        {
+            assertFalse(live.isPending());
+            assertTrue(out.toString().contains("s  |"));
+        }
+    }
+
+    @Test
+    public void testSkippedRefreshWithoutScheduler() throws IOException, InterruptedException
+    {
+        var table = createTable();
+        StringBuilder out = new StringBuilder();
+        var live = new LiveConsoleTable(table, out);
+        live.setScheduler(null);
+        live.setMaxRefreshRate(20);
+        live.refresh();
+
+        table.replaceRow(1, 2, "bets");
+        assertFalse(live.refresh());
+        Thread.sleep(100);
+
+        assertTrue(live.isPending());
+        assertTrue(live.flushPending());
+        assertFalse(live.flushPending());
+        assertTrue(out.toString().contains("s  |"));
+    }
+
+    @Test
+    public void testStylesAreWrittenAsEscapeSequences() throws IOException
+    {
+        Style.setEnabled(true);
+        var table = new ConsoleTable("Id");
+        table.addRow(Style.apply("x", "red"));
+        StringBuilder out = new StringBuilder();
+        var live = new LiveConsoleTable(table, out);
+        live.refresh();
+
+        assertFalse(out.toString().contains(Style.START_TAG));
+        assertTrue(out.toString().contains(ESC + "31mx" + ESC + "0m"));
+
+        out.setLength(0);
+        table.replaceRow(0, Style.apply("y", "red"));
+        live.refresh();
+
+        assertFalse(out.toString().contains(Style.START_TAG));
+        assertTrue(out.toString().contains("\r| " + ESC + "31my" + ESC + "0m"));
+    }
+
+    private ConsoleTable createTable()
+    {
+        var table = new ConsoleTable("Id", "Name");
+        table.addRow(1, "alpha");
+        table.addRow(2, "beta");
+        return table;
+    }
+}
\ No newline at end of file
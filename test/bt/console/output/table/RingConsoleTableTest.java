@@ -0,0 +1,94 @@
+package bt.console.output.table;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RingConsoleTableTest
+{
+    @Test
+    public void testOldestRowsAreEvicted()
+    {
+        var table = new RingConsoleTable(3, "Id", "Name");
+
+        for (int i = 0; i < 10; i++)
+        {
+            table.addRow(i, "name " + i);
+        }
+
+        var expected = new ConsoleTable("Id", "Name");
+        expected.addRow(7, "name 7");
+        expected.addRow(8, "name 8");
+        expected.addRow(9, "name 9");
+
+        assertEquals(3, table.size());
+        assertEquals(3, table.getCapacity());
+        assertEquals(expected.toString(), table.toString());
+    }
+
+    @Test
+    public void testColumnsShrinkAfterTheWidestRowWasEvicted()
+    {
+        var table = new RingConsoleTable(2, "Id", "Name");
+        table.addRow(1, "a very long name");
+        table.addRow(2, "b");
+        table.toString();
+
+        table.addRow(3, "c");
+
+        var expected = new ConsoleTable("Id", "Name");
+        expected.addRow(2, "b");
+        expected.addRow(3, "c");
+
+        assertEquals(expected.toString(), table.toString());
+    }
+
+    @Test
+    public void testReplaceRowAndAggregates()
+    {
+        var table = new RingConsoleTable(2, "Id");
+        table.columns.get(0).setAggregate(ConsoleTableAggregate.SUM);
+        table.addRow(1);
+        table.addRow(2);
+        table.addRow(3);
+
+        assertEquals(5L, table.columns.get(0).getAggregator().getResult());
+
+        table.replaceRow(0, 10);
+
+        assertEquals(13L, table.columns.get(0).getAggregator().getResult());
+        assertEquals(10, table.getCellValue(0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.replaceRow(2, 4));
+
+        table.clear();
+
+        assertEquals(0, table.size());
+        assertThrows(IllegalArgumentException.class, () -> new RingConsoleTable(0));
+    }
+
+    @Test
+    public void testHistogram()
+    {
+        var histogram = new ConsoleTableWidthHistogram();
+        histogram.add(5);
+        histogram.add(40);
+        histogram.add(40);
+        histogram.add(0);
+
+        assertEquals(40, histogram.getMax());
+
+        histogram.remove(40);
+        assertEquals(40, histogram.getMax());
+
+        histogram.remove(40);
+        assertEquals(5, histogram.getMax());
+
+        histogram.remove(5);
+        assertEquals(0, histogram.getMax());
+
+        histogram.add(3);
+        histogram.clear();
+        assertEquals(0, histogram.getMax());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package bt.console.output.table.render;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConsoleTableRenderCacheTest
+{
+    private final List<String> rendered = new ArrayList<>();
+    private final Function<String, String> renderer = value -> {
+        this.rendered.add(value);
+        return value == null ? "null" : value.toUpperCase();
+    };
+
+    @Test
+    public void testHitsAndMisses()
+    {
+        var cache = new ConsoleTableRenderCache<String, String>(10);
+
+        assertEquals("A", cache.get("a", this.renderer));
+        assertEquals("A", cache.get("a", this.renderer));
+        assertEquals("B", cache.get("b", this.renderer));
+
+        assertEquals(List.of("a", "b"), this.rendered);
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1.0 / 3, cache.getHitRate(), 1e-9);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testNullIsNeverCached()
+    {
+        var cache = new ConsoleTableRenderCache<String, String>(10);
+
+        cache.get(null, this.renderer);
+        cache.get(null, this.renderer);
+
+        assertEquals(2, this.rendered.size());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testClockEvictsUnreferencedEntries()
+    {
+        var cache = new ConsoleTableRenderCache<String, String>(3);
+        cache.get("a", this.renderer);
+        cache.get("b", this.renderer);
+        cache.get("c", this.renderer);
+
+        // a is referenced and gets a second chance, b is the first unreferenced entry after the hand
+        cache.get("a", this.renderer);
+        cache.get("d", this.renderer);
+
+        assertEquals(1, cache.getEvictions());
+        this.rendered.clear();
+
+        cache.get("a", this.renderer);
+        cache.get("c", this.renderer);
+        cache.get("d", this.renderer);
+
+        assertEquals(List.of(), this.rendered);
+
+        cache.get("b", this.renderer);
+
+        assertEquals(List.of("b"), this.rendered);
+        assertEquals(2, cache.getEvictions());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testClockSweepsAllReferencedEntries()
+    {
+        var cache = new ConsoleTableRenderCache<String, String>(2);
+        cache.get("a", this.renderer);
+        cache.get("b", this.renderer);
+        cache.get("a", this.renderer);
+        cache.get("b", this.renderer);
+
+        // both are referenced, the hand clears both marks and evicts a on its second pass
+        cache.get("c", this.renderer);
+        this.rendered.clear();
+
+        cache.get("b", this.renderer);
+        cache.get("c", this.renderer);
+
+        assertEquals(List.of(), this.rendered);
+
+        cache.get("a", this.renderer);
+
+        assertEquals(List.of("a"), this.rendered);
+    }
+
+    @Test
+    public void testGrowsUpToCapacity()
+    {
+        var cache = new ConsoleTableRenderCache<Integer, String>(1000);
+
+        for (int i = 0; i < 1500; i++)
+        {
+            cache.get(i, String::valueOf);
+        }
+
+        assertEquals(1000, cache.size());
+        assertEquals(1000, cache.getCapacity());
+        assertEquals(500, cache.getEvictions());
+    }
+
+    @Test
+    public void testClearKeepsStatistics()
+    {
+        var cache = new ConsoleTableRenderCache<String, String>(2);
+        cache.get("a", this.renderer);
+        cache.get("a", this.renderer);
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getHits());
+
+        cache.get("a", this.renderer);
+
+        assertEquals(2, cache.getMisses());
+
+        cache.resetStatistics();
+
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void testCapacityMustBePositive()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ConsoleTableRenderCache<String, String>(0));
+    }
+}
\ No newline at end of file